@@ -254,6 +254,9 @@ public class BentoBox extends JavaPlugin {
         if (islandsManager != null) {
             islandsManager.shutdown();
         }
+        if (headGetter != null) {
+            headGetter.shutdown();
+        }
     }
 
     /**
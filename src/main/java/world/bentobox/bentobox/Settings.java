@@ -150,11 +150,28 @@ public class Settings implements ConfigObject {
     @ConfigEntry(path = "island.name.max-length")
     private int nameMaxLength = 20;
 
-    @ConfigComment("Number of blocks to paste per tick when pasting blueprints")
-    @ConfigComment("Smaller values will help reduce noticeable lag but will make pasting take longer")
-    @ConfigEntry(path = "island.paste-speed")
+    // No longer used: copying is limited by the paste time budget
+    @ConfigEntry(path = "island.paste-speed", hidden = true)
     private int pasteSpeed = 1000;
 
+    @ConfigComment("Time in milliseconds per tick that can be spent pasting or copying blueprints, shared by all pastes")
+    @ConfigComment("Pastes are queued and done chunk by chunk within this time budget, however many are running.")
+    @ConfigComment("Smaller values will help reduce noticeable lag but will make pasting take longer")
+    @ConfigEntry(path = "island.paste-time-budget", since = "1.6.0")
+    private int pasteTimeBudget = 10;
+
+    @ConfigComment("Time in milliseconds per tick that can be spent regenerating the chunks of deleted islands")
+    @ConfigComment("Chunks are generated in the background and only the blocks that changed are set within this time budget.")
+    @ConfigComment("Smaller values will help reduce noticeable lag but will make deleting islands take longer")
+    @ConfigEntry(path = "island.deletion.time-budget", since = "1.6.0")
+    private int deletionTimeBudget = 10;
+
+    @ConfigComment("Maximum number of islands being created at the same time, from finding their spot to teleporting their owner")
+    @ConfigComment("Players who create or reset an island when this many are in progress wait in a queue and are told their position.")
+    @ConfigComment("Smaller values will help reduce lag when many islands are created at once")
+    @ConfigEntry(path = "island.creation.max-concurrent", since = "1.6.0")
+    private int maxConcurrentIslandCreations = 4;
+
     // Automated ownership transfer
     @ConfigComment("Toggles the automated ownership transfer.")
     @ConfigComment("It automatically transfers the ownership of an island to one of its members in case the current owner is inactive.")
@@ -406,18 +423,70 @@ public class Settings implements ConfigObject {
 
     /**
      * @param pasteSpeed the pasteSpeed to set
+     * @deprecated As of 1.6.0, for removal. Use {@link #setPasteTimeBudget(int)} instead.
      */
+    @Deprecated
     public void setPasteSpeed(int pasteSpeed) {
         this.pasteSpeed = pasteSpeed;
     }
 
     /**
      * @return paste speed in blocks per tick
+     * @deprecated As of 1.6.0, for removal. Use {@link #getPasteTimeBudget()} instead.
      */
+    @Deprecated
     public int getPasteSpeed() {
         return this.pasteSpeed;
     }
 
+    /**
+     * @return time in milliseconds per tick that can be spent pasting blueprints
+     * @since 1.6.0
+     */
+    public int getPasteTimeBudget() {
+        return pasteTimeBudget;
+    }
+
+    /**
+     * @param pasteTimeBudget the pasteTimeBudget to set
+     * @since 1.6.0
+     */
+    public void setPasteTimeBudget(int pasteTimeBudget) {
+        this.pasteTimeBudget = pasteTimeBudget;
+    }
+
+    /**
+     * @return time in milliseconds per tick that can be spent regenerating the chunks of deleted islands
+     * @since 1.6.0
+     */
+    public int getDeletionTimeBudget() {
+        return deletionTimeBudget;
+    }
+
+    /**
+     * @param deletionTimeBudget the deletionTimeBudget to set
+     * @since 1.6.0
+     */
+    public void setDeletionTimeBudget(int deletionTimeBudget) {
+        this.deletionTimeBudget = deletionTimeBudget;
+    }
+
+    /**
+     * @return maximum number of islands being created at the same time
+     * @since 1.6.0
+     */
+    public int getMaxConcurrentIslandCreations() {
+        return maxConcurrentIslandCreations;
+    }
+
+    /**
+     * @param maxConcurrentIslandCreations the maxConcurrentIslandCreations to set
+     * @since 1.6.0
+     */
+    public void setMaxConcurrentIslandCreations(int maxConcurrentIslandCreations) {
+        this.maxConcurrentIslandCreations = maxConcurrentIslandCreations;
+    }
+
     public boolean isEnableAutoOwnershipTransfer() {
         return enableAutoOwnershipTransfer;
     }
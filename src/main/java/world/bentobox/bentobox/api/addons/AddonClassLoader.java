@@ -19,9 +19,11 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /**
  * Loads addons and sets up permissions
@@ -29,7 +31,15 @@ import java.util.Set;
  */
 public class AddonClassLoader extends URLClassLoader {
 
-    private final Map<String, Class<?>> classes = new HashMap<>();
+    static {
+        // Classes are loaded from many threads, e.g., by database handlers using reflection
+        ClassLoader.registerAsParallelCapable();
+    }
+
+    /**
+     * Result of looking up classes in this addon's jar. An empty result means the class is not in the jar.
+     */
+    private final Map<String, Optional<Class<?>>> classes = new ConcurrentHashMap<>();
     private Addon addon;
     private AddonsManager loader;
 
@@ -126,12 +136,33 @@ public class AddonClassLoader extends URLClassLoader {
         if (name.startsWith("world.bentobox.bentobox")) {
             return null;
         }
-        Class<?> result = classes.get(name);
-        if (result == null) {
-            if (checkGlobal) {
-                result = loader.getClassByName(name);
+        Optional<Class<?>> cached = classes.get(name);
+        if (cached != null && cached.isPresent()) {
+            return cached.get();
+        }
+        if (checkGlobal) {
+            Class<?> result = loader.getClassByName(name);
+            if (result != null) {
+                return result;
             }
+        }
+        return cached == null ? findLocalClass(name) : null;
+    }
 
+    /**
+     * Looks for a class in this addon's jar, remembering the result whether it is found or not
+     * @param name - class name
+     * @return Class - class if found
+     */
+    @Nullable
+    private Class<?> findLocalClass(String name) {
+        // Only one thread can define a class
+        synchronized (getClassLoadingLock(name)) {
+            Optional<Class<?>> cached = classes.get(name);
+            if (cached != null) {
+                return cached.orElse(null);
+            }
+            Class<?> result = findLoadedClass(name);
             if (result == null) {
                 try {
                     result = super.findClass(name);
@@ -139,14 +170,13 @@ public class AddonClassLoader extends URLClassLoader {
                     // Do nothing.
                     result = null;
                 }
-                if (result != null) {
-                    loader.setClass(name, result);
-
-                }
             }
-            classes.put(name, result);
+            classes.put(name, Optional.ofNullable(result));
+            if (result != null) {
+                loader.setClass(name, result);
+            }
+            return result;
         }
-        return result;
     }
 
     /**
@@ -157,10 +187,10 @@ public class AddonClassLoader extends URLClassLoader {
     }
 
     /**
-     * @return class list
+     * @return names of the classes loaded from this addon's jar
      */
     public Set<String> getClasses() {
-        return classes.keySet();
+        return classes.entrySet().stream().filter(e -> e.getValue().isPresent()).map(Map.Entry::getKey).collect(Collectors.toSet());
     }
 
 }
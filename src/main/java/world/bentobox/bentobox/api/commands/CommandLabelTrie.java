@@ -0,0 +1,65 @@
+package world.bentobox.bentobox.api.commands;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * Prefix tree of the sub-command labels of a command, used for tab completion.
+ * Labels are lower-cased once when they are added, so looking up a prefix does not go through every sub-command.
+ * @author tastybento
+ * @since 1.6.0
+ */
+class CommandLabelTrie {
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        // Labels that start with the prefix of this node, in the order they were added
+        private final List<String> labels = new ArrayList<>();
+    }
+
+    private final Node root = new Node();
+    private int size;
+
+    /**
+     * Adds a label
+     * @param label - label as it should be shown
+     */
+    void add(@NonNull String label) {
+        String key = label.toLowerCase(Locale.ENGLISH);
+        Node node = root;
+        node.labels.add(label);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), k -> new Node());
+            node.labels.add(label);
+        }
+        size++;
+    }
+
+    /**
+     * Gets the labels that start with a prefix, ignoring case
+     * @param prefix - first few characters of the label
+     * @return unmodifiable list of labels in the order they were added
+     */
+    @NonNull
+    List<String> startingWith(@NonNull String prefix) {
+        String key = prefix.toLowerCase(Locale.ENGLISH);
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        return node == null ? Collections.emptyList() : Collections.unmodifiableList(node.labels);
+    }
+
+    /**
+     * @return number of labels added
+     */
+    int size() {
+        return size;
+    }
+}
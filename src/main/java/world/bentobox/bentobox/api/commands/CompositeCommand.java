@@ -4,14 +4,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 import org.bukkit.World;
 import org.bukkit.command.Command;
@@ -78,6 +76,11 @@ public abstract class CompositeCommand extends Command implements PluginIdentifi
      * Map of aliases for subcommands
      */
     private Map<String, CompositeCommand> subCommandAliases;
+
+    /**
+     * Prefix tree of the sub-command labels, built when first needed for tab completion
+     */
+    private CommandLabelTrie labelTrie;
     /**
      * The command chain from the very top, e.g., island team promote
      */
@@ -177,6 +180,8 @@ public abstract class CompositeCommand extends Command implements PluginIdentifi
         subCommandLevel = parent.getLevel() + 1;
         // Add this sub-command to the parent
         parent.getSubCommands().put(label, this);
+        // The parent's tab completion labels need to be worked out again
+        parent.labelTrie = null;
         setAliases(new ArrayList<>(Arrays.asList(aliases)));
         subCommands = new LinkedHashMap<>();
         subCommandAliases = new LinkedHashMap<>();
@@ -595,10 +600,11 @@ public abstract class CompositeCommand extends Command implements PluginIdentifi
         if (!command.getPermission().isEmpty() && !sender.hasPermission(command.getPermission()) && !sender.isOp()) {
             return options;
         }
+        String lastArg = args.length != 0 ? args[args.length - 1] : "";
         // Add any tab completion from the subcommand
-        options.addAll(command.tabComplete(User.getInstance(sender), alias, new LinkedList<>(Arrays.asList(args))).orElse(new ArrayList<>()));
+        command.tabComplete(User.getInstance(sender), alias, new ArrayList<>(Arrays.asList(args))).ifPresent(list -> options.addAll(Util.tabLimit(list, lastArg)));
         if (command.hasSubCommands()) {
-            options.addAll(getSubCommandLabels(sender, command));
+            options.addAll(getSubCommandLabels(sender, command, lastArg));
         }
 
         /* /!\ The following check is likely a poor quality patch-up job. If any better solution can be applied, don't hesitate to do so. */
@@ -611,21 +617,43 @@ public abstract class CompositeCommand extends Command implements PluginIdentifi
 
         /* ------------ */
 
-        String lastArg = args.length != 0 ? args[args.length - 1] : "";
-        return Util.tabLimit(options, lastArg).stream().sorted().collect(Collectors.toList());
+        options.sort(null);
+        return options;
     }
 
     /**
-     * Returns a list containing all the labels of the subcommands for the provided CompositeCommand.
+     * Returns a list containing the labels of the subcommands for the provided CompositeCommand that start with a prefix.
+     * Only the subcommands whose label starts with the prefix are checked for permission.
      * @param sender the CommandSender
      * @param command the CompositeCommand to get the subcommands from
+     * @param prefix first few characters of the labels, ignoring case
      * @return a list of subcommands labels or an empty list.
      */
     @NonNull
-    private List<String> getSubCommandLabels(@NonNull CommandSender sender, @NonNull CompositeCommand command) {
-        return command.getSubCommands().values().stream()
-                .filter(cmd -> !cmd.isOnlyPlayer() || sender.isOp() || (sender instanceof Player && (cmd.getPermission().isEmpty() || sender.hasPermission(cmd.getPermission()))) )
-                .map(CompositeCommand::getLabel).collect(Collectors.toList());
+    private List<String> getSubCommandLabels(@NonNull CommandSender sender, @NonNull CompositeCommand command, @NonNull String prefix) {
+        List<String> labels = new ArrayList<>();
+        for (String label : command.getLabelTrie().startingWith(prefix)) {
+            CompositeCommand cmd = command.getSubCommands().get(label);
+            if (cmd != null && (!cmd.isOnlyPlayer() || sender.isOp() || (sender instanceof Player && (cmd.getPermission().isEmpty() || sender.hasPermission(cmd.getPermission()))))) {
+                labels.add(label);
+            }
+        }
+        return labels;
+    }
+
+    /**
+     * Gets the prefix tree of the sub-command labels. It is rebuilt after a sub-command is registered, or if sub-commands
+     * have been put in or removed from {@link #getSubCommands()} directly since it was built.
+     * @return prefix tree of the sub-command labels
+     */
+    @NonNull
+    private CommandLabelTrie getLabelTrie() {
+        if (labelTrie == null || labelTrie.size() != subCommands.size()) {
+            CommandLabelTrie trie = new CommandLabelTrie();
+            subCommands.keySet().forEach(trie::add);
+            labelTrie = trie;
+        }
+        return labelTrie;
     }
 
     /**
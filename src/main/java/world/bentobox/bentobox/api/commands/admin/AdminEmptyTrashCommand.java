@@ -7,7 +7,6 @@ import world.bentobox.bentobox.api.commands.CompositeCommand;
 import world.bentobox.bentobox.api.commands.ConfirmableCommand;
 import world.bentobox.bentobox.api.localization.TextVariables;
 import world.bentobox.bentobox.api.user.User;
-import world.bentobox.bentobox.database.objects.Island;
 
 public class AdminEmptyTrashCommand extends ConfirmableCommand {
 
@@ -42,8 +41,7 @@ public class AdminEmptyTrashCommand extends ConfirmableCommand {
             return false;
         }
         // Remove trash for this player
-        final List<Island> islands = getIslands().getQuarantinedIslandByUser(getWorld(), targetUUID);
-        if (islands.isEmpty()) {
+        if (getIslands().getQuarantinedIslandSummaries(getWorld(), targetUUID).isEmpty()) {
             if (args.isEmpty()) {
                 user.sendMessage("commands.admin.trash.no-unowned-in-trash");
             } else {
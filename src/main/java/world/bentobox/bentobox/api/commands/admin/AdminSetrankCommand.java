@@ -61,6 +61,7 @@ public class AdminSetrankCommand extends CompositeCommand {
         Island island = getPlugin().getIslands().getIsland(getWorld(), targetUUID);
         int currentRank = island.getRank(target);
         island.setRank(target, rankValue);
+        getPlugin().getIslands().clearOnlineMembers(island);
         user.sendMessage("commands.admin.setrank.rank-set", "[from]", user.getTranslation(rm.getRank(currentRank)), "[to]", user.getTranslation(rm.getRank(rankValue)));
         return true;
     }
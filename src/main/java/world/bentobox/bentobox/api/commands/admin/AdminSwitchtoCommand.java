@@ -1,6 +1,7 @@
 package world.bentobox.bentobox.api.commands.admin;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.apache.commons.lang.math.NumberUtils;
@@ -10,6 +11,7 @@ import world.bentobox.bentobox.api.commands.ConfirmableCommand;
 import world.bentobox.bentobox.api.localization.TextVariables;
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.database.objects.Island;
+import world.bentobox.bentobox.managers.island.IslandTrash;
 
 public class AdminSwitchtoCommand extends ConfirmableCommand {
 
@@ -51,7 +53,7 @@ public class AdminSwitchtoCommand extends ConfirmableCommand {
     @Override
     public boolean execute(User user, String label, List<String> args) {
         // Check island number
-        List<Island> islands = getIslands().getQuarantinedIslandByUser(getWorld(), targetUUID);
+        List<IslandTrash.Summary> islands = getIslands().getQuarantinedIslandSummaries(getWorld(), targetUUID);
         if (islands.isEmpty()) {
             user.sendMessage("commands.admin.trash.no-islands-in-trash");
             return false;
@@ -65,7 +67,8 @@ public class AdminSwitchtoCommand extends ConfirmableCommand {
                         return false;
                     }
                     this.askConfirmation(user, () -> {
-                        if (getIslands().switchIsland(getWorld(), targetUUID, islands.get(n -1))) {
+                        Optional<Island> island = getIslands().loadQuarantinedIsland(islands.get(n - 1));
+                        if (island.isPresent() && getIslands().switchIsland(getWorld(), targetUUID, island.get())) {
                             user.sendMessage("general.success");
                         } else {
                             user.sendMessage("commands.admin.switchto.cannot-switch");
@@ -1,6 +1,5 @@
 package world.bentobox.bentobox.api.commands.admin;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -11,7 +10,6 @@ import world.bentobox.bentobox.api.commands.CompositeCommand;
 import world.bentobox.bentobox.api.localization.TextVariables;
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.util.Util;
-import world.bentobox.bentobox.util.teleport.SafeSpotTeleport;
 
 public class AdminTeleportCommand extends CompositeCommand {
 
@@ -55,13 +53,14 @@ public class AdminTeleportCommand extends CompositeCommand {
                 // Otherwise, go to a safe spot
                 String failureMessage = user.getTranslation("commands.admin.tp.manual", "[location]", warpSpot.getBlockX() + " " + warpSpot.getBlockY() + " "
                         + warpSpot.getBlockZ());
-                // Teleport
-                new SafeSpotTeleport.Builder(getPlugin())
-                .entity(user.getPlayer())
-                .location(warpSpot)
-                .failureMessage(failureMessage)
-                .overrideGamemode(false)
-                .build();
+                // Teleport once a safe spot has been found
+                getIslands().findSafeLocation(warpSpot, -1).thenAccept(spot -> {
+                    if (spot == null) {
+                        user.notify(failureMessage);
+                    } else if (user.isOnline()) {
+                        user.getPlayer().teleport(spot);
+                    }
+                });
                 return true;
             }
             user.sendMessage("general.errors.player-has-no-island");
@@ -76,8 +75,7 @@ public class AdminTeleportCommand extends CompositeCommand {
             // Don't show every player on the server. Require at least the first letter
             return Optional.empty();
         }
-        List<String> options = new ArrayList<>(Util.getOnlinePlayerList(user));
-        return Optional.of(Util.tabLimit(options, lastArg));
+        return Optional.of(Util.getOnlinePlayerList(user, lastArg));
     }
 
 }
@@ -41,8 +41,7 @@ public class AdminTrashCommand extends CompositeCommand {
             return false;
         }
         // Show trash can info for this player
-        List<Island> islands = getIslands().getQuarantinedIslandByUser(getWorld(), targetUUID);
-        if (islands.isEmpty()) {
+        if (getIslands().getQuarantinedIslandSummaries(getWorld(), targetUUID).isEmpty()) {
             if (args.isEmpty()) {
                 user.sendMessage("commands.admin.trash.no-unowned-in-trash");
             } else {
@@ -50,11 +49,7 @@ public class AdminTrashCommand extends CompositeCommand {
             }
             return false;
         } else {
-            if (targetUUID == null) {
-                showTrash(user, islands);
-            } else {
-                getIslands().getQuarantineCache().values().forEach(v -> showTrash(user, v));
-            }
+            showTrash(user, getIslands().getQuarantinedIslandByUser(getWorld(), targetUUID));
             return true;
         }
     }
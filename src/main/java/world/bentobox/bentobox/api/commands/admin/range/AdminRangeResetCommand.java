@@ -1,6 +1,5 @@
 package world.bentobox.bentobox.api.commands.admin.range;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -49,6 +48,7 @@ public class AdminRangeResetCommand extends CompositeCommand {
         // Reset the protection range
         int range = getIWM().getIslandProtectionRange(getWorld());
         island.setProtectionRange(range);
+        getIslands().protectionChanged(island);
         user.sendMessage("commands.admin.range.reset.success", TextVariables.NUMBER, String.valueOf(range));
 
         return true;
@@ -61,7 +61,6 @@ public class AdminRangeResetCommand extends CompositeCommand {
             // Don't show every player on the server. Require at least the first letter
             return Optional.empty();
         }
-        List<String> options = new ArrayList<>(Util.getOnlinePlayerList(user));
-        return Optional.of(Util.tabLimit(options, lastArg));
+        return Optional.of(Util.getOnlinePlayerList(user, lastArg));
     }
 }
@@ -1,6 +1,5 @@
 package world.bentobox.bentobox.api.commands.admin.range;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -71,6 +70,7 @@ public class AdminRangeSetCommand extends CompositeCommand {
 
         // Well, now it can be applied without taking any risks !
         island.setProtectionRange(range);
+        getIslands().protectionChanged(island);
         user.sendMessage("commands.admin.range.set.success", TextVariables.NUMBER, String.valueOf(range));
 
         return true;
@@ -83,7 +83,6 @@ public class AdminRangeSetCommand extends CompositeCommand {
             // Don't show every player on the server. Require at least the first letter
             return Optional.empty();
         }
-        List<String> options = new ArrayList<>(Util.getOnlinePlayerList(user));
-        return Optional.of(Util.tabLimit(options, lastArg));
+        return Optional.of(Util.getOnlinePlayerList(user, lastArg));
     }
 }
@@ -99,6 +99,7 @@ public class IslandBanCommand extends CompositeCommand {
 
             // Event is not cancelled
             if (!banEvent.isCancelled() && island.ban(issuer.getUniqueId(), target.getUniqueId())) {
+                getIslands().clearOnlineMembers(island);
                 issuer.sendMessage("commands.island.ban.player-banned", TextVariables.NAME, target.getName());
                 target.sendMessage("commands.island.ban.owner-banned-you", TextVariables.NAME, issuer.getName());
                 // If the player is online, has an island and on the banned island, move them home immediately
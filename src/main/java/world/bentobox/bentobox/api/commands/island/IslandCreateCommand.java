@@ -36,6 +36,11 @@ public class IslandCreateCommand extends CompositeCommand {
 
     @Override
     public boolean canExecute(User user, String label, List<String> args) {
+        if (getIslands().getIslandCreationQueue().get(user.getUniqueId()) != null) {
+            // An island is still being made for this player
+            user.sendMessage("commands.island.create.in-progress");
+            return false;
+        }
         if (getIslands().hasIsland(getWorld(), user.getUniqueId())
                 || getIslands().inTeam(getWorld(), user.getUniqueId())) {
             user.sendMessage("general.errors.already-have-island");
@@ -84,7 +89,12 @@ public class IslandCreateCommand extends CompositeCommand {
             .addon((GameModeAddon)getAddon())
             .reason(Reason.CREATE)
             .name(name)
-            .build();
+            .buildAsync()
+            .whenComplete((island, e) -> {
+                if (island == null) {
+                    user.sendMessage("commands.island.create.unable-create-island");
+                }
+            });
         } catch (IOException e) {
             getPlugin().logError("Could not create island for player. " + e.getMessage());
             user.sendMessage("commands.island.create.unable-create-island");
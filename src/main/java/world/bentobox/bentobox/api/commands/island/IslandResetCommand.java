@@ -41,6 +41,12 @@ public class IslandResetCommand extends ConfirmableCommand {
             return false;
         }
 
+        if (getIslands().getIslandCreationQueue().get(user.getUniqueId()) != null) {
+            // An island is still being made for this player
+            user.sendMessage("commands.island.create.in-progress");
+            return false;
+        }
+
         if (!getIslands().hasIsland(getWorld(), user.getUniqueId())) {
             user.sendMessage("general.errors.no-island");
             return false;
@@ -137,7 +143,12 @@ public class IslandResetCommand extends ConfirmableCommand {
             .addon((GameModeAddon)getAddon())
             .oldIsland(oldIsland)
             .name(name)
-            .build();
+            .buildAsync()
+            .whenComplete((island, e) -> {
+                if (island == null) {
+                    user.sendMessage("commands.island.create.unable-create-island");
+                }
+            });
         } catch (IOException e) {
             getPlugin().logError("Could not create island for player. " + e.getMessage());
             user.sendMessage("commands.island.create.unable-create-island");
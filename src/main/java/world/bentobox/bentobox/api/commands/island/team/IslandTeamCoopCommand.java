@@ -81,6 +81,7 @@ public class IslandTeamCoopCommand extends CompositeCommand {
         Island island = getIslands().getIsland(getWorld(), user.getUniqueId());
         if (island != null) {
             island.setRank(target, RanksManager.COOP_RANK);
+            getIslands().clearOnlineMembers(island);
             user.sendMessage("general.success");
             target.sendMessage("commands.island.team.coop.you-are-a-coop-member", TextVariables.NAME, user.getName());
             return true;
@@ -98,6 +99,6 @@ public class IslandTeamCoopCommand extends CompositeCommand {
             return Optional.empty();
         }
         String lastArg = args.get(args.size()-1);
-        return Optional.of(Util.tabLimit(Util.getOnlinePlayerList(user), lastArg));
+        return Optional.of(Util.getOnlinePlayerList(user, lastArg));
     }
 }
@@ -77,6 +77,7 @@ public class IslandTeamTrustCommand extends CompositeCommand {
         Island island = getIslands().getIsland(getWorld(), user.getUniqueId());
         if (island != null) {
             island.setRank(target, RanksManager.TRUSTED_RANK);
+            getIslands().clearOnlineMembers(island);
             user.sendMessage("general.success");
             target.sendMessage("commands.island.team.trust.you-are-trusted", TextVariables.NAME, user.getName());
             return true;
@@ -94,6 +95,6 @@ public class IslandTeamTrustCommand extends CompositeCommand {
             return Optional.empty();
         }
         String lastArg = args.get(args.size()-1);
-        return Optional.of(Util.tabLimit(Util.getOnlinePlayerList(user), lastArg));
+        return Optional.of(Util.getOnlinePlayerList(user, lastArg));
     }
 }
@@ -81,6 +81,7 @@ public class IslandTeamUncoopCommand extends CompositeCommand {
         Island island = getIslands().getIsland(getWorld(), user.getUniqueId());
         if (island != null) {
             island.removeMember(targetUUID);
+            getIslands().clearOnlineMembers(island);
             user.sendMessage("general.success");
             target.sendMessage("commands.island.team.uncoop.you-are-no-longer-a-coop-member", TextVariables.NAME, user.getName());
             // Set cooldown
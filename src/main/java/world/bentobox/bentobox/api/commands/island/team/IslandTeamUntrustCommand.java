@@ -81,6 +81,7 @@ public class IslandTeamUntrustCommand extends CompositeCommand {
         Island island = getIslands().getIsland(getWorld(), user.getUniqueId());
         if (island != null) {
             island.removeMember(targetUUID);
+            getIslands().clearOnlineMembers(island);
             user.sendMessage("general.success");
             target.sendMessage("commands.island.team.untrust.you-are-no-longer-trusted", TextVariables.NAME, user.getName());
             // Set cooldown
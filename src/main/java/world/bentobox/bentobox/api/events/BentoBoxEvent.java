@@ -2,14 +2,19 @@ package world.bentobox.bentobox.api.events;
 
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
+import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
 import org.bukkit.event.HandlerList;
+import org.bukkit.plugin.RegisteredListener;
 
 /**
  * Provides the default methods expected when extending {@link Event}.
@@ -20,6 +25,13 @@ public abstract class BentoBoxEvent extends Event {
 
     private static final HandlerList handlers = new HandlerList();
 
+    // The registered listeners that listenedTypes was worked out from. HandlerList makes a new array when they change.
+    private static RegisteredListener[] listenedSnapshot;
+    // Event classes that the registered listeners handle
+    private static Set<Class<?>> listenedTypes = Collections.emptySet();
+    // Whether each event class is listened to
+    private static final Map<Class<?>, Boolean> listened = new HashMap<>();
+
     /**
      * The default constructor is defined for cleaner code.
      * This constructor assumes the BentoBoxEvent is synchronous.
@@ -46,6 +58,49 @@ public abstract class BentoBoxEvent extends Event {
         return handlers;
     }
 
+    /**
+     * Checks if any registered listener handles this event class, so that events nobody listens to do not have to be called.
+     * All BentoBox events share one handler list, so the event handler methods of the registered listeners are looked at.
+     * @param eventClass - event class
+     * @return true if calling this event could reach a listener
+     * @since 1.6.0
+     */
+    public static synchronized boolean isListened(Class<? extends BentoBoxEvent> eventClass) {
+        RegisteredListener[] registered = handlers.getRegisteredListeners();
+        if (registered != listenedSnapshot) {
+            listenedSnapshot = registered;
+            listenedTypes = getListenedTypes(registered);
+            listened.clear();
+        }
+        return listened.computeIfAbsent(eventClass, c -> listenedTypes.stream().anyMatch(t -> t.isAssignableFrom(c)));
+    }
+
+    private static Set<Class<?>> getListenedTypes(RegisteredListener[] registered) {
+        Set<Class<?>> types = new HashSet<>();
+        for (RegisteredListener rl : registered) {
+            boolean found = false;
+            try {
+                // Same methods as the ones Bukkit registers
+                Set<Method> methods = new HashSet<>(Arrays.asList(rl.getListener().getClass().getMethods()));
+                methods.addAll(Arrays.asList(rl.getListener().getClass().getDeclaredMethods()));
+                for (Method method : methods) {
+                    if (method.getAnnotation(EventHandler.class) != null && method.getParameterTypes().length == 1
+                            && BentoBoxEvent.class.isAssignableFrom(method.getParameterTypes()[0])) {
+                        types.add(method.getParameterTypes()[0]);
+                        found = true;
+                    }
+                }
+            } catch (SecurityException | NoClassDefFoundError e) {
+                // Assume it listens to everything
+            }
+            if (!found) {
+                // Registered without an event handler method, so it could be listening to any event
+                types.add(BentoBoxEvent.class);
+            }
+        }
+        return types;
+    }
+
     /**
      * Get a map of key value pairs derived from the fields of this class by reflection.
      * @return map
@@ -1,10 +1,19 @@
 package world.bentobox.bentobox.api.events.island;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.plugin.PluginManager;
+import org.eclipse.jdt.annotation.NonNull;
 
+import world.bentobox.bentobox.api.events.BentoBoxEvent;
 import world.bentobox.bentobox.api.events.IslandBaseEvent;
 import world.bentobox.bentobox.database.objects.Island;
 import world.bentobox.bentobox.database.objects.IslandDeletion;
@@ -17,6 +26,8 @@ import world.bentobox.bentobox.lists.Flags;
  */
 public class IslandEvent extends IslandBaseEvent {
 
+    private static final Map<Reason, List<Consumer<IslandBaseEvent>>> subscribers = Collections.synchronizedMap(new EnumMap<>(Reason.class));
+
     private final Reason reason;
 
     /**
@@ -129,6 +140,31 @@ public class IslandEvent extends IslandBaseEvent {
         return new IslandEventBuilder();
     }
 
+    /**
+     * Subscribes to island events without registering a Bukkit listener. Subscribers are told about the event
+     * for the reason after it has been called, so they see whether it was cancelled. They are not told about
+     * events that are not built with the {@link IslandEventBuilder}.
+     * @param reason - reason to subscribe to
+     * @param subscriber - subscriber
+     * @since 1.6.0
+     */
+    public static void subscribe(@NonNull Reason reason, @NonNull Consumer<IslandBaseEvent> subscriber) {
+        subscribers.computeIfAbsent(reason, k -> new CopyOnWriteArrayList<>()).add(subscriber);
+    }
+
+    /**
+     * Removes a subscriber added by {@link #subscribe(Reason, Consumer)}
+     * @param reason - reason subscribed to
+     * @param subscriber - subscriber
+     * @since 1.6.0
+     */
+    public static void unsubscribe(@NonNull Reason reason, @NonNull Consumer<IslandBaseEvent> subscriber) {
+        List<Consumer<IslandBaseEvent>> list = subscribers.get(reason);
+        if (list != null) {
+            list.remove(subscriber);
+        }
+    }
+
     /**
      * Fired when a player will be expelled from an island.
      * May be cancelled.
@@ -382,79 +418,65 @@ public class IslandEvent extends IslandBaseEvent {
             return this;
         }
 
+        /**
+         * Calls the generic {@link IslandEvent} and the event for the reason, skipping the ones that no plugin listens to.
+         * The subscribers to the reason are then told about the event.
+         * @return the event for the reason
+         */
         public IslandBaseEvent build() {
+            PluginManager pm = Bukkit.getServer().getPluginManager();
             // Call the generic event for developers who just want one event and use the Reason enum
-            Bukkit.getServer().getPluginManager().callEvent(new IslandEvent(island, player, admin, location, reason));
+            if (BentoBoxEvent.isListened(IslandEvent.class)) {
+                pm.callEvent(new IslandEvent(island, player, admin, location, reason));
+            }
             // Generate explicit events
+            IslandBaseEvent event = create();
+            if (BentoBoxEvent.isListened(event.getClass())) {
+                pm.callEvent(event);
+            }
+            List<Consumer<IslandBaseEvent>> list = subscribers.get(reason);
+            if (list != null) {
+                list.forEach(s -> s.accept(event));
+            }
+            return event;
+        }
+
+        private IslandBaseEvent create() {
             switch (reason) {
             case EXPEL:
-                IslandExpelEvent expel = new IslandExpelEvent(island, player, admin, location);
-                Bukkit.getServer().getPluginManager().callEvent(expel);
-                return expel;
+                return new IslandExpelEvent(island, player, admin, location);
             case BAN:
-                IslandBanEvent ban = new IslandBanEvent(island, player, admin, location);
-                Bukkit.getServer().getPluginManager().callEvent(ban);
-                return ban;
+                return new IslandBanEvent(island, player, admin, location);
             case CREATE:
-                IslandCreateEvent create = new IslandCreateEvent(island, player, admin, location);
-                Bukkit.getServer().getPluginManager().callEvent(create);
-                return create;
+                return new IslandCreateEvent(island, player, admin, location);
             case CREATED:
-                IslandCreatedEvent created = new IslandCreatedEvent(island, player, admin, location);
-                Bukkit.getServer().getPluginManager().callEvent(created);
-                return created;
+                return new IslandCreatedEvent(island, player, admin, location);
             case DELETE:
-                IslandDeleteEvent delete = new IslandDeleteEvent(island, player, admin, location);
-                Bukkit.getServer().getPluginManager().callEvent(delete);
-                return delete;
+                return new IslandDeleteEvent(island, player, admin, location);
             case DELETE_CHUNKS:
-                IslandDeleteChunksEvent deleteChunks = new IslandDeleteChunksEvent(island, player, admin, location, deletedIslandInfo);
-                Bukkit.getServer().getPluginManager().callEvent(deleteChunks);
-                return deleteChunks;
+                return new IslandDeleteChunksEvent(island, player, admin, location, deletedIslandInfo);
             case DELETED:
-                IslandDeletedEvent deleted = new IslandDeletedEvent(island, player, admin, location, deletedIslandInfo);
-                Bukkit.getServer().getPluginManager().callEvent(deleted);
-                return deleted;
+                return new IslandDeletedEvent(island, player, admin, location, deletedIslandInfo);
             case ENTER:
-                IslandEnterEvent enter = new IslandEnterEvent(island, player, admin, location);
-                Bukkit.getServer().getPluginManager().callEvent(enter);
-                return enter;
+                return new IslandEnterEvent(island, player, admin, location);
             case EXIT:
-                IslandExitEvent exit = new IslandExitEvent(island, player, admin, location);
-                Bukkit.getServer().getPluginManager().callEvent(exit);
-                return exit;
+                return new IslandExitEvent(island, player, admin, location);
             case LOCK:
-                IslandLockEvent lock = new IslandLockEvent(island, player, admin, location);
-                Bukkit.getServer().getPluginManager().callEvent(lock);
-                return lock;
+                return new IslandLockEvent(island, player, admin, location);
             case RESET:
-                IslandResetEvent reset = new IslandResetEvent(island, player, admin, location);
-                Bukkit.getServer().getPluginManager().callEvent(reset);
-                return reset;
+                return new IslandResetEvent(island, player, admin, location);
             case RESETTED:
-                IslandResettedEvent resetted = new IslandResettedEvent(island, player, admin, location);
-                Bukkit.getServer().getPluginManager().callEvent(resetted);
-                return resetted;
+                return new IslandResettedEvent(island, player, admin, location);
             case UNBAN:
-                IslandUnbanEvent unban = new IslandUnbanEvent(island, player, admin, location);
-                Bukkit.getServer().getPluginManager().callEvent(unban);
-                return unban;
+                return new IslandUnbanEvent(island, player, admin, location);
             case UNLOCK:
-                IslandUnlockEvent unlock = new IslandUnlockEvent(island, player, admin, location);
-                Bukkit.getServer().getPluginManager().callEvent(unlock);
-                return unlock;
+                return new IslandUnlockEvent(island, player, admin, location);
             case REGISTERED:
-                IslandRegisteredEvent reg = new IslandRegisteredEvent(island, player, admin, location);
-                Bukkit.getServer().getPluginManager().callEvent(reg);
-                return reg;
+                return new IslandRegisteredEvent(island, player, admin, location);
             case UNREGISTERED:
-                IslandUnregisteredEvent unreg = new IslandUnregisteredEvent(island, player, admin, location);
-                Bukkit.getServer().getPluginManager().callEvent(unreg);
-                return unreg;
+                return new IslandUnregisteredEvent(island, player, admin, location);
             default:
-                IslandGeneralEvent general = new IslandGeneralEvent(island, player, admin, location);
-                Bukkit.getServer().getPluginManager().callEvent(general);
-                return general;
+                return new IslandGeneralEvent(island, player, admin, location);
             }
         }
     }
@@ -1,79 +1,248 @@
 package world.bentobox.bentobox.api.panels;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.TreeMap;
+import java.util.function.Supplier;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
-import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import world.bentobox.bentobox.api.panels.builders.PanelItemBuilder;
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.listeners.PanelListenerManager;
 import world.bentobox.bentobox.util.heads.HeadGetter;
 import world.bentobox.bentobox.util.heads.HeadRequester;
 
+/**
+ * An inventory panel.
+ * <p>
+ * If the items do not fit in the largest inventory, the panel is split into pages. Each page shows
+ * {@link #PAGE_SIZE} items and the bottom row holds the previous and next page buttons.
+ * Items can be given as suppliers, in which case they are only made when the page that holds them is first shown.
+ */
 public class Panel implements HeadRequester, InventoryHolder {
 
+    private static final int MAX_SIZE = 54;
+    /**
+     * Number of item slots on a page when the panel is split into pages
+     * @since 1.6.0
+     */
+    public static final int PAGE_SIZE = 45;
+    private static final int PREVIOUS_SLOT = 45;
+    private static final int NEXT_SLOT = 53;
+
     private Inventory inventory;
     private Map<Integer, PanelItem> items;
+    private final Map<Integer, Supplier<PanelItem>> providers;
     private PanelListener listener;
     private User user;
     private final String name;
+    private final int pages;
+    private int page;
+    // Inventory slots of the player heads shown on the current page, by name
+    private final Map<String, List<Integer>> headSlots = new HashMap<>();
+    private PanelItem previousItem;
+    private PanelItem nextItem;
 
     public Panel(String name, Map<Integer, PanelItem> items, int size, User user, PanelListener listener) {
+        this(name, items, Collections.emptyMap(), size, user, listener);
+    }
+
+    /**
+     * @param name - panel name
+     * @param items - items by slot
+     * @param providers - suppliers of items by slot. The items are made when first shown.
+     * @param size - panel size. If 0, the number of items is used
+     * @param user - user to open the panel for, or null
+     * @param listener - panel listener, or null
+     * @since 1.6.0
+     */
+    public Panel(String name, Map<Integer, PanelItem> items, Map<Integer, Supplier<PanelItem>> providers, int size, User user, PanelListener listener) {
         this.name = name;
-        this.items = items;
+        this.items = new TreeMap<>(items);
+        this.providers = new HashMap<>(providers);
         // If size is undefined (0) then use the number of items
         if (size == 0) {
-            size = items.keySet().size();
+            size = items.size() + providers.size();
+        }
+        int lastSlot = -1;
+        for (Integer slot : this.items.keySet()) {
+            lastSlot = Math.max(lastSlot, slot);
+        }
+        for (Integer slot : this.providers.keySet()) {
+            lastSlot = Math.max(lastSlot, slot);
         }
         // Create panel
-        if (size > 0) {
+        if (lastSlot >= MAX_SIZE) {
+            pages = lastSlot / PAGE_SIZE + 1;
+            inventory = Bukkit.createInventory(null, MAX_SIZE, name);
+        } else if (size > 0) {
+            pages = 1;
             // Make sure size is a multiple of 9 and is 54 max.
             size = size + 8;
             size -= (size % 9);
-            if (size > 54) size = 54;
+            if (size > MAX_SIZE) size = MAX_SIZE;
 
             inventory = Bukkit.createInventory(null, size, name);
-            // Fill the inventory and return
-            for (Map.Entry<Integer, PanelItem> en: items.entrySet()) {
-                //TODO allow multi-paging
-                if (en.getKey() < 54) {
-                    inventory.setItem(en.getKey(), en.getValue().getItem());
-                    // Get player head async
-                    if (en.getValue().isPlayerHead()) {
-                        HeadGetter.getHead(en.getValue(), this);
-                    }
-                }
-            }
         } else {
+            pages = 1;
             inventory = Bukkit.createInventory(null, 9, name);
         }
+        this.user = user;
+        showPage(0);
         this.listener = listener;
         // If the listener is defined, then run setup
         if (listener != null) listener.setup();
 
         // If the user is defined, then open panel immediately
-        this.user = user;
         if (user != null) this.open(user);
     }
 
+    /**
+     * Fills the inventory with the items of a page
+     * @param newPage - page, starting at 0
+     */
+    private void showPage(int newPage) {
+        page = newPage;
+        headSlots.clear();
+        int first = pages > 1 ? page * PAGE_SIZE : 0;
+        List<Integer> slots = new ArrayList<>();
+        if (pages > 1) {
+            inventory.clear();
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                slots.add(i);
+            }
+        } else {
+            slots.addAll(items.keySet());
+            slots.addAll(providers.keySet());
+        }
+        for (int i : slots) {
+            PanelItem item = resolve(first + i);
+            if (item != null && i < MAX_SIZE) {
+                inventory.setItem(i, item.getItem());
+                // Get player head async
+                if (item.isPlayerHead()) {
+                    headSlots.computeIfAbsent(item.getName(), k -> new ArrayList<>()).add(i);
+                    HeadGetter.getHead(item, this);
+                }
+            }
+        }
+        if (pages > 1) {
+            if (page > 0) {
+                inventory.setItem(PREVIOUS_SLOT, getPreviousItem().getItem());
+            }
+            if (page < pages - 1) {
+                inventory.setItem(NEXT_SLOT, getNextItem().getItem());
+            }
+        }
+    }
+
+    /**
+     * Gets the item in a slot, making it if it is only provided
+     * @param slot - slot
+     * @return item or null if there is none
+     */
+    @Nullable
+    private PanelItem resolve(int slot) {
+        PanelItem item = items.get(slot);
+        if (item == null && providers.containsKey(slot)) {
+            item = providers.remove(slot).get();
+            if (item != null) {
+                items.put(slot, item);
+            }
+        }
+        return item;
+    }
+
+    private PanelItem getPreviousItem() {
+        if (previousItem == null) {
+            previousItem = new PanelItemBuilder().icon(Material.ARROW).name(translate("protection.panel.previous"))
+                    .clickHandler((panel, u, clickType, slot) -> {
+                        showPage(page - 1);
+                        return true;
+                    }).build();
+        }
+        return previousItem;
+    }
+
+    private PanelItem getNextItem() {
+        if (nextItem == null) {
+            nextItem = new PanelItemBuilder().icon(Material.ARROW).name(translate("protection.panel.next"))
+                    .clickHandler((panel, u, clickType, slot) -> {
+                        showPage(page + 1);
+                        return true;
+                    }).build();
+        }
+        return nextItem;
+    }
+
+    private String translate(String reference) {
+        return user == null ? "" : user.getTranslation(reference);
+    }
+
     @NonNull
     @Override
     public Inventory getInventory() {
         return inventory;
     }
 
+    /**
+     * Gets the items of the panel. Items that are provided lazily are only included once they have been shown.
+     * @return map of items by slot
+     */
     public Map<Integer, PanelItem> getItems() {
         return items;
     }
 
+    /**
+     * Gets the item shown in an inventory slot on the current page, including the page buttons
+     * @param slot - inventory slot
+     * @return panel item or null if there is none
+     * @since 1.6.0
+     */
+    @Nullable
+    public PanelItem getItem(int slot) {
+        if (pages == 1) {
+            return items.get(slot);
+        }
+        if (slot >= PAGE_SIZE) {
+            if (slot == PREVIOUS_SLOT && page > 0) {
+                return getPreviousItem();
+            }
+            if (slot == NEXT_SLOT && page < pages - 1) {
+                return getNextItem();
+            }
+            return null;
+        }
+        return items.get(page * PAGE_SIZE + slot);
+    }
+
+    /**
+     * @return the current page, starting at 0
+     * @since 1.6.0
+     */
+    public int getPage() {
+        return page;
+    }
+
+    /**
+     * @return the number of pages
+     * @since 1.6.0
+     */
+    public int getPages() {
+        return pages;
+    }
+
     /**
      * @return the listener
      */
@@ -136,21 +305,16 @@ public class Panel implements HeadRequester, InventoryHolder {
      */
     @Override
     public void setHead(PanelItem item) {
-        // Update the panel item
-        // Replace the item in the item list if the name is the same
-        items = items.entrySet().stream()
-                .collect(Collectors.toMap(Map.Entry::getKey, e -> (item.getName().equals(e.getValue().getName()) ? item : e.getValue())));
-        // Replace the inventory slot item
-        for (int i = 0; i < inventory.getSize(); i++) {
-            ItemStack it = inventory.getItem(i);
-            if (it != null && it.getType().equals(Material.PLAYER_HEAD)) {
-                ItemMeta meta = it.getItemMeta();
-                if (item.getName().equals(meta.getLocalizedName())) {
-                    inventory.setItem(i, item.getItem());
-                    // If one is found, we are done
-                    return;
-                }
-            }
+        List<Integer> slots = headSlots.get(item.getName());
+        if (slots == null) {
+            // The head is not on the current page
+            return;
+        }
+        int first = pages > 1 ? page * PAGE_SIZE : 0;
+        for (int slot : slots) {
+            // Update the panel item and replace the inventory slot item
+            items.put(first + slot, item);
+            inventory.setItem(slot, item.getItem());
         }
     }
 
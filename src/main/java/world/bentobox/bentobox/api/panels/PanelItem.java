@@ -30,6 +30,11 @@ public class PanelItem {
     public PanelItem(PanelItemBuilder builtItem) {
         this.icon = builtItem.getIcon();
         this.playerHead = builtItem.isPlayerHead();
+        this.clickHandler = builtItem.getClickHandler();
+        this.name = builtItem.getName();
+        this.description = builtItem.getDescription();
+        this.glow = builtItem.isGlow();
+        this.invisible = builtItem.isInvisible();
         // Get the meta
         meta = icon.getItemMeta();
         if (meta != null) {
@@ -39,17 +44,13 @@ public class PanelItem {
             meta.addItemFlags(ItemFlag.HIDE_PLACED_ON);
             meta.addItemFlags(ItemFlag.HIDE_ENCHANTS);
             meta.addItemFlags(ItemFlag.HIDE_POTION_EFFECTS);
+            // Create the final item. The meta is only set once, so the item stack is ready to be reused by panels
+            applyName();
+            meta.setLore(description);
+            meta.addEnchant(Enchantment.ARROW_DAMAGE, 0, glow);
+            applyInvisible();
             icon.setItemMeta(meta);
         }
-
-        this.clickHandler = builtItem.getClickHandler();
-
-        // Create the final item
-        setName(builtItem.getName());
-        setDescription(builtItem.getDescription());
-        setGlow(builtItem.isGlow());
-        setInvisible(builtItem.isInvisible());
-
     }
 
     public ItemStack getItem() {
@@ -75,12 +76,16 @@ public class PanelItem {
     public void setName(String name) {
         this.name = name;
         if (meta != null) {
-            meta.setDisplayName(name);
-            meta.setLocalizedName(name); //Localized name cannot be overridden by the player using an anvils
+            applyName();
             icon.setItemMeta(meta);
         }
     }
 
+    private void applyName() {
+        meta.setDisplayName(name);
+        meta.setLocalizedName(name); //Localized name cannot be overridden by the player using an anvils
+    }
+
     public boolean isInvisible() {
         return invisible;
     }
@@ -88,15 +93,18 @@ public class PanelItem {
     public void setInvisible(boolean invisible) {
         this.invisible = invisible;
         if (meta != null) {
-            if (invisible) {
-                meta.addEnchant(Enchantment.VANISHING_CURSE, 1, true);
-                meta.removeItemFlags(ItemFlag.HIDE_ENCHANTS);
-                icon.setItemMeta(meta);
-            } else {
-                meta.removeEnchant(Enchantment.VANISHING_CURSE);
-                meta.addItemFlags(ItemFlag.HIDE_ENCHANTS);
-                icon.setItemMeta(meta);
-            }
+            applyInvisible();
+            icon.setItemMeta(meta);
+        }
+    }
+
+    private void applyInvisible() {
+        if (invisible) {
+            meta.addEnchant(Enchantment.VANISHING_CURSE, 1, true);
+            meta.removeItemFlags(ItemFlag.HIDE_ENCHANTS);
+        } else {
+            meta.removeEnchant(Enchantment.VANISHING_CURSE);
+            meta.addItemFlags(ItemFlag.HIDE_ENCHANTS);
         }
     }
 
@@ -2,6 +2,7 @@ package world.bentobox.bentobox.api.panels.builders;
 
 import org.bukkit.ChatColor;
 import java.util.TreeMap;
+import java.util.function.Supplier;
 
 import world.bentobox.bentobox.api.panels.Panel;
 import world.bentobox.bentobox.api.panels.PanelItem;
@@ -16,6 +17,7 @@ import world.bentobox.bentobox.api.user.User;
 public class PanelBuilder {
     private String name;
     private TreeMap<Integer, PanelItem> items = new TreeMap<>();
+    private TreeMap<Integer, Supplier<PanelItem>> providers = new TreeMap<>();
     private int size;
     private User user;
     private PanelListener listener;
@@ -50,6 +52,25 @@ public class PanelBuilder {
             return this;
         }
         items.put(slot, item);
+        providers.remove(slot);
+        return this;
+    }
+
+    /**
+     * Add an item that is only made when it is first shown into a specific slot. If the slot is already occupied,
+     * it will be replaced. Use this for panels with many items, which are split into pages.
+     * @param slot - slot
+     * @param provider - supplier of the panel item
+     * @return PanelBuilder
+     * @since 1.6.0
+     */
+    public PanelBuilder item(int slot, Supplier<PanelItem> provider) {
+        // Do not add null items
+        if (provider == null) {
+            return this;
+        }
+        providers.put(slot, provider);
+        items.remove(slot);
         return this;
     }
 
@@ -88,7 +109,15 @@ public class PanelBuilder {
      * @return next slot number, or -1 in case none has been found.
      */
     public int nextSlot() {
-        return items.isEmpty() ? 0 : items.lastKey() + 1;
+        return lastSlot() + 1;
+    }
+
+    /**
+     * @return the largest occupied slot, or -1 if there are no items
+     */
+    private int lastSlot() {
+        int last = items.isEmpty() ? -1 : items.lastKey();
+        return providers.isEmpty() ? last : Math.max(last, providers.lastKey());
     }
 
     /**
@@ -97,7 +126,7 @@ public class PanelBuilder {
      * @return true or false
      */
     public boolean slotOccupied(int slot) {
-        return items.containsKey(slot);
+        return items.containsKey(slot) || providers.containsKey(slot);
     }
 
     /**
@@ -105,7 +134,7 @@ public class PanelBuilder {
      * @return Panel
      */
     public Panel build() {
-        // items.lastKey() is a slot position, so the panel size is this value + 1
-        return new Panel(name, items, Math.max(size, items.isEmpty() ? size : items.lastKey() + 1), user, listener);
+        // lastSlot() is a slot position, so the panel size is this value + 1
+        return new Panel(name, items, providers, Math.max(size, lastSlot() + 1), user, listener);
     }
 }
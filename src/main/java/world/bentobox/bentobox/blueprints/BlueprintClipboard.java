@@ -1,16 +1,29 @@
 package world.bentobox.bentobox.blueprints;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
 import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
-import org.bukkit.block.Block;
 import org.bukkit.block.BlockState;
 import org.bukkit.block.CreatureSpawner;
 import org.bukkit.block.Sign;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.AbstractHorse;
 import org.bukkit.entity.Ageable;
 import org.bukkit.entity.ChestedHorse;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Horse;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
@@ -24,6 +37,7 @@ import org.bukkit.util.BoundingBox;
 import org.bukkit.util.Vector;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
+
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.localization.TextVariables;
 import world.bentobox.bentobox.api.user.User;
@@ -31,16 +45,6 @@ import world.bentobox.bentobox.blueprints.dataobjects.BlueprintBlock;
 import world.bentobox.bentobox.blueprints.dataobjects.BlueprintCreatureSpawner;
 import world.bentobox.bentobox.blueprints.dataobjects.BlueprintEntity;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
-
 /**
  * The clipboard provides the holding spot for an active blueprint that is being
  * manipulated by a user. It supports copying from the world and setting of coordinates
@@ -51,18 +55,18 @@ import java.util.stream.Collectors;
  */
 public class BlueprintClipboard {
 
+    /**
+     * Materials whose block state is {@link Attachable}. Computed on first use on the main thread.
+     */
+    private static Set<Material> attachableMaterials;
+
     private @Nullable Blueprint blueprint;
     private @Nullable Location pos1;
     private @Nullable Location pos2;
     private @Nullable Vector origin;
     private BukkitTask copyTask;
-    private int count;
     private boolean copying;
-    private int index;
     private int lastPercentage;
-    private Map<Vector, List<BlueprintEntity>> bpEntities = new LinkedHashMap<>();
-    private Map<Vector, BlueprintBlock> bpAttachable = new LinkedHashMap<>();
-    private Map<Vector, BlueprintBlock> bpBlocks = new LinkedHashMap<>();
 
     /**
      * Create a clipboard for blueprint
@@ -77,7 +81,10 @@ public class BlueprintClipboard {
     /**
      * Copy the blocks between pos1 and pos2 into the clipboard for a user.
      * This will erase any previously registered data from the clipboard.
-     * Copying is done async.
+     * <p>
+     * Copying is done in two steps. First, snapshots of the chunks are taken on the main thread, along with
+     * the chunks' tile entities (signs, containers and spawners) and living entities, within the blueprint time
+     * budget per tick. Then block data is read from the snapshots async.
      * @param user - user
      * @return true if successful, false if pos1 or pos2 are undefined.
      */
@@ -101,93 +108,200 @@ public class BlueprintClipboard {
             return false;
         }
         // Clear the clipboard
-        blueprint = new Blueprint();
-        bpEntities.clear();
-        bpAttachable.clear();
-        bpBlocks.clear();
+        Blueprint bp = new Blueprint();
+        blueprint = bp;
 
-        count = 0;
-        index = 0;
         lastPercentage = 0;
         BoundingBox toCopy = BoundingBox.of(pos1, pos2);
-        blueprint.setxSize((int)toCopy.getWidthX());
-        blueprint.setySize((int)toCopy.getHeight());
-        blueprint.setzSize((int)toCopy.getWidthZ());
+        bp.setxSize((int)toCopy.getWidthX());
+        bp.setySize((int)toCopy.getHeight());
+        bp.setzSize((int)toCopy.getWidthZ());
 
         BentoBox plugin = BentoBox.getInstance();
-
-        final int speed = plugin.getSettings().getPasteSpeed();
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            final List<Vector> vectorsToCopy = getVectors(toCopy);
-            copying = false;
-            copyTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-                if (copying) {
-                    return;
+        CopyJob job = new CopyJob(world, toCopy, origin, copyAir);
+        copying = true;
+        copyTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+            long deadline = System.nanoTime() + Math.max(1, plugin.getSettings().getPasteTimeBudget()) * 1_000_000L;
+            try {
+                while (job.hasNextChunk() && System.nanoTime() < deadline) {
+                    job.snapshotNextChunk();
                 }
-                copying = true;
-                vectorsToCopy.stream().skip(index).limit(speed).forEach(v -> {
-                    List<LivingEntity> ents = world.getLivingEntities().stream()
-                            .filter(Objects::nonNull)
-                            .filter(e -> !(e instanceof Player))
-                            .filter(e -> new Vector(Math.rint(e.getLocation().getX()),
-                                    Math.rint(e.getLocation().getY()),
-                                    Math.rint(e.getLocation().getZ())).equals(v))
-                            .collect(Collectors.toList());
-                    if (copyBlock(v.toLocation(world), origin, copyAir, ents)) {
-                        count++;
+            } catch (Exception e) {
+                copyTask.cancel();
+                copyFailed(plugin, user, e);
+                return;
+            }
+            if (!job.hasNextChunk()) {
+                copyTask.cancel();
+                Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+                    try {
+                        job.extract(percent -> Bukkit.getScheduler().runTask(plugin, () -> reportProgress(user, percent)));
+                    } catch (Exception e) {
+                        Bukkit.getScheduler().runTask(plugin, () -> copyFailed(plugin, user, e));
+                        return;
                     }
+                    Bukkit.getScheduler().runTask(plugin, () -> {
+                        bp.setAttached(job.bpAttachable);
+                        bp.setBlocks(job.bpBlocks);
+                        bp.setEntities(job.bpEntities);
+                        bp.setBedrock(job.bedrock);
+                        copying = false;
+                        user.sendMessage("general.success");
+                        user.sendMessage("commands.admin.blueprint.copied-blocks", TextVariables.NUMBER, String.valueOf(job.count));
+                    });
                 });
-                index += speed;
-                int percent = (int)(index * 100 / (double)vectorsToCopy.size());
-                if (percent != lastPercentage && percent % 10 == 0) {
-                    user.sendMessage("commands.admin.blueprint.copied-percent", TextVariables.NUMBER, String.valueOf(percent));
-                    lastPercentage = percent;
-                }
-                if (index > vectorsToCopy.size()) {
-                    copyTask.cancel();
-                    blueprint.setAttached(bpAttachable);
-                    blueprint.setBlocks(bpBlocks);
-                    blueprint.setEntities(bpEntities);
-                    user.sendMessage("general.success");
-                    user.sendMessage("commands.admin.blueprint.copied-blocks", TextVariables.NUMBER, String.valueOf(count));
-                }
-                copying = false;
-            }, 0L, 1L);
-        });
+            }
+        }, 0L, 1L);
         return true;
     }
 
     /**
-     * Get all the x,y,z coords that must be copied
-     * @param b - bounding box
-     * @return - list of vectors
+     * Ends a copy that could not be done, so that the next copy can start
+     * @param plugin - plugin
+     * @param user - user who was copying
+     * @param e - cause
+     */
+    private void copyFailed(BentoBox plugin, User user, Exception e) {
+        copying = false;
+        plugin.logError("Could not copy blocks to the blueprint clipboard: " + e.getMessage());
+        user.sendMessage("commands.admin.blueprint.copy-failed");
+    }
+
+    private void reportProgress(User user, int percent) {
+        if (percent / 10 > lastPercentage / 10) {
+            lastPercentage = percent;
+            user.sendMessage("commands.admin.blueprint.copied-percent", TextVariables.NUMBER, String.valueOf(percent / 10 * 10));
+        }
+    }
+
+    /**
+     * Holds the state of one copy operation
      */
-    private List<Vector> getVectors(BoundingBox b) {
-        List<Vector> r = new ArrayList<>();
-        for (int y = (int)b.getMinY(); y <= b.getMaxY(); y++) {
-            for (int x = (int)b.getMinX(); x <= b.getMaxX(); x++) {
-                for (int z = (int)b.getMinZ(); z <= b.getMaxZ(); z++) {
-                    r.add(new Vector(x,y,z));
+    private static class CopyJob {
+        private final World world;
+        private final int minX;
+        private final int minY;
+        private final int minZ;
+        private final int maxX;
+        private final int maxY;
+        private final int maxZ;
+        private final int originX;
+        private final int originY;
+        private final int originZ;
+        private final boolean copyAir;
+        private final int minChunkX;
+        private final int minChunkZ;
+        private final int chunksX;
+        private final int chunksTotal;
+        private int nextChunk;
+        // Filled on the main thread
+        private final List<ChunkSnapshot> snapshots = new ArrayList<>();
+        private final Map<Vector, BlueprintBlock> tiles = new HashMap<>();
+        private final Map<Vector, List<BlueprintEntity>> bpEntities = new LinkedHashMap<>();
+        // Filled async
+        private final Map<Vector, BlueprintBlock> bpAttachable = new LinkedHashMap<>();
+        private final Map<Vector, BlueprintBlock> bpBlocks = new LinkedHashMap<>();
+        private Vector bedrock;
+        private int count;
+
+        private CopyJob(World world, BoundingBox box, Vector origin, boolean copyAir) {
+            this.world = world;
+            this.minX = (int)box.getMinX();
+            this.minY = (int)box.getMinY();
+            this.minZ = (int)box.getMinZ();
+            this.maxX = (int)box.getMaxX();
+            this.maxY = (int)box.getMaxY();
+            this.maxZ = (int)box.getMaxZ();
+            this.originX = origin.getBlockX();
+            this.originY = origin.getBlockY();
+            this.originZ = origin.getBlockZ();
+            this.copyAir = copyAir;
+            this.minChunkX = minX >> 4;
+            this.minChunkZ = minZ >> 4;
+            this.chunksX = (maxX >> 4) - minChunkX + 1;
+            this.chunksTotal = chunksX * ((maxZ >> 4) - minChunkZ + 1);
+            if (attachableMaterials == null) {
+                attachableMaterials = getAttachableMaterials();
+            }
+        }
+
+        private boolean hasNextChunk() {
+            return nextChunk < chunksTotal;
+        }
+
+        /**
+         * Takes the snapshot of the next chunk, and copies its tile entities and living entities.
+         * Must be run on the main thread.
+         */
+        private void snapshotNextChunk() {
+            int cx = minChunkX + nextChunk % chunksX;
+            int cz = minChunkZ + nextChunk / chunksX;
+            nextChunk++;
+            Chunk chunk = world.getChunkAt(cx, cz);
+            snapshots.add(chunk.getChunkSnapshot(false, false, false));
+            for (BlockState bs : chunk.getTileEntities()) {
+                if (inBox(bs.getX(), bs.getY(), bs.getZ())) {
+                    copyTileEntity(bs);
+                }
+            }
+            for (Entity entity : chunk.getEntities()) {
+                if (!(entity instanceof LivingEntity) || entity instanceof Player) {
+                    continue;
+                }
+                Location l = entity.getLocation();
+                int x = (int)Math.rint(l.getX());
+                int y = (int)Math.rint(l.getY());
+                int z = (int)Math.rint(l.getZ());
+                if (inBox(x, y, z)) {
+                    bpEntities.computeIfAbsent(new Vector(x - originX, y - originY, z - originZ), k -> new ArrayList<>())
+                    .add(copyEntity((LivingEntity)entity));
                 }
             }
         }
-        return r;
-    }
 
-    private boolean copyBlock(Location l, @Nullable Vector origin2, boolean copyAir, Collection<LivingEntity> entities) {
-        Block block = l.getBlock();
-        if (!copyAir && block.getType().equals(Material.AIR) && entities.isEmpty()) {
-            return false;
+        private boolean inBox(int x, int y, int z) {
+            return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+        }
+
+        private void copyTileEntity(BlockState blockState) {
+            BlueprintBlock b = new BlueprintBlock(blockState.getBlockData().getAsString());
+            boolean keep = false;
+            // Signs
+            if (blockState instanceof Sign) {
+                b.setSignLines(Arrays.asList(((Sign)blockState).getLines()));
+                keep = true;
+            }
+            // Chests
+            if (blockState instanceof InventoryHolder) {
+                b.setInventory(new HashMap<>());
+                InventoryHolder ih = (InventoryHolder)blockState;
+                for (int i = 0; i < ih.getInventory().getSize(); i++) {
+                    ItemStack item = ih.getInventory().getItem(i);
+                    if (item != null) {
+                        b.getInventory().put(i, item.clone());
+                    }
+                }
+                keep = true;
+            }
+            if (blockState instanceof CreatureSpawner) {
+                CreatureSpawner spawner = (CreatureSpawner)blockState;
+                BlueprintCreatureSpawner cs = new BlueprintCreatureSpawner();
+                cs.setSpawnedType(spawner.getSpawnedType());
+                cs.setDelay(spawner.getDelay());
+                cs.setMaxNearbyEntities(spawner.getMaxNearbyEntities());
+                cs.setMaxSpawnDelay(spawner.getMaxSpawnDelay());
+                cs.setMinSpawnDelay(spawner.getMinSpawnDelay());
+                cs.setRequiredPlayerRange(spawner.getRequiredPlayerRange());
+                cs.setSpawnRange(spawner.getSpawnRange());
+                b.setCreatureSpawner(cs);
+                keep = true;
+            }
+            if (keep) {
+                tiles.put(new Vector(blockState.getX() - originX, blockState.getY() - originY, blockState.getZ() - originZ), b);
+            }
         }
-        // Create position
-        int x = l.getBlockX() - origin2.getBlockX();
-        int y = l.getBlockY() - origin2.getBlockY();
-        int z = l.getBlockZ() - origin2.getBlockZ();
-        Vector pos = new Vector(x, y, z);
-
-        // Set entities
-        List<BlueprintEntity> bpEnts = new ArrayList<>();
-        for (LivingEntity entity: entities) {
+
+        private BlueprintEntity copyEntity(LivingEntity entity) {
             BlueprintEntity bpe = new BlueprintEntity();
             bpe.setType(entity.getType());
             bpe.setCustomName(entity.getCustomName());
@@ -214,7 +328,7 @@ public class BlueprintClipboard {
                 for (int i = 0; i < horse.getInventory().getSize(); i++) {
                     ItemStack item = horse.getInventory().getItem(i);
                     if (item != null) {
-                        bpe.getInventory().put(i, item);
+                        bpe.getInventory().put(i, item.clone());
                     }
                 }
             }
@@ -223,71 +337,88 @@ public class BlueprintClipboard {
                 Horse horse = (Horse)entity;
                 bpe.setStyle(horse.getStyle());
             }
-            bpEnts.add(bpe);
-        }
-        // Store
-        if (!bpEnts.isEmpty()) {
-            bpEntities.put(pos, bpEnts);
-        }
-
-        // Return if this is just air block
-        if (!copyAir && block.getType().equals(Material.AIR) && !entities.isEmpty()) {
-            return true;
+            return bpe;
         }
 
-        // Block state
-        BlockState blockState = block.getState();
-        BlueprintBlock b = new BlueprintBlock(block.getBlockData().getAsString());
-        // Signs
-        if (blockState instanceof Sign) {
-            Sign sign = (Sign)blockState;
-            b.setSignLines(Arrays.asList(sign.getLines()));
-        }
-        // Set block data
-        if (blockState.getData() instanceof Attachable) {
-            // Placeholder for attachment
-            bpBlocks.put(pos, new BlueprintBlock("minecraft:air"));
-            bpAttachable.put(pos, b);
-            return true;
-        }
-
-        if (block.getType().equals(Material.BEDROCK)) {
-            // Find highest bedrock
-            if(blueprint.getBedrock() == null) {
-                blueprint.setBedrock(pos);
-            } else {
-                if (pos.getBlockY() > blueprint.getBedrock().getBlockY()) {
-                    blueprint.setBedrock(pos);
+        /**
+         * Reads the blocks from the chunk snapshots. Can be run async.
+         * @param progress - called with the percentage of chunks done
+         */
+        private void extract(IntConsumer progress) {
+            int done = 0;
+            for (ChunkSnapshot snapshot : snapshots) {
+                int baseX = snapshot.getX() << 4;
+                int baseZ = snapshot.getZ() << 4;
+                int fromX = Math.max(minX, baseX);
+                int toX = Math.min(maxX, baseX + 15);
+                int fromZ = Math.max(minZ, baseZ);
+                int toZ = Math.min(maxZ, baseZ + 15);
+                for (int y = minY; y <= maxY; y++) {
+                    for (int x = fromX; x <= toX; x++) {
+                        for (int z = fromZ; z <= toZ; z++) {
+                            copyBlock(snapshot, x, y, z);
+                        }
+                    }
                 }
+                done++;
+                progress.accept(done * 100 / snapshots.size());
             }
         }
 
-        // Chests
-        if (blockState instanceof InventoryHolder) {
-            b.setInventory(new HashMap<>());
-            InventoryHolder ih = (InventoryHolder)blockState;
-            for (int i = 0; i < ih.getInventory().getSize(); i++) {
-                ItemStack item = ih.getInventory().getItem(i);
-                if (item != null) {
-                    b.getInventory().put(i, item);
+        private void copyBlock(ChunkSnapshot snapshot, int x, int y, int z) {
+            Vector pos = new Vector(x - originX, y - originY, z - originZ);
+            BlockData data = snapshot.getBlockData(x & 0xF, y, z & 0xF);
+            Material type = data.getMaterial();
+            boolean air = type.equals(Material.AIR);
+            if (!copyAir && air) {
+                if (bpEntities.containsKey(pos)) {
+                    // Entities only
+                    count++;
                 }
+                return;
+            }
+            count++;
+            BlueprintBlock b = tiles.get(pos);
+            if (b == null) {
+                b = new BlueprintBlock(data.getAsString());
+            } else {
+                b.setBlockData(data.getAsString());
+            }
+            if (attachableMaterials.contains(type)) {
+                // Placeholder for attachment
+                bpBlocks.put(pos, new BlueprintBlock("minecraft:air"));
+                bpAttachable.put(pos, b);
+                return;
             }
+            // Find highest bedrock
+            if (type.equals(Material.BEDROCK) && (bedrock == null || pos.getBlockY() > bedrock.getBlockY())) {
+                bedrock = pos;
+            }
+            bpBlocks.put(pos, b);
         }
+    }
 
-        if (blockState instanceof CreatureSpawner) {
-            CreatureSpawner spawner = (CreatureSpawner)blockState;
-            BlueprintCreatureSpawner cs = new BlueprintCreatureSpawner();
-            cs.setSpawnedType(spawner.getSpawnedType());
-            cs.setDelay(spawner.getDelay());
-            cs.setMaxNearbyEntities(spawner.getMaxNearbyEntities());
-            cs.setMaxSpawnDelay(spawner.getMaxSpawnDelay());
-            cs.setMinSpawnDelay(spawner.getMinSpawnDelay());
-            cs.setRequiredPlayerRange(spawner.getRequiredPlayerRange());
-            cs.setSpawnRange(spawner.getSpawnRange());
-            b.setCreatureSpawner(cs);
+    /**
+     * Finds the materials whose block states are {@link Attachable}, e.g., torches, buttons or ladders.
+     * @return set of attachable materials
+     */
+    @SuppressWarnings("deprecation")
+    private static Set<Material> getAttachableMaterials() {
+        Set<Material> result = EnumSet.noneOf(Material.class);
+        for (Material m : Material.values()) {
+            if (m.isLegacy() || !m.isBlock()) {
+                continue;
+            }
+            try {
+                Material legacy = Bukkit.getUnsafe().toLegacy(m);
+                if (legacy != null && Attachable.class.isAssignableFrom(legacy.getData())) {
+                    result.add(m);
+                }
+            } catch (Exception e) {
+                // Not convertible, so not attachable
+            }
         }
-        this.bpBlocks.put(pos, b);
-        return true;
+        return result;
     }
 
     /**
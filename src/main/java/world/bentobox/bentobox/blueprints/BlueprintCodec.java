@@ -0,0 +1,613 @@
+package world.bentobox.bentobox.blueprints;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.bukkit.DyeColor;
+import org.bukkit.Material;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Horse.Style;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.Vector;
+import org.bukkit.util.io.BukkitObjectInputStream;
+import org.bukkit.util.io.BukkitObjectOutputStream;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import world.bentobox.bentobox.blueprints.dataobjects.BlueprintBlock;
+import world.bentobox.bentobox.blueprints.dataobjects.BlueprintCreatureSpawner;
+import world.bentobox.bentobox.blueprints.dataobjects.BlueprintEntity;
+
+/**
+ * Reads and writes blueprints in the binary, palette-compressed format.
+ * <p>
+ * The file starts with an uncompressed 4 byte magic number followed by a GZIP stream that holds:
+ * <ul>
+ * <li>the blueprint's meta data (name, icon, description, sizes and bedrock),</li>
+ * <li>a palette of every distinct block data string used by the blueprint,</li>
+ * <li>the blocks as palette indexes, bit-packed over the bounding box of the blocks (or as a sparse list
+ * if the blocks only fill a small part of their bounding box),</li>
+ * <li>the attached blocks as a sparse list of palette indexes,</li>
+ * <li>sparse side tables for sign lines, inventories, creature spawners and entities.</li>
+ * </ul>
+ * Nothing goes through a temporary file: the blueprint is (de)compressed straight from/to the given stream.
+ * Legacy zipped JSON blueprints are still handled by {@link world.bentobox.bentobox.managers.BlueprintClipboardManager}.
+ *
+ * @author tastybento
+ * @since 1.6.0
+ */
+public class BlueprintCodec {
+
+    /**
+     * "BBP" followed by the format version
+     */
+    private static final int MAGIC = 0x42425001;
+    private static final int BUFFER_SIZE = 65536;
+
+    private static final byte LAYER_BLOCKS = 0;
+    private static final byte LAYER_ATTACHED = 1;
+
+    private static final byte MODE_EMPTY = 0;
+    private static final byte MODE_DENSE = 1;
+    private static final byte MODE_SPARSE = 2;
+
+    /**
+     * Dense encoding is only used if the blocks fill at least 1/DENSITY_FACTOR of their bounding box
+     */
+    private static final long DENSITY_FACTOR = 64;
+
+    // Entity field flags
+    private static final int E_COLOR = 1;
+    private static final int E_TYPE = 1 << 1;
+    private static final int E_NAME = 1 << 2;
+    private static final int E_TAMED = 1 << 3;
+    private static final int E_CHEST = 1 << 4;
+    private static final int E_ADULT = 1 << 5;
+    private static final int E_DOMESTICATION = 1 << 6;
+    private static final int E_INVENTORY = 1 << 7;
+    private static final int E_STYLE = 1 << 8;
+
+    private BlueprintCodec() {}
+
+    /**
+     * Checks if the stream starts with the binary blueprint magic number.
+     * The stream must support {@link InputStream#mark(int)}; its position is left unchanged.
+     * @param in - input stream
+     * @return true if the stream holds a binary blueprint
+     * @throws IOException - if the stream cannot be read
+     */
+    public static boolean isBinary(@NonNull InputStream in) throws IOException {
+        in.mark(4);
+        try {
+            DataInputStream dis = new DataInputStream(in);
+            return dis.readInt() == MAGIC;
+        } catch (EOFException e) {
+            return false;
+        } finally {
+            in.reset();
+        }
+    }
+
+    /**
+     * Writes the blueprint to the stream. The stream is finished but not closed.
+     * @param blueprint - blueprint to write
+     * @param out - output stream
+     * @throws IOException - if the blueprint cannot be written
+     */
+    public static void write(@NonNull Blueprint blueprint, @NonNull OutputStream out) throws IOException {
+        new DataOutputStream(out).writeInt(MAGIC);
+        GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE);
+        DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(gzip, BUFFER_SIZE));
+        writeHeader(dos, blueprint);
+
+        Map<Vector, BlueprintBlock> blocks = blueprint.getBlocks() == null ? new HashMap<>() : blueprint.getBlocks();
+        Map<Vector, BlueprintBlock> attached = blueprint.getAttached() == null ? new HashMap<>() : blueprint.getAttached();
+
+        // Palette - index 0 is reserved for "no block"
+        Map<String, Integer> palette = new LinkedHashMap<>();
+        blocks.values().forEach(b -> palette.computeIfAbsent(b.getBlockData(), k -> palette.size() + 1));
+        attached.values().forEach(b -> palette.computeIfAbsent(b.getBlockData(), k -> palette.size() + 1));
+        dos.writeInt(palette.size());
+        for (String blockData : palette.keySet()) {
+            dos.writeUTF(blockData);
+        }
+
+        writeBlockLayer(dos, blocks, palette);
+        writeSparseLayer(dos, attached, palette);
+
+        // Side tables
+        writeSigns(dos, blocks, attached);
+        writeInventories(dos, blocks, attached);
+        writeSpawners(dos, blocks, attached);
+        writeEntities(dos, blueprint.getEntities() == null ? new HashMap<>() : blueprint.getEntities());
+
+        dos.flush();
+        gzip.finish();
+        out.flush();
+    }
+
+    /**
+     * Reads a binary blueprint from the stream.
+     * @param in - input stream
+     * @return the blueprint
+     * @throws IOException - if the stream does not hold a binary blueprint or it is corrupted
+     */
+    @NonNull
+    public static Blueprint read(@NonNull InputStream in) throws IOException {
+        if (new DataInputStream(in).readInt() != MAGIC) {
+            throw new IOException("Not a binary blueprint");
+        }
+        DataInputStream dis = new DataInputStream(new BufferedInputStream(new GZIPInputStream(in, BUFFER_SIZE), BUFFER_SIZE));
+        Blueprint bp = new Blueprint();
+        readHeader(dis, bp);
+
+        int paletteSize = dis.readInt();
+        String[] palette = new String[paletteSize + 1];
+        for (int i = 1; i <= paletteSize; i++) {
+            palette[i] = dis.readUTF();
+        }
+
+        Map<Vector, BlueprintBlock> blocks = readBlockLayer(dis, palette);
+        Map<Vector, BlueprintBlock> attached = readSparseLayer(dis, palette);
+        bp.setBlocks(blocks);
+        bp.setAttached(attached);
+
+        readSigns(dis, blocks, attached);
+        readInventories(dis, blocks, attached);
+        readSpawners(dis, blocks, attached);
+        bp.setEntities(readEntities(dis));
+        return bp;
+    }
+
+    private static void writeHeader(DataOutputStream dos, Blueprint bp) throws IOException {
+        writeString(dos, bp.getName());
+        writeString(dos, bp.getDisplayName());
+        writeString(dos, bp.getIcon() == null ? null : bp.getIcon().name());
+        List<String> description = bp.getDescription() == null ? new ArrayList<>() : bp.getDescription();
+        dos.writeInt(description.size());
+        for (String line : description) {
+            writeString(dos, line);
+        }
+        dos.writeInt(bp.getxSize());
+        dos.writeInt(bp.getySize());
+        dos.writeInt(bp.getzSize());
+        dos.writeBoolean(bp.getBedrock() != null);
+        if (bp.getBedrock() != null) {
+            writeVector(dos, bp.getBedrock());
+        }
+    }
+
+    private static void readHeader(DataInputStream dis, Blueprint bp) throws IOException {
+        bp.setName(readString(dis));
+        bp.setDisplayName(readString(dis));
+        String icon = readString(dis);
+        if (icon != null) {
+            Material m = Material.getMaterial(icon);
+            bp.setIcon(m == null ? Material.PAPER : m);
+        }
+        int lines = dis.readInt();
+        if (lines > 0) {
+            List<String> description = new ArrayList<>(lines);
+            for (int i = 0; i < lines; i++) {
+                description.add(readString(dis));
+            }
+            bp.setDescription(description);
+        }
+        bp.setxSize(dis.readInt());
+        bp.setySize(dis.readInt());
+        bp.setzSize(dis.readInt());
+        if (dis.readBoolean()) {
+            bp.setBedrock(readVector(dis));
+        }
+    }
+
+    private static void writeBlockLayer(DataOutputStream dos, Map<Vector, BlueprintBlock> blocks, Map<String, Integer> palette) throws IOException {
+        if (blocks.isEmpty()) {
+            dos.writeByte(MODE_EMPTY);
+            return;
+        }
+        int minX = Integer.MAX_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxY = Integer.MIN_VALUE;
+        int maxZ = Integer.MIN_VALUE;
+        for (Vector v : blocks.keySet()) {
+            minX = Math.min(minX, v.getBlockX());
+            minY = Math.min(minY, v.getBlockY());
+            minZ = Math.min(minZ, v.getBlockZ());
+            maxX = Math.max(maxX, v.getBlockX());
+            maxY = Math.max(maxY, v.getBlockY());
+            maxZ = Math.max(maxZ, v.getBlockZ());
+        }
+        int sizeX = maxX - minX + 1;
+        int sizeY = maxY - minY + 1;
+        int sizeZ = maxZ - minZ + 1;
+        long volume = (long)sizeX * sizeY * sizeZ;
+        if (volume > Integer.MAX_VALUE / 2 || volume > blocks.size() * DENSITY_FACTOR) {
+            dos.writeByte(MODE_SPARSE);
+            writeSparseEntries(dos, blocks, palette);
+            return;
+        }
+        dos.writeByte(MODE_DENSE);
+        dos.writeInt(minX);
+        dos.writeInt(minY);
+        dos.writeInt(minZ);
+        dos.writeInt(sizeX);
+        dos.writeInt(sizeY);
+        dos.writeInt(sizeZ);
+        int bits = bitsPerEntry(palette.size());
+        int perLong = 64 / bits;
+        long[] packed = new long[(int)((volume + perLong - 1) / perLong)];
+        for (Entry<Vector, BlueprintBlock> en : blocks.entrySet()) {
+            Vector v = en.getKey();
+            int index = ((v.getBlockY() - minY) * sizeZ + (v.getBlockZ() - minZ)) * sizeX + (v.getBlockX() - minX);
+            long value = palette.get(en.getValue().getBlockData());
+            packed[index / perLong] |= value << ((index % perLong) * bits);
+        }
+        dos.writeByte(bits);
+        for (long l : packed) {
+            dos.writeLong(l);
+        }
+    }
+
+    private static Map<Vector, BlueprintBlock> readBlockLayer(DataInputStream dis, String[] palette) throws IOException {
+        byte mode = dis.readByte();
+        if (mode == MODE_EMPTY) {
+            return new LinkedHashMap<>();
+        }
+        if (mode == MODE_SPARSE) {
+            return readSparseEntries(dis, palette);
+        }
+        if (mode != MODE_DENSE) {
+            throw new IOException("Unknown block layer encoding " + mode);
+        }
+        int minX = dis.readInt();
+        int minY = dis.readInt();
+        int minZ = dis.readInt();
+        int sizeX = dis.readInt();
+        int sizeY = dis.readInt();
+        int sizeZ = dis.readInt();
+        int bits = dis.readByte();
+        if (bits < 1 || bits > 32) {
+            throw new IOException("Corrupted blueprint block layer");
+        }
+        int perLong = 64 / bits;
+        long mask = (1L << bits) - 1;
+        long volume = (long)sizeX * sizeY * sizeZ;
+        long[] packed = new long[(int)((volume + perLong - 1) / perLong)];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = dis.readLong();
+        }
+        Map<Vector, BlueprintBlock> blocks = new LinkedHashMap<>();
+        int index = 0;
+        for (int y = 0; y < sizeY; y++) {
+            for (int z = 0; z < sizeZ; z++) {
+                for (int x = 0; x < sizeX; x++) {
+                    int value = (int)((packed[index / perLong] >>> ((index % perLong) * bits)) & mask);
+                    index++;
+                    if (value == 0) {
+                        continue;
+                    }
+                    if (value >= palette.length) {
+                        throw new IOException("Corrupted blueprint palette index " + value);
+                    }
+                    blocks.put(new Vector(minX + x, minY + y, minZ + z), new BlueprintBlock(palette[value]));
+                }
+            }
+        }
+        return blocks;
+    }
+
+    private static void writeSparseLayer(DataOutputStream dos, Map<Vector, BlueprintBlock> blocks, Map<String, Integer> palette) throws IOException {
+        if (blocks.isEmpty()) {
+            dos.writeByte(MODE_EMPTY);
+            return;
+        }
+        dos.writeByte(MODE_SPARSE);
+        writeSparseEntries(dos, blocks, palette);
+    }
+
+    private static Map<Vector, BlueprintBlock> readSparseLayer(DataInputStream dis, String[] palette) throws IOException {
+        byte mode = dis.readByte();
+        if (mode == MODE_EMPTY) {
+            return new LinkedHashMap<>();
+        }
+        if (mode != MODE_SPARSE) {
+            throw new IOException("Unknown attached layer encoding " + mode);
+        }
+        return readSparseEntries(dis, palette);
+    }
+
+    private static void writeSparseEntries(DataOutputStream dos, Map<Vector, BlueprintBlock> blocks, Map<String, Integer> palette) throws IOException {
+        dos.writeInt(blocks.size());
+        for (Entry<Vector, BlueprintBlock> en : blocks.entrySet()) {
+            writeVector(dos, en.getKey());
+            dos.writeInt(palette.get(en.getValue().getBlockData()));
+        }
+    }
+
+    private static Map<Vector, BlueprintBlock> readSparseEntries(DataInputStream dis, String[] palette) throws IOException {
+        int count = dis.readInt();
+        Map<Vector, BlueprintBlock> blocks = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            Vector v = readVector(dis);
+            int value = dis.readInt();
+            if (value < 1 || value >= palette.length) {
+                throw new IOException("Corrupted blueprint palette index " + value);
+            }
+            blocks.put(v, new BlueprintBlock(palette[value]));
+        }
+        return blocks;
+    }
+
+    /**
+     * @param paletteSize - number of palette entries, not counting the reserved 0 entry
+     * @return number of bits required to store any index between 0 and paletteSize inclusive
+     */
+    private static int bitsPerEntry(int paletteSize) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(paletteSize));
+    }
+
+    private static void writeSigns(DataOutputStream dos, Map<Vector, BlueprintBlock> blocks, Map<Vector, BlueprintBlock> attached) throws IOException {
+        List<SideEntry> signs = collect(blocks, attached, b -> b.getSignLines() != null);
+        dos.writeInt(signs.size());
+        for (SideEntry s : signs) {
+            writeKey(dos, s);
+            List<String> lines = s.block.getSignLines();
+            dos.writeByte(lines.size());
+            for (String line : lines) {
+                writeString(dos, line);
+            }
+        }
+    }
+
+    private static void readSigns(DataInputStream dis, Map<Vector, BlueprintBlock> blocks, Map<Vector, BlueprintBlock> attached) throws IOException {
+        int count = dis.readInt();
+        for (int i = 0; i < count; i++) {
+            BlueprintBlock b = readKey(dis, blocks, attached);
+            int size = dis.readUnsignedByte();
+            List<String> lines = new ArrayList<>(size);
+            for (int j = 0; j < size; j++) {
+                lines.add(readString(dis));
+            }
+            b.setSignLines(lines);
+        }
+    }
+
+    private static void writeInventories(DataOutputStream dos, Map<Vector, BlueprintBlock> blocks, Map<Vector, BlueprintBlock> attached) throws IOException {
+        List<SideEntry> inventories = collect(blocks, attached, b -> !b.getInventory().isEmpty());
+        dos.writeInt(inventories.size());
+        for (SideEntry s : inventories) {
+            writeKey(dos, s);
+            writeInventory(dos, s.block.getInventory());
+        }
+    }
+
+    private static void readInventories(DataInputStream dis, Map<Vector, BlueprintBlock> blocks, Map<Vector, BlueprintBlock> attached) throws IOException {
+        int count = dis.readInt();
+        for (int i = 0; i < count; i++) {
+            BlueprintBlock b = readKey(dis, blocks, attached);
+            b.setInventory(readInventory(dis));
+        }
+    }
+
+    private static void writeSpawners(DataOutputStream dos, Map<Vector, BlueprintBlock> blocks, Map<Vector, BlueprintBlock> attached) throws IOException {
+        List<SideEntry> spawners = collect(blocks, attached, b -> b.getCreatureSpawner() != null);
+        dos.writeInt(spawners.size());
+        for (SideEntry s : spawners) {
+            writeKey(dos, s);
+            BlueprintCreatureSpawner cs = s.block.getCreatureSpawner();
+            writeString(dos, cs.getSpawnedType() == null ? null : cs.getSpawnedType().name());
+            dos.writeInt(cs.getDelay());
+            dos.writeInt(cs.getMaxNearbyEntities());
+            dos.writeInt(cs.getMaxSpawnDelay());
+            dos.writeInt(cs.getMinSpawnDelay());
+            dos.writeInt(cs.getRequiredPlayerRange());
+            dos.writeInt(cs.getSpawnRange());
+        }
+    }
+
+    private static void readSpawners(DataInputStream dis, Map<Vector, BlueprintBlock> blocks, Map<Vector, BlueprintBlock> attached) throws IOException {
+        int count = dis.readInt();
+        for (int i = 0; i < count; i++) {
+            BlueprintBlock b = readKey(dis, blocks, attached);
+            BlueprintCreatureSpawner cs = new BlueprintCreatureSpawner();
+            cs.setSpawnedType(readEnum(EntityType.class, readString(dis)));
+            cs.setDelay(dis.readInt());
+            cs.setMaxNearbyEntities(dis.readInt());
+            cs.setMaxSpawnDelay(dis.readInt());
+            cs.setMinSpawnDelay(dis.readInt());
+            cs.setRequiredPlayerRange(dis.readInt());
+            cs.setSpawnRange(dis.readInt());
+            b.setCreatureSpawner(cs);
+        }
+    }
+
+    private static void writeEntities(DataOutputStream dos, Map<Vector, List<BlueprintEntity>> entities) throws IOException {
+        dos.writeInt(entities.size());
+        for (Entry<Vector, List<BlueprintEntity>> en : entities.entrySet()) {
+            writeVector(dos, en.getKey());
+            dos.writeInt(en.getValue().size());
+            for (BlueprintEntity e : en.getValue()) {
+                int flags = (e.getColor() != null ? E_COLOR : 0)
+                        | (e.getType() != null ? E_TYPE : 0)
+                        | (e.getCustomName() != null ? E_NAME : 0)
+                        | (e.getTamed() != null ? E_TAMED : 0)
+                        | (e.getChest() != null ? E_CHEST : 0)
+                        | (e.getAdult() != null ? E_ADULT : 0)
+                        | (e.getDomestication() != null ? E_DOMESTICATION : 0)
+                        | (e.getInventory() != null ? E_INVENTORY : 0)
+                        | (e.getStyle() != null ? E_STYLE : 0);
+                dos.writeShort(flags);
+                if (e.getColor() != null) dos.writeUTF(e.getColor().name());
+                if (e.getType() != null) dos.writeUTF(e.getType().name());
+                if (e.getCustomName() != null) dos.writeUTF(e.getCustomName());
+                if (e.getTamed() != null) dos.writeBoolean(e.getTamed());
+                if (e.getChest() != null) dos.writeBoolean(e.getChest());
+                if (e.getAdult() != null) dos.writeBoolean(e.getAdult());
+                if (e.getDomestication() != null) dos.writeInt(e.getDomestication());
+                if (e.getInventory() != null) writeInventory(dos, e.getInventory());
+                if (e.getStyle() != null) dos.writeUTF(e.getStyle().name());
+            }
+        }
+    }
+
+    private static Map<Vector, List<BlueprintEntity>> readEntities(DataInputStream dis) throws IOException {
+        int count = dis.readInt();
+        Map<Vector, List<BlueprintEntity>> entities = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            Vector v = readVector(dis);
+            int size = dis.readInt();
+            List<BlueprintEntity> list = new ArrayList<>(size);
+            for (int j = 0; j < size; j++) {
+                int flags = dis.readUnsignedShort();
+                BlueprintEntity e = new BlueprintEntity();
+                if ((flags & E_COLOR) != 0) e.setColor(readEnum(DyeColor.class, dis.readUTF()));
+                if ((flags & E_TYPE) != 0) e.setType(readEnum(EntityType.class, dis.readUTF()));
+                if ((flags & E_NAME) != 0) e.setCustomName(dis.readUTF());
+                if ((flags & E_TAMED) != 0) e.setTamed(dis.readBoolean());
+                if ((flags & E_CHEST) != 0) e.setChest(dis.readBoolean());
+                if ((flags & E_ADULT) != 0) e.setAdult(dis.readBoolean());
+                if ((flags & E_DOMESTICATION) != 0) e.setDomestication(dis.readInt());
+                if ((flags & E_INVENTORY) != 0) e.setInventory(readInventory(dis));
+                if ((flags & E_STYLE) != 0) e.setStyle(readEnum(Style.class, dis.readUTF()));
+                list.add(e);
+            }
+            entities.put(v, list);
+        }
+        return entities;
+    }
+
+    /**
+     * Items are stored with Bukkit's object stream so that they stay compatible across server versions,
+     * without the overhead of embedding YAML documents.
+     */
+    private static void writeInventory(DataOutputStream dos, Map<Integer, ItemStack> inventory) throws IOException {
+        dos.writeInt(inventory.size());
+        for (Entry<Integer, ItemStack> en : inventory.entrySet()) {
+            dos.writeInt(en.getKey());
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (BukkitObjectOutputStream oos = new BukkitObjectOutputStream(bytes)) {
+                oos.writeObject(en.getValue());
+            }
+            dos.writeInt(bytes.size());
+            bytes.writeTo(dos);
+        }
+    }
+
+    private static Map<Integer, ItemStack> readInventory(DataInputStream dis) throws IOException {
+        int size = dis.readInt();
+        Map<Integer, ItemStack> inventory = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            int slot = dis.readInt();
+            byte[] bytes = new byte[dis.readInt()];
+            dis.readFully(bytes);
+            try (BukkitObjectInputStream ois = new BukkitObjectInputStream(new ByteArrayInputStream(bytes))) {
+                inventory.put(slot, (ItemStack)ois.readObject());
+            } catch (ClassNotFoundException | ClassCastException e) {
+                throw new IOException("Could not read blueprint item: " + e.getMessage());
+            }
+        }
+        return inventory;
+    }
+
+    /**
+     * A block of either layer that has an entry in a side table
+     */
+    private static class SideEntry {
+        private final byte layer;
+        private final Vector pos;
+        private final BlueprintBlock block;
+
+        private SideEntry(byte layer, Vector pos, BlueprintBlock block) {
+            this.layer = layer;
+            this.pos = pos;
+            this.block = block;
+        }
+    }
+
+    /**
+     * Collects the blocks of both layers that match the filter
+     */
+    private static List<SideEntry> collect(Map<Vector, BlueprintBlock> blocks, Map<Vector, BlueprintBlock> attached, Predicate<BlueprintBlock> filter) {
+        List<SideEntry> result = new ArrayList<>();
+        blocks.forEach((v, b) -> {
+            if (filter.test(b)) result.add(new SideEntry(LAYER_BLOCKS, v, b));
+        });
+        attached.forEach((v, b) -> {
+            if (filter.test(b)) result.add(new SideEntry(LAYER_ATTACHED, v, b));
+        });
+        return result;
+    }
+
+    private static void writeKey(DataOutputStream dos, SideEntry entry) throws IOException {
+        dos.writeByte(entry.layer);
+        writeVector(dos, entry.pos);
+    }
+
+    private static BlueprintBlock readKey(DataInputStream dis, Map<Vector, BlueprintBlock> blocks, Map<Vector, BlueprintBlock> attached) throws IOException {
+        byte layer = dis.readByte();
+        Vector v = readVector(dis);
+        BlueprintBlock b = (layer == LAYER_ATTACHED ? attached : blocks).get(v);
+        if (b == null) {
+            throw new IOException("Corrupted blueprint side table at " + v);
+        }
+        return b;
+    }
+
+    private static void writeVector(DataOutputStream dos, Vector v) throws IOException {
+        dos.writeInt(v.getBlockX());
+        dos.writeInt(v.getBlockY());
+        dos.writeInt(v.getBlockZ());
+    }
+
+    private static Vector readVector(DataInputStream dis) throws IOException {
+        return new Vector(dis.readInt(), dis.readInt(), dis.readInt());
+    }
+
+    private static void writeString(DataOutputStream dos, @Nullable String s) throws IOException {
+        dos.writeBoolean(s != null);
+        if (s != null) {
+            dos.writeUTF(s);
+        }
+    }
+
+    @Nullable
+    private static String readString(DataInputStream dis) throws IOException {
+        return dis.readBoolean() ? dis.readUTF() : null;
+    }
+
+    /**
+     * Enums are stored by name so that reordering between server versions does not break blueprints.
+     * Unknown names are read as null.
+     */
+    @Nullable
+    private static <T extends Enum<T>> T readEnum(Class<T> clazz, @Nullable String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(clazz, name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package world.bentobox.bentobox.blueprints;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+import org.eclipse.jdt.annotation.NonNull;
+
+import world.bentobox.bentobox.BentoBox;
+
+/**
+ * Runs all blueprint pastes from a single task, within a time budget per tick.
+ * <p>
+ * A limited number of pastes are worked on at the same time, taking turns in small batches so that none of them
+ * starves. The other pastes wait in a first-in, first-out queue. This keeps the total time spent pasting per tick
+ * the same however many pastes are requested at once, e.g. when many players create islands right after a restart.
+ * @author tastybento
+ * @since 1.6.0
+ */
+public class BlueprintPasteScheduler {
+
+    /**
+     * Maximum number of pastes being worked on at the same time
+     */
+    private static final int MAX_ACTIVE = 4;
+    /**
+     * Number of blocks pasted between two checks of the clock
+     */
+    private static final int BATCH_SIZE = 64;
+
+    private final @NonNull BentoBox plugin;
+    private final List<BlueprintPaster> active = new ArrayList<>();
+    private final LinkedList<BlueprintPaster> queue = new LinkedList<>();
+    private BukkitTask task;
+    // Index of the active paste to work on next
+    private int next;
+
+    public BlueprintPasteScheduler(@NonNull BentoBox plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Queues a paste. Pasting starts at the earliest on the next tick.
+     * @param paster - paste to run
+     */
+    public void submit(@NonNull BlueprintPaster paster) {
+        queue.add(paster);
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    /**
+     * Works on the pastes until the tick's time budget is used up
+     */
+    void tick() {
+        long deadline = System.nanoTime() + Math.max(1, plugin.getSettings().getPasteTimeBudget()) * 1_000_000L;
+        promote();
+        if (active.isEmpty()) {
+            task.cancel();
+            task = null;
+            next = 0;
+            return;
+        }
+        while (!active.isEmpty() && System.nanoTime() < deadline) {
+            if (next >= active.size()) {
+                next = 0;
+            }
+            BlueprintPaster paster = active.get(next);
+            boolean finished;
+            try {
+                finished = paster.paste(BATCH_SIZE);
+            } catch (Exception e) {
+                // Do not let one broken paste stop all the others
+                plugin.logError("Error while pasting blueprint: " + e.getMessage());
+                plugin.logStacktrace(e);
+                active.remove(next);
+                paster.fail(e);
+                promote();
+                continue;
+            }
+            if (finished) {
+                active.remove(next);
+                paster.complete();
+                promote();
+            } else {
+                next++;
+            }
+        }
+        active.forEach(BlueprintPaster::reportProgress);
+    }
+
+    /**
+     * Moves pastes from the queue to the active list
+     */
+    private void promote() {
+        while (active.size() < MAX_ACTIVE && !queue.isEmpty()) {
+            active.add(queue.poll());
+        }
+    }
+
+    /**
+     * Gets the position of a paste in the queue
+     * @param paster - paste
+     * @return 0 if the paste is being worked on or is unknown, otherwise its position in the queue starting at 1
+     */
+    public int getQueuePosition(@NonNull BlueprintPaster paster) {
+        int position = 1;
+        Iterator<BlueprintPaster> it = queue.iterator();
+        while (it.hasNext()) {
+            if (it.next() == paster) {
+                return position;
+            }
+            position++;
+        }
+        return 0;
+    }
+
+    /**
+     * @return number of pastes being worked on
+     */
+    public int getActiveCount() {
+        return active.size();
+    }
+
+    /**
+     * @return number of pastes waiting to start
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+}
@@ -1,10 +1,9 @@
 package world.bentobox.bentobox.blueprints;
 
-import java.util.HashMap;
-import java.util.Iterator;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.DoubleConsumer;
 
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -15,7 +14,6 @@ import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
 import org.bukkit.block.BlockState;
 import org.bukkit.block.CreatureSpawner;
-import org.bukkit.block.data.BlockData;
 import org.bukkit.block.data.type.Sign;
 import org.bukkit.block.data.type.WallSign;
 import org.bukkit.entity.AbstractHorse;
@@ -27,13 +25,10 @@ import org.bukkit.entity.Tameable;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.material.Colorable;
-import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.Vector;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 
-import com.google.common.collect.ImmutableMap;
-
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.localization.TextVariables;
 import world.bentobox.bentobox.api.user.User;
@@ -44,7 +39,11 @@ import world.bentobox.bentobox.database.objects.Island;
 import world.bentobox.bentobox.util.Util;
 
 /**
- * This class pastes the clipboard it is given
+ * This class pastes the clipboard it is given.
+ * <p>
+ * Pasting is not done by this class' own task: pastes are submitted to the {@link BlueprintPasteScheduler},
+ * which runs them within a per-tick time budget. Blocks are pasted chunk by chunk, and bottom up within a chunk,
+ * so each chunk is loaded and written in one go.
  * @author tastybento
  *
  */
@@ -54,24 +53,36 @@ public class BlueprintPaster {
         BLOCKS,
         ATTACHMENTS,
         ENTITIES,
-        DONE,
-        CANCEL
+        DONE
     }
 
-    private static final String MINECRAFT = "minecraft:";
-
-    private static final Map<String, String> BLOCK_CONVERSION = ImmutableMap.of("sign", "oak_sign", "wall_sign", "oak_wall_sign");
-
     private BentoBox plugin;
     // The minimum block position (x,y,z)
     private Location pos1;
     // The maximum block position (x,y,z)
     private Location pos2;
-    // Speed of pasting
-    private int pasteSpeed;
     private PasteState pasteState;
-    private BukkitTask pastingTask;
     private BlueprintClipboard clipboard;
+    private World world;
+    private @Nullable Island island;
+    private PreparedBlueprint blueprint;
+    private @Nullable Runnable task;
+    // Paste location
+    private int x;
+    private int y;
+    private int z;
+    // Block and attachment indexes in chunk order
+    private int[] blockOrder;
+    private int[] attachedOrder;
+    // Index of the next block, attachment or entity to paste
+    private int index;
+    private int done;
+    // Chunk that was last made sure to be loaded
+    private int lastChunkX;
+    private int lastChunkZ;
+    private boolean chunkChecked;
+    private final List<DoubleConsumer> progressListeners = new ArrayList<>();
+    private final CompletableFuture<BlueprintPaster> completion = new CompletableFuture<>();
 
     /**
      * Paste a clipboard to a location and run task
@@ -83,8 +94,8 @@ public class BlueprintPaster {
     public BlueprintPaster(@NonNull BentoBox plugin, @NonNull BlueprintClipboard clipboard, @NonNull Location location, @Nullable Runnable task) {
         this.plugin = plugin;
         this.clipboard = clipboard;
-        // Calculate location for pasting
-        paste(location.getWorld(), null, location, clipboard.getBlueprint(), task);
+        // The clipboard can change at any time, so it is prepared for this paste only
+        paste(location.getWorld(), null, location, new PreparedBlueprint(plugin, clipboard.getBlueprint()), task);
     }
 
     /**
@@ -102,115 +113,233 @@ public class BlueprintPaster {
         // Calculate location for pasting
         Location loc = island.getCenter().toVector().subtract(off).toLocation(world);
         // Paste
-        paste(world, island, loc, bp, task);
+        paste(world, island, loc, plugin.getBlueprintsManager().getPreparedBlueprint(bp), task);
     }
 
     /**
-     * The main pasting method
+     * Sets up the paste and submits it to the paste scheduler
      * @param world - world to paste to
      * @param island - the island related to this pasting - may be null
      * @param loc - the location to paste to
-     * @param blueprint - the blueprint to paste
+     * @param blueprint - the prepared blueprint to paste
      * @param task - task to run after pasting
      */
-    private void paste(@NonNull World world, @Nullable Island island, @NonNull Location loc, @NonNull Blueprint blueprint, @Nullable Runnable task) {
-        // Iterators for the various maps to paste
-        Map<Vector, BlueprintBlock> blocks = blueprint.getBlocks() == null ? new HashMap<>() : blueprint.getBlocks();
-        Map<Vector, BlueprintBlock> attached = blueprint.getAttached() == null ? new HashMap<>() : blueprint.getAttached();
-        Map<Vector, List<BlueprintEntity>> entities = blueprint.getEntities() == null ? new HashMap<>() : blueprint.getEntities();
-        Iterator<Entry<Vector, BlueprintBlock>> it = blocks.entrySet().iterator();
-        Iterator<Entry<Vector, BlueprintBlock>> it2 = attached.entrySet().iterator();
-        Iterator<Entry<Vector, List<BlueprintEntity>>> it3 = entities.entrySet().iterator();
-
-        // Initial state & speed
+    private void paste(@NonNull World world, @Nullable Island island, @NonNull Location loc, @NonNull PreparedBlueprint blueprint, @Nullable Runnable task) {
+        this.world = world;
+        this.island = island;
+        this.blueprint = blueprint;
+        this.task = task;
+        this.x = loc.getBlockX();
+        this.y = loc.getBlockY();
+        this.z = loc.getBlockZ();
+        blockOrder = chunkOrder(blueprint.getBlocks());
+        attachedOrder = chunkOrder(blueprint.getAttached());
         pasteState = PasteState.BLOCKS;
-        pasteSpeed = plugin.getSettings().getPasteSpeed();
+        index = 0;
+        plugin.getBlueprintsManager().getPasteScheduler().submit(this);
+    }
 
-        pastingTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-            int count = 0;
-            while (pasteState.equals(PasteState.BLOCKS) && count < pasteSpeed && it.hasNext()) {
-                pasteBlock(world, island, loc, it.next());
-                count++;
-            }
-            while (it2 != null && pasteState.equals(PasteState.ATTACHMENTS) && count < pasteSpeed && it2.hasNext()) {
-                pasteBlock(world, island, loc, it2.next());
-                count++;
-            }
-            while (it3 != null && pasteState.equals(PasteState.ENTITIES) && count < pasteSpeed && it3.hasNext()) {
-                pasteEntity(world, loc, it3.next());
-                count++;
-            }
-            // STATE SHIFT
-            if (pasteState.equals(PasteState.BLOCKS) && !it.hasNext()) {
-                // Blocks done.
-                if (it2 == null && it3 == null) {
-                    // No attachments or entities
-                    pasteState = PasteState.DONE;
-                } else {
-                    // Next paste attachments, otherwise skip to entities
-                    pasteState = it2 != null ? PasteState.ATTACHMENTS : PasteState.ENTITIES;
-                }
-            }
-            if (pasteState.equals(PasteState.ATTACHMENTS) && !it2.hasNext()) {
-                // Attachments done. Next paste entities, otherwise done
-                pasteState = it3 != null ? PasteState.ENTITIES : PasteState.DONE;
-            }
-            if (pasteState.equals(PasteState.ENTITIES) && !it3.hasNext()) {
-                pasteState = PasteState.DONE;
-            }
-            if (pasteState.equals(PasteState.DONE)) {
-                // All done. Cancel task
-                // Set pos1 and 2 if this was a clipboard paste
-                if (island == null && clipboard != null &&(clipboard.getPos1() == null || clipboard.getPos2() == null)) {
-                    clipboard.setPos1(pos1);
-                    clipboard.setPos2(pos2);
-                }
-                if (task != null) {
-                    // Run follow-on task if it exists
-                    Bukkit.getScheduler().runTask(plugin, task);
-                }
-                pasteState = PasteState.CANCEL;
-            } else if (pasteState.equals(PasteState.CANCEL)) {
-                // This state makes sure the follow-on task only ever runs once
-                pastingTask.cancel();
-            }
-        }, 0L, 1L);
+    /**
+     * Sorts the layer's blocks by the chunk they will be pasted in. This is a counting sort so it is stable:
+     * within a chunk, blocks keep their bottom-up order, so chunk sections are written one after the other.
+     * @param layer - layer
+     * @return indexes of the layer's blocks in paste order
+     */
+    private int[] chunkOrder(PreparedBlueprint.Layer layer) {
+        int size = layer.size();
+        int[] order = new int[size];
+        if (size == 0) {
+            return order;
+        }
+        int minCx = Integer.MAX_VALUE;
+        int minCz = Integer.MAX_VALUE;
+        int maxCx = Integer.MIN_VALUE;
+        int maxCz = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            int cx = (x + layer.getX(i)) >> 4;
+            int cz = (z + layer.getZ(i)) >> 4;
+            minCx = Math.min(minCx, cx);
+            minCz = Math.min(minCz, cz);
+            maxCx = Math.max(maxCx, cx);
+            maxCz = Math.max(maxCz, cz);
+        }
+        int width = maxCz - minCz + 1;
+        int[] chunk = new int[size];
+        int[] start = new int[(maxCx - minCx + 1) * width + 1];
+        for (int i = 0; i < size; i++) {
+            chunk[i] = (((x + layer.getX(i)) >> 4) - minCx) * width + (((z + layer.getZ(i)) >> 4) - minCz);
+            start[chunk[i] + 1]++;
+        }
+        for (int c = 1; c < start.length; c++) {
+            start[c] += start[c - 1];
+        }
+        for (int i = 0; i < size; i++) {
+            order[start[chunk[i]]++] = i;
+        }
+        return order;
+    }
 
+    /**
+     * Pastes up to count blocks, attachments or entities. Called by the {@link BlueprintPasteScheduler}.
+     * @param count - maximum number of operations
+     * @return true if the paste is complete
+     */
+    boolean paste(int count) {
+        PreparedBlueprint.Layer blocks = blueprint.getBlocks();
+        PreparedBlueprint.Layer attached = blueprint.getAttached();
+        while (pasteState.equals(PasteState.BLOCKS) && count > 0 && index < blockOrder.length) {
+            pasteBlock(blocks, blockOrder[index++]);
+            count--;
+        }
+        // STATE SHIFT
+        if (pasteState.equals(PasteState.BLOCKS) && index >= blockOrder.length) {
+            // Blocks done. Next paste attachments
+            pasteState = PasteState.ATTACHMENTS;
+            index = 0;
+        }
+        while (pasteState.equals(PasteState.ATTACHMENTS) && count > 0 && index < attachedOrder.length) {
+            pasteBlock(attached, attachedOrder[index++]);
+            count--;
+        }
+        if (pasteState.equals(PasteState.ATTACHMENTS) && index >= attachedOrder.length) {
+            // Attachments done. Next paste entities
+            pasteState = PasteState.ENTITIES;
+            index = 0;
+        }
+        while (pasteState.equals(PasteState.ENTITIES) && count > 0 && index < blueprint.getEntityCount()) {
+            int ex = x + blueprint.getEntityX(index);
+            int ez = z + blueprint.getEntityZ(index);
+            loadChunk(ex >> 4, ez >> 4);
+            setEntity(new Location(world, ex, y + blueprint.getEntityY(index), ez), blueprint.getEntities(index));
+            index++;
+            done++;
+            count--;
+        }
+        if (pasteState.equals(PasteState.ENTITIES) && index >= blueprint.getEntityCount()) {
+            pasteState = PasteState.DONE;
+        }
+        return pasteState.equals(PasteState.DONE);
     }
 
-    private void pasteBlock(World world, Island island, Location location, Entry<Vector, BlueprintBlock> entry) {
-        Location pasteTo = location.clone().add(entry.getKey());
-        BlueprintBlock bpBlock = entry.getValue();
-        Block block = pasteTo.getBlock();
-        // Set the block data - default is AIR
-        BlockData bd = Bukkit.createBlockData(Material.AIR);
+    /**
+     * Finishes the paste. Called once by the {@link BlueprintPasteScheduler} when {@link #paste(int)} returns true.
+     */
+    void complete() {
         try {
-            bd = Bukkit.createBlockData(bpBlock.getBlockData());
-        } catch (Exception e) {
-            // This may happen if the block type is no longer supported by the server
-            plugin.logWarning("Blueprint references materials not supported on this server version.");
-            plugin.logWarning("Load blueprint manually, check and save to fix for this server version.");
-            plugin.logWarning("World: " + world.getName() + " Failed block data: " + bpBlock.getBlockData());
-            // Try to fix
-            for (Entry<String, String> en : BLOCK_CONVERSION.entrySet()) {
-                if (bpBlock.getBlockData().startsWith(MINECRAFT + en.getKey())) {
-                    bd = Bukkit.createBlockData(
-                            bpBlock.getBlockData().replace(MINECRAFT + en.getKey(), MINECRAFT + en.getValue()));
-                    break;
-                }
+            // Set pos1 and 2 if this was a clipboard paste
+            if (island == null && clipboard != null && (clipboard.getPos1() == null || clipboard.getPos2() == null)) {
+                setPos(world, blueprint);
+                clipboard.setPos1(pos1);
+                clipboard.setPos2(pos2);
             }
+            if (task != null) {
+                // Run follow-on task if it exists
+                Bukkit.getScheduler().runTask(plugin, task);
+            }
+            progressListeners.forEach(l -> l.accept(1D));
+        } finally {
+            // Whatever happens, anything waiting for this paste must not wait forever
+            completion.complete(this);
         }
-        block.setBlockData(bd, false);
-        setBlockState(island, block, bpBlock);
-        // pos1 and pos2 update
-        updatePos(world, entry.getKey());
     }
 
-    private void pasteEntity(World world, Location location, Entry<Vector, List<BlueprintEntity>> entry) {
-        int x = location.getBlockX() + entry.getKey().getBlockX();
-        int y = location.getBlockY() + entry.getKey().getBlockY();
-        int z = location.getBlockZ() + entry.getKey().getBlockZ();
-        setEntity(new Location(world, x, y, z), entry.getValue());
+    /**
+     * Ends a paste that failed. The follow-on task is not run and the future is completed exceptionally.
+     * Called once by the {@link BlueprintPasteScheduler} when {@link #paste(int)} throws.
+     * @param e - cause
+     */
+    void fail(@NonNull Exception e) {
+        completion.completeExceptionally(e);
+    }
+
+    /**
+     * Tells the progress listeners how far this paste is. Called by the {@link BlueprintPasteScheduler}.
+     */
+    void reportProgress() {
+        if (!progressListeners.isEmpty()) {
+            double progress = getProgress();
+            progressListeners.forEach(l -> l.accept(progress));
+        }
+    }
+
+    private void pasteBlock(PreparedBlueprint.Layer layer, int i) {
+        int bx = x + layer.getX(i);
+        int bz = z + layer.getZ(i);
+        loadChunk(bx >> 4, bz >> 4);
+        Block block = world.getBlockAt(bx, y + layer.getY(i), bz);
+        block.setBlockData(blueprint.getBlockData(layer.getData(i)), false);
+        BlueprintBlock bpBlock = layer.getState(i);
+        if (bpBlock != null) {
+            setBlockState(island, block, bpBlock);
+        }
+        done++;
+    }
+
+    /**
+     * Makes sure the chunk is loaded. Only checks the world when the chunk changes.
+     * @param cx - chunk x
+     * @param cz - chunk z
+     */
+    private void loadChunk(int cx, int cz) {
+        if (chunkChecked && cx == lastChunkX && cz == lastChunkZ) {
+            return;
+        }
+        if (!world.isChunkLoaded(cx, cz)) {
+            world.loadChunk(cx, cz);
+        }
+        lastChunkX = cx;
+        lastChunkZ = cz;
+        chunkChecked = true;
+    }
+
+    /**
+     * @return progress of this paste between 0 and 1
+     */
+    public double getProgress() {
+        int size = blueprint.size();
+        return size == 0 || pasteState.equals(PasteState.DONE) ? 1D : (double)done / size;
+    }
+
+    /**
+     * @return true if this paste is complete
+     */
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    /**
+     * Gets the position of this paste in the paste queue.
+     * @return 0 if this paste is in progress or done, otherwise the number of pastes that will start before it, plus one
+     */
+    public int getQueuePosition() {
+        return plugin.getBlueprintsManager().getPasteScheduler().getQueuePosition(this);
+    }
+
+    /**
+     * Adds a listener that is told the progress of this paste, between 0 and 1, after each tick it is worked on.
+     * Listeners are called on the main thread.
+     * @param listener - progress listener
+     * @return this paster
+     */
+    public BlueprintPaster onProgress(@NonNull DoubleConsumer listener) {
+        progressListeners.add(listener);
+        return this;
+    }
+
+    /**
+     * @return a future that is completed on the main thread when the paste is complete, or exceptionally if the paste failed
+     */
+    @NonNull
+    public CompletableFuture<BlueprintPaster> getCompletion() {
+        return completion;
+    }
+
+    /**
+     * @return the island this paste is for, or null if this is a clipboard paste
+     */
+    @Nullable
+    public Island getIsland() {
+        return island;
     }
 
     /**
@@ -223,7 +352,7 @@ public class BlueprintPaster {
         // Get the block state
         BlockState bs = block.getState();
         // Signs
-        if (bs instanceof org.bukkit.block.Sign) {
+        if (bs instanceof org.bukkit.block.Sign && bpBlock.getSignLines() != null) {
             writeSign(island, block, bpBlock.getSignLines());
         }
         // Chests, in general
@@ -234,7 +363,7 @@ public class BlueprintPaster {
             bpBlock.getInventory().forEach(ih::setItem);
         }
         // Mob spawners
-        if (bs instanceof CreatureSpawner) {
+        if (bs instanceof CreatureSpawner && bpBlock.getCreatureSpawner() != null) {
             CreatureSpawner spawner = ((CreatureSpawner) bs);
             BlueprintCreatureSpawner s = bpBlock.getCreatureSpawner();
             spawner.setSpawnedType(s.getSpawnedType());
@@ -292,34 +421,14 @@ public class BlueprintPaster {
     }
 
     /**
-     * Tracks the minimum and maximum block positions
+     * Sets the minimum and maximum block positions
      * @param world - world
-     * @param v - vector
+     * @param blueprint - prepared blueprint
      */
-    private void updatePos(World world, Vector v) {
-        if (pos1 == null) {
-            pos1 = v.toLocation(world);
-        }
-        if (pos2 == null) {
-            pos2 = v.toLocation(world);
-        }
-        if (v.getBlockX() < pos1.getBlockX()) {
-            pos1.setX(v.getBlockX());
-        }
-        if (v.getBlockX() > pos2.getBlockX()) {
-            pos2.setX(v.getBlockX());
-        }
-        if (v.getBlockY() < pos1.getBlockY()) {
-            pos1.setY(v.getBlockY());
-        }
-        if (v.getBlockY() > pos2.getBlockY()) {
-            pos2.setY(v.getBlockY());
-        }
-        if (v.getBlockZ() < pos1.getBlockZ()) {
-            pos1.setZ(v.getBlockZ());
-        }
-        if (v.getBlockZ() > pos2.getBlockZ()) {
-            pos2.setZ(v.getBlockZ());
+    private void setPos(World world, PreparedBlueprint blueprint) {
+        if (blueprint.getMin() != null) {
+            pos1 = blueprint.getMin().toLocation(world);
+            pos2 = blueprint.getMax().toLocation(world);
         }
     }
 
@@ -0,0 +1,285 @@
+package world.bentobox.bentobox.blueprints;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.util.Vector;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.common.collect.ImmutableMap;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.blueprints.dataobjects.BlueprintBlock;
+import world.bentobox.bentobox.blueprints.dataobjects.BlueprintEntity;
+
+/**
+ * Paste-ready form of a {@link Blueprint}.
+ * <p>
+ * Block data strings are parsed into a {@link BlockData} palette only once, including the conversion of legacy
+ * block names, and block offsets are held in primitive arrays sorted in paste order (bottom up).
+ * Only blocks that carry signs, inventories or spawner settings keep a reference to their {@link BlueprintBlock}.
+ * Instances are immutable and shared by all pastes of the same blueprint.
+ * @author tastybento
+ * @since 1.6.0
+ */
+public class PreparedBlueprint {
+
+    private static final String MINECRAFT = "minecraft:";
+
+    private static final Map<String, String> BLOCK_CONVERSION = ImmutableMap.of("sign", "oak_sign", "wall_sign", "oak_wall_sign");
+
+    /**
+     * A list of blocks to paste, in paste order
+     */
+    static class Layer {
+        private final int[] x;
+        private final int[] y;
+        private final int[] z;
+        private final int[] data;
+        private final BlueprintBlock[] states;
+
+        private Layer(int size) {
+            x = new int[size];
+            y = new int[size];
+            z = new int[size];
+            data = new int[size];
+            states = new BlueprintBlock[size];
+        }
+
+        int size() {
+            return x.length;
+        }
+
+        int getX(int i) {
+            return x[i];
+        }
+
+        int getY(int i) {
+            return y[i];
+        }
+
+        int getZ(int i) {
+            return z[i];
+        }
+
+        /**
+         * @return index of this block's data in the palette
+         */
+        int getData(int i) {
+            return data[i];
+        }
+
+        /**
+         * @return the blueprint block if it has block state to set (signs, inventories, spawners), otherwise null
+         */
+        @Nullable
+        BlueprintBlock getState(int i) {
+            return states[i];
+        }
+    }
+
+    private final @NonNull Blueprint blueprint;
+    private final BlockData[] palette;
+    private final Layer blocks;
+    private final Layer attached;
+    private final int[] entityX;
+    private final int[] entityY;
+    private final int[] entityZ;
+    private final List<List<BlueprintEntity>> entities;
+    // Bounds of the block offsets - null if there are no blocks
+    private final @Nullable Vector min;
+    private final @Nullable Vector max;
+
+    /**
+     * Resolves the blueprint. Should be called from the main thread.
+     * @param plugin - BentoBox
+     * @param blueprint - blueprint to prepare
+     */
+    public PreparedBlueprint(@NonNull BentoBox plugin, @NonNull Blueprint blueprint) {
+        this.blueprint = blueprint;
+        Map<Vector, BlueprintBlock> bpBlocks = blueprint.getBlocks() == null ? new HashMap<>() : blueprint.getBlocks();
+        Map<Vector, BlueprintBlock> bpAttached = blueprint.getAttached() == null ? new HashMap<>() : blueprint.getAttached();
+
+        // Build the palette
+        Map<String, Integer> indexes = new HashMap<>();
+        List<BlockData> dataList = new ArrayList<>();
+        for (Map<Vector, BlueprintBlock> map : Arrays.asList(bpBlocks, bpAttached)) {
+            for (BlueprintBlock b : map.values()) {
+                if (!indexes.containsKey(b.getBlockData())) {
+                    indexes.put(b.getBlockData(), dataList.size());
+                    dataList.add(resolve(plugin, b.getBlockData()));
+                }
+            }
+        }
+        palette = dataList.toArray(new BlockData[0]);
+
+        blocks = toLayer(bpBlocks, indexes);
+        attached = toLayer(bpAttached, indexes);
+
+        // Bounds
+        Vector lo = null;
+        Vector hi = null;
+        for (Map<Vector, BlueprintBlock> map : Arrays.asList(bpBlocks, bpAttached)) {
+            for (Vector v : map.keySet()) {
+                if (lo == null) {
+                    lo = new Vector(v.getBlockX(), v.getBlockY(), v.getBlockZ());
+                    hi = lo.clone();
+                }
+                lo = Vector.getMinimum(lo, v);
+                hi = Vector.getMaximum(hi, v);
+            }
+        }
+        min = lo;
+        max = hi;
+
+        // Entities
+        Map<Vector, List<BlueprintEntity>> bpEntities = blueprint.getEntities() == null ? new HashMap<>() : blueprint.getEntities();
+        entityX = new int[bpEntities.size()];
+        entityY = new int[bpEntities.size()];
+        entityZ = new int[bpEntities.size()];
+        entities = new ArrayList<>(bpEntities.size());
+        int i = 0;
+        for (Entry<Vector, List<BlueprintEntity>> en : bpEntities.entrySet()) {
+            entityX[i] = en.getKey().getBlockX();
+            entityY[i] = en.getKey().getBlockY();
+            entityZ[i] = en.getKey().getBlockZ();
+            entities.add(en.getValue());
+            i++;
+        }
+    }
+
+    private static Layer toLayer(Map<Vector, BlueprintBlock> map, Map<String, Integer> indexes) {
+        List<Entry<Vector, BlueprintBlock>> sorted = new ArrayList<>(map.entrySet());
+        // Bottom up, then row by row
+        sorted.sort(Comparator.<Entry<Vector, BlueprintBlock>>comparingInt(e -> e.getKey().getBlockY())
+                .thenComparingInt(e -> e.getKey().getBlockX())
+                .thenComparingInt(e -> e.getKey().getBlockZ()));
+        Layer layer = new Layer(sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            Vector v = sorted.get(i).getKey();
+            BlueprintBlock b = sorted.get(i).getValue();
+            layer.x[i] = v.getBlockX();
+            layer.y[i] = v.getBlockY();
+            layer.z[i] = v.getBlockZ();
+            layer.data[i] = indexes.get(b.getBlockData());
+            if (b.getSignLines() != null || !b.getInventory().isEmpty() || b.getCreatureSpawner() != null) {
+                layer.states[i] = b;
+            }
+        }
+        return layer;
+    }
+
+    /**
+     * Parses block data, converting legacy block names if the server no longer supports them
+     * @param plugin - BentoBox
+     * @param blockData - block data string
+     * @return block data, AIR if it cannot be parsed at all
+     */
+    private BlockData resolve(BentoBox plugin, String blockData) {
+        try {
+            return Bukkit.createBlockData(blockData);
+        } catch (Exception e) {
+            // This may happen if the block type is no longer supported by the server
+            plugin.logWarning("Blueprint '" + blueprint.getName() + "' references materials not supported on this server version.");
+            plugin.logWarning("Load blueprint manually, check and save to fix for this server version.");
+            plugin.logWarning("Failed block data: " + blockData);
+            // Try to fix
+            for (Entry<String, String> en : BLOCK_CONVERSION.entrySet()) {
+                if (blockData.startsWith(MINECRAFT + en.getKey())) {
+                    try {
+                        return Bukkit.createBlockData(blockData.replace(MINECRAFT + en.getKey(), MINECRAFT + en.getValue()));
+                    } catch (Exception ex) {
+                        break;
+                    }
+                }
+            }
+        }
+        return Bukkit.createBlockData(Material.AIR);
+    }
+
+    /**
+     * @return the blueprint this was prepared from
+     */
+    @NonNull
+    public Blueprint getBlueprint() {
+        return blueprint;
+    }
+
+    /**
+     * @param index - palette index
+     * @return the resolved block data
+     */
+    BlockData getBlockData(int index) {
+        return palette[index];
+    }
+
+    /**
+     * @return the palette size
+     */
+    public int getPaletteSize() {
+        return palette.length;
+    }
+
+    Layer getBlocks() {
+        return blocks;
+    }
+
+    Layer getAttached() {
+        return attached;
+    }
+
+    /**
+     * @return number of positions that have entities
+     */
+    int getEntityCount() {
+        return entities.size();
+    }
+
+    int getEntityX(int i) {
+        return entityX[i];
+    }
+
+    int getEntityY(int i) {
+        return entityY[i];
+    }
+
+    int getEntityZ(int i) {
+        return entityZ[i];
+    }
+
+    List<BlueprintEntity> getEntities(int i) {
+        return entities.get(i);
+    }
+
+    /**
+     * @return minimum block offset, or null if there are no blocks
+     */
+    @Nullable
+    public Vector getMin() {
+        return min == null ? null : min.clone();
+    }
+
+    /**
+     * @return maximum block offset, or null if there are no blocks
+     */
+    @Nullable
+    public Vector getMax() {
+        return max == null ? null : max.clone();
+    }
+
+    /**
+     * @return total number of blocks, attached blocks and entity positions to paste
+     */
+    public int size() {
+        return blocks.size() + attached.size() + entities.size();
+    }
+}
@@ -0,0 +1,202 @@
+package world.bentobox.bentobox.database.objects;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import world.bentobox.bentobox.util.Util;
+
+/**
+ * Home locations of a player, mapped to their home number.
+ * <p>
+ * The homes are indexed by the name of their overworld and by their number, so finding a home does not
+ * have to look at the homes in other worlds. As a map it is stored in the same way as any other map of
+ * locations to numbers. There can only be one home per number in a world and its nether and end.
+ * Locations without a world are not kept.
+ * @author tastybento
+ * @since 1.6.0
+ */
+class HomeLocations extends AbstractMap<Location, Integer> {
+
+    /**
+     * Homes in a world and its nether and end
+     */
+    private static class WorldHomes {
+        private final Map<Integer, Location> byNumber = new HashMap<>();
+        private final Map<Location, Integer> byLocation = new HashMap<>();
+    }
+
+    private final Map<String, WorldHomes> homes = new HashMap<>();
+    private int size;
+
+    HomeLocations() {}
+
+    HomeLocations(Map<Location, Integer> map) {
+        if (map != null) {
+            map.forEach(this::put);
+        }
+    }
+
+    /**
+     * @param world - world
+     * @param number - home number
+     * @return home location or null if there is none
+     */
+    Location get(World world, int number) {
+        WorldHomes wh = homes.get(Util.getOverworldName(world));
+        return wh == null ? null : wh.byNumber.get(number);
+    }
+
+    /**
+     * @param world - world
+     * @return unmodifiable map of the homes in this world and its nether and end
+     */
+    Map<Location, Integer> get(World world) {
+        WorldHomes wh = homes.get(Util.getOverworldName(world));
+        return wh == null ? Collections.emptyMap() : Collections.unmodifiableMap(wh.byLocation);
+    }
+
+    /**
+     * Removes the homes in a world and its nether and end
+     * @param world - world
+     */
+    void clear(World world) {
+        WorldHomes wh = homes.remove(Util.getOverworldName(world));
+        if (wh != null) {
+            size -= wh.byLocation.size();
+        }
+    }
+
+    private WorldHomes find(Object key) {
+        if (!(key instanceof Location) || ((Location)key).getWorld() == null) {
+            return null;
+        }
+        return homes.get(Util.getOverworldName(((Location)key).getWorld()));
+    }
+
+    @Override
+    public Integer get(Object key) {
+        WorldHomes wh = find(key);
+        return wh == null ? null : wh.byLocation.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        WorldHomes wh = find(key);
+        return wh != null && wh.byLocation.containsKey(key);
+    }
+
+    /**
+     * Puts a home, replacing the home with the same number in this world and its nether and end
+     */
+    @Override
+    public Integer put(Location location, Integer number) {
+        if (location == null || location.getWorld() == null || number == null) {
+            // Lost worlds or locations are not kept
+            return null;
+        }
+        WorldHomes wh = homes.computeIfAbsent(Util.getOverworldName(location.getWorld()), k -> new WorldHomes());
+        Location old = wh.byNumber.put(number, location);
+        if (old != null) {
+            wh.byLocation.remove(old);
+            size--;
+        }
+        Integer oldNumber = wh.byLocation.put(location, number);
+        if (oldNumber != null && !oldNumber.equals(number)) {
+            wh.byNumber.remove(oldNumber);
+            size--;
+        }
+        size++;
+        return oldNumber;
+    }
+
+    @Override
+    public Integer remove(Object key) {
+        WorldHomes wh = find(key);
+        if (wh == null) {
+            return null;
+        }
+        Integer number = wh.byLocation.remove(key);
+        if (number != null) {
+            wh.byNumber.remove(number);
+            size--;
+        }
+        return number;
+    }
+
+    @Override
+    public void clear() {
+        homes.clear();
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<Location, Integer>> entrySet() {
+        return new AbstractSet<Entry<Location, Integer>>() {
+            @Override
+            public Iterator<Entry<Location, Integer>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private class EntryIterator implements Iterator<Entry<Location, Integer>> {
+        private final Iterator<WorldHomes> worlds = homes.values().iterator();
+        private WorldHomes current;
+        private Iterator<Entry<Location, Integer>> entries = Collections.emptyIterator();
+        // Entry returned by next(), and where it came from
+        private Entry<Location, Integer> last;
+        private WorldHomes lastHomes;
+        private Iterator<Entry<Location, Integer>> lastEntries;
+
+        @Override
+        public boolean hasNext() {
+            while (!entries.hasNext() && worlds.hasNext()) {
+                current = worlds.next();
+                entries = current.byLocation.entrySet().iterator();
+            }
+            return entries.hasNext();
+        }
+
+        @Override
+        public Entry<Location, Integer> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Entry<Location, Integer> e = entries.next();
+            last = new SimpleImmutableEntry<>(e.getKey(), e.getValue());
+            lastHomes = current;
+            lastEntries = entries;
+            return last;
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            lastEntries.remove();
+            lastHomes.byNumber.remove(last.getValue());
+            size--;
+            last = null;
+        }
+    }
+}
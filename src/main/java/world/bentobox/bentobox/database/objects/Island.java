@@ -25,6 +25,7 @@ import world.bentobox.bentobox.database.objects.adapters.LogEntryListAdapter;
 import world.bentobox.bentobox.lists.Flags;
 import world.bentobox.bentobox.managers.IslandWorldManager;
 import world.bentobox.bentobox.managers.RanksManager;
+import world.bentobox.bentobox.managers.island.IslandLogStore;
 import world.bentobox.bentobox.util.Pair;
 import world.bentobox.bentobox.util.Util;
 
@@ -608,6 +609,18 @@ public class Island implements DataObject {
         return Util.sameWorld(world, target.getWorld()) && target.getBlockX() >= getMinProtectedX() && target.getBlockX() < (getMinProtectedX() + protectionRange * 2) && target.getBlockZ() >= getMinProtectedZ() && target.getBlockZ() < (getMinProtectedZ() + protectionRange * 2);
     }
 
+    /**
+     * Checks if a block column is within this island's protected area. The world is not checked.
+     *
+     * @param x - block x coordinate
+     * @param z - block z coordinate
+     * @return {@code true} if this column is within this island's protected area, {@code false} otherwise.
+     * @since 1.6.0
+     */
+    public boolean onIsland(int x, int z) {
+        return x >= getMinProtectedX() && x < (getMinProtectedX() + protectionRange * 2) && z >= getMinProtectedZ() && z < (getMinProtectedZ() + protectionRange * 2);
+    }
+
     /**
      * Returns a {@link BoundingBox} of this island's protected area.
      * @return a {@link BoundingBox} of this island's protected area.
@@ -954,7 +967,8 @@ public class Island implements DataObject {
     }
 
     /**
-     * Gets the history of the island.
+     * Gets the most recent history of the island, at most {@link world.bentobox.bentobox.managers.island.IslandLogStore#RECENT_HISTORY_SIZE} entries.
+     * The full history can be queried from {@link world.bentobox.bentobox.managers.island.IslandLogStore IslandLogStore}.
      * @return the list of {@link LogEntry} for this island.
      */
     public List<LogEntry> getHistory() {
@@ -963,10 +977,18 @@ public class Island implements DataObject {
 
     /**
      * Adds a {@link LogEntry} to the history of this island.
+     * Only the most recent entries are kept in the island. All of them are appended to the island log store.
      * @param logEntry the LogEntry to add.
      */
     public void log(LogEntry logEntry) {
         history.add(logEntry);
+        while (history.size() > IslandLogStore.RECENT_HISTORY_SIZE) {
+            history.remove(0);
+        }
+        BentoBox plugin = BentoBox.getInstance();
+        if (plugin != null && plugin.getIslands() != null && plugin.getIslands().getLogStore() != null) {
+            plugin.getIslands().getLogStore().append(uniqueId, logEntry);
+        }
     }
 
     /**
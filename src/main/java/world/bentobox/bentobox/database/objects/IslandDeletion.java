@@ -49,6 +49,12 @@ public class IslandDeletion implements DataObject {
     @Expose
     BoundingBox box;
 
+    /**
+     * Time when the deletion was queued, used to resume deletions in order
+     */
+    @Expose
+    private long queuedDate;
+
     public IslandDeletion() {}
 
     public IslandDeletion(Island island) {
@@ -63,6 +69,7 @@ public class IslandDeletion implements DataObject {
         maxZ = island.getMaxEverProtectionRange() + location.getBlockZ();
         maxZChunk = maxZ >> 4;
         box = BoundingBox.of(new Vector(minX, 0, minZ), new Vector(maxX, 255, maxZ));
+        queuedDate = System.currentTimeMillis();
     }
 
     /* (non-Javadoc)
@@ -216,7 +223,7 @@ public class IslandDeletion implements DataObject {
     }
 
     public boolean inBounds(int x, int z) {
-        return box.contains(new Vector(x, 0, z));
+        return box.contains(x, 0, z);
     }
 
     /**
@@ -233,5 +240,21 @@ public class IslandDeletion implements DataObject {
         this.box = box;
     }
 
+    /**
+     * @return the time when the deletion was queued
+     * @since 1.6.0
+     */
+    public long getQueuedDate() {
+        return queuedDate;
+    }
+
+    /**
+     * @param queuedDate the time when the deletion was queued
+     * @since 1.6.0
+     */
+    public void setQueuedDate(long queuedDate) {
+        this.queuedDate = queuedDate;
+    }
+
 }
 
@@ -5,7 +5,6 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
@@ -24,7 +23,7 @@ import world.bentobox.bentobox.util.Util;
  */
 public class Players implements DataObject {
     @Expose
-    private Map<Location, Integer> homeLocations = new HashMap<>();
+    private Map<Location, Integer> homeLocations = new HomeLocations();
     @Expose
     private String uniqueId;
     @Expose
@@ -57,7 +56,7 @@ public class Players implements DataObject {
      */
     public Players(BentoBox plugin, UUID uniqueId) {
         this.uniqueId = uniqueId.toString();
-        homeLocations = new HashMap<>();
+        homeLocations = new HomeLocations();
         locale = "";
         // Try to get player's name
         this.playerName = Bukkit.getOfflinePlayer(uniqueId).getName();
@@ -82,42 +81,42 @@ public class Players implements DataObject {
      * @return Location of this home or null if not available
      */
     public Location getHomeLocation(World world, int number) {
-        // Remove any lost worlds/locations
-        homeLocations.keySet().removeIf(l -> l == null || l.getWorld() == null);
-        return homeLocations.entrySet().stream()
-                .filter(en -> Util.sameWorld(en.getKey().getWorld(), world) && en.getValue() == number)
-                .map(Map.Entry::getKey)
-                .findFirst()
-                .orElse(null);
+        return homes().get(world, number);
     }
 
     /**
      * @param world - world
-     * @return List of home locations
+     * @return Unmodifiable map of home locations in world and any related nether or end worlds
      */
     public Map<Location, Integer> getHomeLocations(World world) {
-        // Remove any lost worlds/locations
-        homeLocations.keySet().removeIf(l -> l == null || l.getWorld() == null);
-        return homeLocations.entrySet().stream().filter(e -> Util.sameWorld(e.getKey().getWorld(),world))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        return homes().get(world);
     }
 
     /**
      * @return the homeLocations
      */
     public Map<Location, Integer> getHomeLocations() {
-        // Remove any lost worlds/locations
-        homeLocations.keySet().removeIf(l -> l == null || l.getWorld() == null);
-        return homeLocations;
+        return homes();
     }
 
     /**
      * @param homeLocations the homeLocations to set
      */
     public void setHomeLocations(Map<Location, Integer> homeLocations) {
-        this.homeLocations = homeLocations;
-        // Remove any lost worlds/locations
-        homeLocations.keySet().removeIf(l -> l == null || l.getWorld() == null);
+        // Lost worlds/locations are not kept
+        this.homeLocations = new HomeLocations(homeLocations);
+    }
+
+    /**
+     * Gets the home locations indexed by world and number
+     * @return home locations
+     */
+    private HomeLocations homes() {
+        if (!(homeLocations instanceof HomeLocations)) {
+            // The database can set the field directly
+            homeLocations = new HomeLocations(homeLocations);
+        }
+        return (HomeLocations)homeLocations;
     }
 
     /**
@@ -187,9 +186,8 @@ public class Players implements DataObject {
      * @param number - a number
      */
     public void setHomeLocation(Location location, int number) {
-        // Remove any home locations in the same world with the same number
-        homeLocations.entrySet().removeIf(e -> e.getKey() == null || (Util.sameWorld(location.getWorld(), e.getKey().getWorld()) && e.getValue().equals(number)));
-        homeLocations.put(location, number);
+        // Replaces any home location in the same world with the same number
+        homes().put(location, number);
     }
 
     /**
@@ -205,7 +203,7 @@ public class Players implements DataObject {
      * @param world - world
      */
     public void clearHomeLocations(World world) {
-        homeLocations.keySet().removeIf(l -> l == null || l.getWorld() == null || Util.sameWorld(l.getWorld(), world));
+        homes().clear(world);
     }
 
     /**
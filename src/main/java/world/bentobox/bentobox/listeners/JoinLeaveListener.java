@@ -10,8 +10,10 @@ import org.bukkit.World;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.eclipse.jdt.annotation.NonNull;
 
@@ -38,6 +40,30 @@ public class JoinLeaveListener implements Listener {
         players = plugin.getPlayers();
     }
 
+    /**
+     * Loads the player's data from the database before they join, so that joining only uses memory
+     * @param event - event
+     * @since 1.6.0
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerPreLogin(final AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult().equals(AsyncPlayerPreLoginEvent.Result.ALLOWED)) {
+            players.preload(event.getUniqueId(), event.getName());
+        }
+    }
+
+    /**
+     * Forgets the player's preloaded data if they are not allowed to join after all
+     * @param event - event
+     * @since 1.6.0
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerLogin(final PlayerLoginEvent event) {
+        if (!event.getResult().equals(PlayerLoginEvent.Result.ALLOWED)) {
+            players.cancelPreload(event.getPlayer().getUniqueId());
+        }
+    }
+
     @EventHandler(priority = EventPriority.NORMAL, ignoreCancelled = true)
     public void onPlayerJoin(final PlayerJoinEvent event) {
         User user = User.getInstance(event.getPlayer());
@@ -45,7 +71,10 @@ public class JoinLeaveListener implements Listener {
             return;
         }
         UUID playerUUID = user.getUniqueId();
-        // Load player
+        // Count the online members again on the islands of this player
+        plugin.getIslands().clearOnlineMembers(playerUUID);
+        // Load player, if this was not done before login
+        boolean preloaded = players.removePreloaded(playerUUID);
         players.addPlayer(playerUUID);
         if (plugin.getPlayers().isKnown(playerUUID)) {
             // Reset island resets if required
@@ -62,11 +91,11 @@ public class JoinLeaveListener implements Listener {
             updateIslandRange(user);
 
             // Set the player's name (it may have changed), but only if it isn't empty
-            if (!user.getName().isEmpty()) {
+            if (user.getName().isEmpty()) {
+                plugin.logWarning("Player that just logged in has no name! " + playerUUID.toString());
+            } else if (!preloaded) {
                 players.setPlayerName(user);
                 players.save(playerUUID);
-            } else {
-                plugin.logWarning("Player that just logged in has no name! " + playerUUID.toString());
             }
 
             // If mobs have to be removed when a player joins, then wipe all the mobs on his island.
@@ -160,8 +189,9 @@ public class JoinLeaveListener implements Listener {
                     user.sendMessage("commands.admin.setrange.range-updated", TextVariables.NUMBER, String.valueOf(range));
                     plugin.log("Island protection range changed from " + island.getProtectionRange() + " to "
                             + range + " for " + user.getName() + " due to permission.");
+                    island.setProtectionRange(range);
+                    plugin.getIslands().protectionChanged(island);
                 }
-                island.setProtectionRange(range);
             }
         });
     }
@@ -183,10 +213,16 @@ public class JoinLeaveListener implements Listener {
                         .sendMessage("commands.island.team.uncoop.all-members-logged-off", TextVariables.NAME, plugin.getPlayers().getName(island.getOwner())));
                 // Remove any coop players on this island
                 island.removeRank(RanksManager.COOP_RANK);
+                plugin.getIslands().clearOnlineMembers(island);
             }
         });
         // Remove any coop associations from the player logging out
         plugin.getIslands().clearRank(RanksManager.COOP_RANK, event.getPlayer().getUniqueId());
+        // Count the online members again on the islands of this player once they are gone
+        UUID playerUUID = event.getPlayer().getUniqueId();
+        if (plugin.isEnabled()) {
+            Bukkit.getScheduler().runTask(plugin, () -> plugin.getIslands().clearOnlineMembers(playerUUID));
+        }
         players.save(event.getPlayer().getUniqueId());
         User.removePlayer(event.getPlayer());
     }
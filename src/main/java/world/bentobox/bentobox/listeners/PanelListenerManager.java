@@ -48,7 +48,7 @@ public class PanelListenerManager implements Listener {
                 // Get the panel itself
                 Panel panel = openPanels.get(user.getUniqueId());
                 // Check that they clicked on a specific item
-                PanelItem pi = panel.getItems().get(event.getRawSlot());
+                PanelItem pi = panel.getItem(event.getRawSlot());
                 if (pi != null) {
                     pi.getClickHandler().ifPresent(handler ->
                     // Execute the handler's onClick method and optionally cancel the event if the handler returns true
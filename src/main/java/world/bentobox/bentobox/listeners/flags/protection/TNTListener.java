@@ -79,7 +79,7 @@ public class TNTListener extends FlagListener {
     public void onExplosion(final EntityExplodeEvent e) {
         // Remove any blocks from the explosion list if they are inside a protected area and if the entity was a TNT
         if (tntTypes.contains(e.getEntityType())
-                && e.blockList().removeIf(b -> getIslands().getProtectedIslandAt(b.getLocation()).map(i -> !i.isAllowed(Flags.TNT_DAMAGE)).orElse(false))) {
+                && getIslands().removeProtectedBlocks(e.blockList(), i -> !i.isAllowed(Flags.TNT_DAMAGE))) {
             // If any were removed, then prevent damage too
             e.setCancelled(true);
         }
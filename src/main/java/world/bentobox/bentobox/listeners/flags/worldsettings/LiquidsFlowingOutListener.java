@@ -1,5 +1,6 @@
 package world.bentobox.bentobox.listeners.flags.worldsettings;
 
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -22,21 +23,22 @@ public class LiquidsFlowingOutListener extends FlagListener {
             return;
         }
 
-        Block to = e.getToBlock();
-        if (!getIWM().inWorld(from.getLocation()) || Flags.LIQUIDS_FLOWING_OUT.isSetForWorld(from.getWorld())) {
+        World world = from.getWorld();
+        if (!getIWM().inWorld(world) || Flags.LIQUIDS_FLOWING_OUT.isSetForWorld(world)) {
             // We do not want to run any check if this is not the right world or if it is allowed.
             return;
         }
 
         // https://github.com/BentoBoxWorld/BentoBox/issues/511#issuecomment-460040287
-        // Time to do some maths! We've got the vector FromTo, let's check if its y coordinate is different from zero.
-        if (to.getLocation().toVector().subtract(from.getLocation().toVector()).getY() != 0) {
+        Block to = e.getToBlock();
+        if (to.getY() != from.getY()) {
             // We do not run any checks if this is a vertical flow - would be too much resource consuming.
             return;
         }
 
         // Only prevent if it is flowing into the area between islands.
-        if (!getIslands().getProtectedIslandAt(to.getLocation()).isPresent()) {
+        // This is one look up of the chunk, unless the chunk is on the edge of an island's protected area.
+        if (!getIslands().isProtectedAt(world, to.getX(), to.getZ())) {
             e.setCancelled(true);
         }
     }
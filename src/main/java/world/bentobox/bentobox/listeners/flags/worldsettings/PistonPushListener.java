@@ -1,5 +1,7 @@
 package world.bentobox.bentobox.listeners.flags.worldsettings;
 
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.block.BlockPistonExtendEvent;
@@ -17,14 +19,27 @@ public class PistonPushListener extends FlagListener {
     @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
     public void onPistonExtend(BlockPistonExtendEvent e) {
         // Only process if flag is active
-        if (Flags.PISTON_PUSH.isSetForWorld(e.getBlock().getWorld())) {
-            getIslands().getProtectedIslandAt(e.getBlock().getLocation()).ifPresent(i -> 
-            e.setCancelled(
-                    // Run through the location of all the relative blocks and see if they are outside the island
-                    !e.getBlocks().stream()
-                    .map(b -> b.getRelative(e.getDirection()).getLocation())
-                    // All blocks must be on the island, otherwise the event is cancelled
-                    .allMatch(i::onIsland)));
+        if (Flags.PISTON_PUSH.isSetForWorld(e.getBlock().getWorld()) && !e.getBlocks().isEmpty()) {
+            getIslands().getProtectedIslandAt(e.getBlock().getLocation()).ifPresent(i -> {
+                // Find the area the blocks are pushed into
+                BlockFace direction = e.getDirection();
+                int minX = Integer.MAX_VALUE;
+                int minZ = Integer.MAX_VALUE;
+                int maxX = Integer.MIN_VALUE;
+                int maxZ = Integer.MIN_VALUE;
+                for (Block b : e.getBlocks()) {
+                    minX = Math.min(minX, b.getX());
+                    minZ = Math.min(minZ, b.getZ());
+                    maxX = Math.max(maxX, b.getX());
+                    maxZ = Math.max(maxZ, b.getZ());
+                }
+                minX += direction.getModX();
+                maxX += direction.getModX();
+                minZ += direction.getModZ();
+                maxZ += direction.getModZ();
+                // All blocks must be on the island, otherwise the event is cancelled
+                e.setCancelled(!i.onIsland(minX, minZ) || !i.onIsland(maxX, maxZ));
+            });
         }
     }
 }
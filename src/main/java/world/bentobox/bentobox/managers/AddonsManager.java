@@ -10,9 +10,12 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.logging.Level;
@@ -52,18 +55,48 @@ public class AddonsManager {
     private BentoBox plugin;
     private @NonNull Map<@NonNull String, @Nullable GameModeAddon> worldNames;
     private @NonNull Map<@NonNull Addon, @NonNull List<Listener>> listeners;
+    // Startup times in nanoseconds
+    private @NonNull Map<@NonNull Addon, @NonNull Long> loadTimes;
+    private @NonNull Map<@NonNull Addon, @NonNull Long> enableTimes;
 
     public AddonsManager(@NonNull BentoBox plugin) {
         this.plugin = plugin;
         addons = new ArrayList<>();
-        loaders = new HashMap<>();
-        classes = new HashMap<>();
+        // Classes are looked up from many threads
+        loaders = new ConcurrentHashMap<>();
+        classes = new ConcurrentHashMap<>();
         listeners = new HashMap<>();
         worldNames = new HashMap<>();
+        loadTimes = new HashMap<>();
+        enableTimes = new HashMap<>();
     }
 
     /**
-     * Loads all the addons from the addons folder
+     * An addon being loaded
+     */
+    private static class PendingAddon {
+        private final File file;
+        private final YamlConfiguration data;
+        private AddonClassLoader loader;
+        private Addon addon;
+        private Map<Locale, YamlConfiguration> locales;
+        // Time spent loading this addon
+        private long nanos;
+
+        private PendingAddon(File file, YamlConfiguration data, long nanos) {
+            this.file = file;
+            this.data = data;
+            this.nanos = nanos;
+        }
+    }
+
+    /**
+     * Loads all the addons from the addons folder.
+     * <p>
+     * Reading the jars' addon.yml and locale files does not depend on other addons, so it is done in parallel.
+     * The addons' classes are loaded one at a time, in order, and each class loader is registered as soon as it
+     * is made, so that an addon's main class can use the classes of the addons loaded before it.
+     * Then the addons' onLoad are run one at a time, in the same order.
      */
     public void loadAddons() {
         plugin.log("Loading addons...");
@@ -72,7 +105,11 @@ public class AddonsManager {
             plugin.logError("Cannot create addons folder!");
             return;
         }
-        Arrays.stream(Objects.requireNonNull(f.listFiles())).filter(x -> !x.isDirectory() && x.getName().endsWith(".jar")).forEach(this::loadAddon);
+        List<File> jars = Arrays.stream(Objects.requireNonNull(f.listFiles())).filter(x -> !x.isDirectory() && x.getName().endsWith(".jar")).collect(Collectors.toList());
+        List<PendingAddon> pending = jars.parallelStream().map(this::readAddon).filter(Objects::nonNull).collect(Collectors.toList());
+        pending.removeIf(p -> !createAddon(p));
+        pending.parallelStream().forEach(this::readLocales);
+        pending.forEach(this::loadAddon);
         plugin.log("Loaded " + getLoadedAddons().size() + " addons.");
 
         if (!getLoadedAddons().isEmpty()) {
@@ -80,32 +117,52 @@ public class AddonsManager {
         }
     }
 
-    private void loadAddon(@NonNull File f) {
-        Addon addon;
-        AddonClassLoader addonClassLoader;
+    @Nullable
+    private PendingAddon readAddon(@NonNull File f) {
+        long start = System.nanoTime();
         try (JarFile jar = new JarFile(f)) {
-            // try loading the addon
             // Get description in the addon.yml file
-            YamlConfiguration data = addonDescription(jar);
+            return new PendingAddon(f, addonDescription(jar), System.nanoTime() - start);
+        } catch (Exception e) {
+            // We couldn't load the addon, aborting.
+            plugin.logError(e.getMessage());
+            return null;
+        }
+    }
 
+    private boolean createAddon(@NonNull PendingAddon p) {
+        long start = System.nanoTime();
+        try {
             // Load the addon
-            addonClassLoader = new AddonClassLoader(this, data, f, this.getClass().getClassLoader());
-
+            p.loader = new AddonClassLoader(this, p.data, p.file, this.getClass().getClassLoader());
             // Get the addon itself
-            addon = addonClassLoader.getAddon();
+            p.addon = p.loader.getAddon();
         } catch (Exception e) {
             // We couldn't load the addon, aborting.
             plugin.logError(e.getMessage());
-            return;
+            return false;
         }
-
         // Initialize some settings
-        addon.setDataFolder(new File(f.getParent(), addon.getDescription().getName()));
-        addon.setFile(f);
+        p.addon.setDataFolder(new File(p.file.getParent(), p.addon.getDescription().getName()));
+        p.addon.setFile(p.file);
+        // Add to the list of loaders
+        loaders.put(p.addon, p.loader);
+        p.nanos += System.nanoTime() - start;
+        return true;
+    }
+
+    private void readLocales(@NonNull PendingAddon p) {
+        long start = System.nanoTime();
+        plugin.getLocalesManager().copyLocalesFromAddonJar(p.addon);
+        p.locales = plugin.getLocalesManager().readLocalesFromFile(p.addon.getDescription().getName());
+        p.nanos += System.nanoTime() - start;
+    }
 
+    private void loadAddon(@NonNull PendingAddon p) {
+        long start = System.nanoTime();
+        Addon addon = p.addon;
         // Locales
-        plugin.getLocalesManager().copyLocalesFromAddonJar(addon);
-        plugin.getLocalesManager().loadLocalesFromFile(addon.getDescription().getName());
+        plugin.getLocalesManager().mergeLocales(p.locales);
 
         // Fire the load event
         Bukkit.getPluginManager().callEvent(new AddonEvent().builder().addon(addon).reason(AddonEvent.Reason.LOAD).build());
@@ -114,9 +171,6 @@ public class AddonsManager {
         addons.remove(addon);
         addons.add(addon);
 
-        // Add to the list of loaders
-        loaders.put(addon, addonClassLoader);
-
         try {
             // Run the onLoad.
             addon.onLoad();
@@ -136,6 +190,7 @@ public class AddonsManager {
             // Unhandled exception. We'll give a bit of debug here.
             handleAddonError(addon, e);
         }
+        loadTimes.put(addon, p.nanos + System.nanoTime() - start);
     }
 
     /**
@@ -146,14 +201,26 @@ public class AddonsManager {
             plugin.log("Enabling addons...");
             getLoadedAddons().forEach(this::enableAddon);
             plugin.log("Addons successfully enabled.");
+            reportStartupTimes();
         }
     }
 
+    /**
+     * Logs how long each addon took to load and to enable
+     */
+    private void reportStartupTimes() {
+        plugin.log("Addon startup times:");
+        addons.forEach(addon -> plugin.log("  " + addon.getDescription().getName() + " - loaded in "
+                + TimeUnit.NANOSECONDS.toMillis(loadTimes.getOrDefault(addon, 0L)) + " ms, enabled in "
+                + TimeUnit.NANOSECONDS.toMillis(enableTimes.getOrDefault(addon, 0L)) + " ms"));
+    }
+
     /**
      * Enables an addon
      * @param addon addon
      */
     private void enableAddon(Addon addon) {
+        long start = System.nanoTime();
         try {
             // If this is a GameModeAddon create the worlds, register it and load the blueprints
             if (addon instanceof GameModeAddon) {
@@ -185,6 +252,7 @@ public class AddonsManager {
             // Unhandled exception. We'll give a bit of debug here.
             handleAddonError(addon, e);
         }
+        enableTimes.put(addon, System.nanoTime() - start);
     }
 
     /**
@@ -242,6 +310,8 @@ public class AddonsManager {
         addons.clear();
         loaders.clear();
         classes.clear();
+        loadTimes.clear();
+        enableTimes.clear();
     }
 
     /**
@@ -318,7 +388,17 @@ public class AddonsManager {
      */
     @Nullable
     public Class<?> getClassByName(@NonNull final String name) {
-        return classes.getOrDefault(name, loaders.values().stream().map(l -> l.findClass(name, false)).filter(Objects::nonNull).findFirst().orElse(null));
+        Class<?> clazz = classes.get(name);
+        if (clazz == null) {
+            // Ask the addons. Each one remembers the classes it does not have, so this is cheap when repeated.
+            for (AddonClassLoader l : loaders.values()) {
+                clazz = l.findClass(name, false);
+                if (clazz != null) {
+                    break;
+                }
+            }
+        }
+        return clazz;
     }
 
     /**
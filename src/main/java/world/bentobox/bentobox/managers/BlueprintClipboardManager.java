@@ -1,18 +1,16 @@
 package world.bentobox.bentobox.managers;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
-import java.util.zip.ZipOutputStream;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -21,6 +19,7 @@ import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.blueprints.Blueprint;
 import world.bentobox.bentobox.blueprints.BlueprintClipboard;
+import world.bentobox.bentobox.blueprints.BlueprintCodec;
 import world.bentobox.bentobox.database.json.BentoboxTypeAdapterFactory;
 
 /**
@@ -31,6 +30,8 @@ public class BlueprintClipboardManager {
 
     private static final String LOAD_ERROR = "Could not load blueprint file - does not exist : ";
 
+    private static final int BUFFER_SIZE = 65536;
+
     private File blueprintFolder;
 
     private BlueprintClipboard clipboard;
@@ -81,7 +82,8 @@ public class BlueprintClipboardManager {
     }
 
     /**
-     * Loads a blueprint
+     * Loads a blueprint. Both the binary format and the legacy zipped JSON format are supported.
+     * The file is parsed straight from the stream - no temporary file is written.
      * @param fileName - the filename without the suffix
      * @return the blueprint
      * @throws IOException
@@ -92,17 +94,35 @@ public class BlueprintClipboardManager {
             plugin.logError(LOAD_ERROR + zipFile.getName());
             throw new IOException(LOAD_ERROR + zipFile.getName());
         }
-        unzip(zipFile.getAbsolutePath());
-        File file = new File(blueprintFolder, fileName);
-        if (!file.exists()) {
-            plugin.logError(LOAD_ERROR + file.getName());
-            throw new IOException(LOAD_ERROR + file.getName() + " temp file");
+        try (InputStream in = new BufferedInputStream(new FileInputStream(zipFile), BUFFER_SIZE)) {
+            if (BlueprintCodec.isBinary(in)) {
+                return BlueprintCodec.read(in);
+            }
+            return loadLegacyBlueprint(in, zipFile);
+        }
+    }
+
+    /**
+     * Parses a legacy blueprint, which is a zip file holding a single JSON entry
+     * @param in - input stream of the zip file
+     * @param zipFile - file being read, for error reporting
+     * @return the blueprint
+     * @throws IOException - if the zip file is empty or cannot be read
+     */
+    private Blueprint loadLegacyBlueprint(InputStream in, File zipFile) throws IOException {
+        ZipInputStream zipInputStream = new ZipInputStream(in);
+        ZipEntry entry = zipInputStream.getNextEntry();
+        while (entry != null && entry.isDirectory()) {
+            entry = zipInputStream.getNextEntry();
+        }
+        if (entry == null) {
+            plugin.logError(LOAD_ERROR + zipFile.getName());
+            throw new IOException(LOAD_ERROR + zipFile.getName() + " (empty)");
         }
-        Blueprint bp;
-        try (FileReader fr = new FileReader(file)) {
-            bp = gson.fromJson(fr, Blueprint.class);
+        Blueprint bp = gson.fromJson(new InputStreamReader(zipInputStream), Blueprint.class);
+        if (bp == null) {
+            throw new IOException(LOAD_ERROR + zipFile.getName() + " (no data)");
         }
-        Files.delete(file.toPath());
         return bp;
     }
 
@@ -136,12 +156,12 @@ public class BlueprintClipboardManager {
             user.sendMessage("general.success");
             return true;
         }
-        user.sendMessage("commands.admin.blueprint.could-not-save", "[message]", "Could not save temp blueprint file.");
+        user.sendMessage("commands.admin.blueprint.could-not-save", "[message]", "Could not save blueprint file.");
         return false;
     }
 
     /**
-     * Save a blueprint
+     * Save a blueprint in the binary blueprint format
      * @param blueprint - blueprint
      * @return true if successful, false if not
      */
@@ -150,70 +170,14 @@ public class BlueprintClipboardManager {
             plugin.logError("Blueprint name was empty - could not save it");
             return false;
         }
-        File file = new File(blueprintFolder, blueprint.getName());
-        String toStore = gson.toJson(blueprint, Blueprint.class);
-        try (FileWriter fileWriter = new FileWriter(file)) {
-            fileWriter.write(toStore);
-        } catch (IOException e) {
-            plugin.logError("Could not save temporary blueprint file: " + file.getName());
-            return false;
-        }
-        try {
-            zip(file);
+        File file = new File(blueprintFolder, blueprint.getName() + BlueprintsManager.BLUEPRINT_SUFFIX);
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE)) {
+            BlueprintCodec.write(blueprint, out);
         } catch (IOException e) {
-            plugin.logError("Could not zip temporary blueprint file: " + file.getName());
+            plugin.logError("Could not save blueprint file: " + file.getName() + " " + e.getMessage());
             return false;
         }
         return true;
     }
 
-    private void unzip(final String zipFilePath) throws IOException {
-        Path path = Paths.get(zipFilePath);
-        if (!(path.toFile().exists())) {
-            throw new IOException("No file exists!");
-        }
-        try (ZipInputStream zipInputStream = new ZipInputStream(new FileInputStream(zipFilePath))) {
-            ZipEntry entry = zipInputStream.getNextEntry();
-            while (entry != null) {
-                Path filePath = Paths.get(path.getParent().toString(), entry.getName());
-                if (!entry.isDirectory()) {
-                    unzipFiles(zipInputStream, filePath);
-                } else {
-                    Files.createDirectories(filePath);
-                }
-
-                zipInputStream.closeEntry();
-                entry = zipInputStream.getNextEntry();
-            }
-        }
-    }
-
-    private void unzipFiles(final ZipInputStream zipInputStream, final Path unzipFilePath) throws IOException {
-        try (BufferedOutputStream bos = new BufferedOutputStream(new FileOutputStream(unzipFilePath.toAbsolutePath().toString()))) {
-            byte[] bytesIn = new byte[1024];
-            int read;
-            while ((read = zipInputStream.read(bytesIn)) != -1) {
-                bos.write(bytesIn, 0, read);
-            }
-        }
-    }
-
-    private void zip(File targetFile) throws IOException {
-        try (ZipOutputStream zipOutputStream = new ZipOutputStream(new FileOutputStream(targetFile.getAbsolutePath() + BlueprintsManager.BLUEPRINT_SUFFIX))) {
-            zipOutputStream.putNextEntry(new ZipEntry(targetFile.getName()));
-            try (FileInputStream inputStream = new FileInputStream(targetFile)) {
-                final byte[] buffer = new byte[1024];
-                int length;
-                while((length = inputStream.read(buffer)) >= 0) {
-                    zipOutputStream.write(buffer, 0, length);
-                }
-            }
-            try {
-                Files.delete(targetFile.toPath());
-            } catch (Exception e) {
-                plugin.logError(e.getMessage());
-            }
-        }
-    }
-
 }
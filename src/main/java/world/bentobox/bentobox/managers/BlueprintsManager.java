@@ -8,12 +8,16 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarFile;
 import java.util.stream.Collectors;
 
@@ -35,7 +39,9 @@ import world.bentobox.bentobox.api.addons.GameModeAddon;
 import world.bentobox.bentobox.api.localization.TextVariables;
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.blueprints.Blueprint;
+import world.bentobox.bentobox.blueprints.BlueprintPasteScheduler;
 import world.bentobox.bentobox.blueprints.BlueprintPaster;
+import world.bentobox.bentobox.blueprints.PreparedBlueprint;
 import world.bentobox.bentobox.blueprints.dataobjects.BlueprintBlock;
 import world.bentobox.bentobox.blueprints.dataobjects.BlueprintBundle;
 import world.bentobox.bentobox.database.json.BentoboxTypeAdapterFactory;
@@ -69,6 +75,17 @@ public class BlueprintsManager {
      */
     private @NonNull Map<GameModeAddon, List<Blueprint>> blueprints;
 
+    /**
+     * Paste-ready form of the loaded blueprints, created on first paste.
+     * Blueprint does not override equals, so this is keyed by instance.
+     */
+    private @NonNull Map<Blueprint, PreparedBlueprint> preparedBlueprints;
+
+    /**
+     * Runs all blueprint pastes within a per-tick time budget
+     */
+    private final @NonNull BlueprintPasteScheduler pasteScheduler;
+
     /**
      * Gson used for serializing/deserializing the bundle class
      */
@@ -79,8 +96,11 @@ public class BlueprintsManager {
 
     public BlueprintsManager(@NonNull BentoBox plugin) {
         this.plugin = plugin;
-        this.blueprintBundles = new HashMap<>();
-        this.blueprints = new HashMap<>();
+        // Game mode addons load their blueprints at the same time, each in its own async task
+        this.blueprintBundles = new ConcurrentHashMap<>();
+        this.blueprints = new ConcurrentHashMap<>();
+        this.preparedBlueprints = new ConcurrentHashMap<>();
+        this.pasteScheduler = new BlueprintPasteScheduler(plugin);
         @SuppressWarnings({ "rawtypes", "unchecked" })
         GsonBuilder builder = new GsonBuilder()
         .excludeFieldsWithoutExposeAnnotation()
@@ -234,33 +254,52 @@ public class BlueprintsManager {
 
     /**
      * Loads all the blueprints of this addon from its blueprints folder.
+     * Blueprint files are parsed in parallel and the list of blueprints is replaced once all of them are loaded.
+     * Block data is only resolved when a blueprint is first pasted.
      * @param addon the {@link GameModeAddon} to load the blueprints of.
      */
     public void loadBlueprints(@NonNull GameModeAddon addon) {
-        blueprints.put(addon, new ArrayList<>());
         File bpf = getBlueprintsFolder(addon);
         if (!bpf.exists()) {
             plugin.logError("There is no blueprint folder for addon " + addon.getDescription().getName());
             bpf.mkdirs();
         }
+        // Blueprints already loaded stay available until the new list replaces them
+        blueprints.putIfAbsent(addon, new ArrayList<>());
         File[] bps = bpf.listFiles((dir, name) ->  name.toLowerCase(Locale.ENGLISH).endsWith(BLUEPRINT_SUFFIX));
         if (bps == null || bps.length == 0) {
+            setBlueprints(addon, new ArrayList<>());
             plugin.logError("No blueprints found for " + addon.getDescription().getName());
             return;
         }
-        for (File file: bps) {
-            String fileName = file.getName().substring(0, file.getName().length() - BLUEPRINT_SUFFIX.length());
-            try {
-                Blueprint bp = new BlueprintClipboardManager(plugin, bpf).loadBlueprint(fileName);
-                if (bp.getName() == null) {
-                    bp.setName(fileName);
-                }
-                blueprints.get(addon).add(bp);
-                plugin.log("Loaded blueprint '" + bp.getName() + "' for " + addon.getDescription().getName());
-            } catch (Exception e) {
-                plugin.logError("Could not load blueprint " + fileName + " " + e.getMessage());
-                plugin.logStacktrace(e);
+        BlueprintClipboardManager bcm = new BlueprintClipboardManager(plugin, bpf);
+        setBlueprints(addon, Arrays.stream(bps).parallel()
+                .map(file -> loadBlueprint(bcm, addon, file))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(ArrayList::new)));
+    }
+
+    private void setBlueprints(@NonNull GameModeAddon addon, @NonNull List<Blueprint> list) {
+        List<Blueprint> old = blueprints.put(addon, list);
+        if (old != null) {
+            old.forEach(preparedBlueprints::remove);
+        }
+    }
+
+    @Nullable
+    private Blueprint loadBlueprint(@NonNull BlueprintClipboardManager bcm, @NonNull GameModeAddon addon, @NonNull File file) {
+        String fileName = file.getName().substring(0, file.getName().length() - BLUEPRINT_SUFFIX.length());
+        try {
+            Blueprint bp = bcm.loadBlueprint(fileName);
+            if (bp.getName() == null) {
+                bp.setName(fileName);
             }
+            plugin.log("Loaded blueprint '" + bp.getName() + "' for " + addon.getDescription().getName());
+            return bp;
+        } catch (Exception e) {
+            plugin.logError("Could not load blueprint " + fileName + " " + e.getMessage());
+            plugin.logStacktrace(e);
+            return null;
         }
     }
 
@@ -272,7 +311,15 @@ public class BlueprintsManager {
      */
     public void addBlueprint(@NonNull GameModeAddon addon, @NonNull Blueprint bp) {
         blueprints.putIfAbsent(addon, new ArrayList<>());
-        blueprints.get(addon).removeIf(b -> b.getName().equals(bp.getName()));
+        blueprints.get(addon).removeIf(b -> {
+            if (b.getName().equals(bp.getName())) {
+                preparedBlueprints.remove(b);
+                return true;
+            }
+            return false;
+        });
+        // The blueprint may have been changed since it was last pasted
+        preparedBlueprints.remove(bp);
         blueprints.get(addon).add(bp);
         plugin.log("Added blueprint '" + bp.getName() + "' for " + addon.getDescription().getName());
     }
@@ -318,10 +365,27 @@ public class BlueprintsManager {
      * @return Map of name and blueprint or empty map
      */
     public Map<String, Blueprint> getBlueprints(GameModeAddon addon) {
-        if (!blueprints.containsKey(addon)) {
-            return new HashMap<>();
-        }
-        return blueprints.get(addon).stream().collect(Collectors.toMap(Blueprint::getName, b -> b));
+        return blueprints.getOrDefault(addon, Collections.emptyList()).stream().collect(Collectors.toMap(Blueprint::getName, b -> b));
+    }
+
+    /**
+     * Gets the paste-ready form of a blueprint. Block data is resolved on the first call
+     * and reused by all later pastes of the same blueprint.
+     * @param bp - blueprint
+     * @return prepared blueprint
+     */
+    @NonNull
+    public PreparedBlueprint getPreparedBlueprint(@NonNull Blueprint bp) {
+        return preparedBlueprints.computeIfAbsent(bp, b -> new PreparedBlueprint(plugin, b));
+    }
+
+    /**
+     * @return the scheduler that runs all blueprint pastes
+     * @since 1.6.0
+     */
+    @NonNull
+    public BlueprintPasteScheduler getPasteScheduler() {
+        return pasteScheduler;
     }
 
     /**
@@ -339,19 +403,43 @@ public class BlueprintsManager {
      * @param addon - the game mode addon
      * @param island - the island
      * @param name - name of bundle to paste
-     * @param task - task to run after pasting is completed
+     * @param task - task to run after pasting is completed in every dimension
      * @return true if okay, false is there is a problem
      */
     public boolean paste(GameModeAddon addon, Island island, String name, Runnable task) {
+        List<BlueprintPaster> pastes = pasteIsland(addon, island, name);
+        if (pastes == null) {
+            return false;
+        }
+        if (task != null) {
+            // Run the task after every paste is done. It is not run if a paste fails.
+            CompletableFuture.allOf(pastes.stream().map(BlueprintPaster::getCompletion).toArray(CompletableFuture[]::new))
+            .thenRun(() -> Bukkit.getScheduler().runTask(plugin, task));
+        }
+        return true;
+    }
+
+    /**
+     * Pastes the blueprints of a bundle for an island, in the overworld and if the game mode has them,
+     * in the nether and end.
+     * @param addon - the game mode addon
+     * @param island - the island
+     * @param name - name of bundle to paste
+     * @return pastes that were started, overworld first, or null if the bundle or its blueprints are not loaded
+     * @since 1.6.0
+     */
+    @Nullable
+    public List<BlueprintPaster> pasteIsland(GameModeAddon addon, Island island, String name) {
         if (validate(addon, name) == null) {
             plugin.logError("Tried to paste '" + name + "' but the bundle is not loaded!");
-            return false;
+            return null;
         }
         BlueprintBundle bb = getBlueprintBundles(addon).get(name.toLowerCase(Locale.ENGLISH));
-        if (!blueprints.containsKey(addon) || blueprints.get(addon).isEmpty()) {
+        if (blueprints.getOrDefault(addon, Collections.emptyList()).isEmpty()) {
             plugin.logError("No blueprints loaded for bundle '" + name + "'!");
-            return false;
+            return null;
         }
+        List<BlueprintPaster> pastes = new ArrayList<>();
         Blueprint bp = getBlueprints(addon).get(bb.getBlueprint(World.Environment.NORMAL));
         if (bp == null) {
             // Oops, no overworld
@@ -363,7 +451,7 @@ public class BlueprintsManager {
         }
         // Paste overworld
         if (bp != null) {
-            new BlueprintPaster(plugin, bp, addon.getOverWorld(), island, task);
+            pastes.add(new BlueprintPaster(plugin, bp, addon.getOverWorld(), island, null));
         }
         // Make nether island
         if (bb.getBlueprint(World.Environment.NETHER) != null
@@ -372,7 +460,7 @@ public class BlueprintsManager {
                 && addon.getNetherWorld() != null) {
             bp = getBlueprints(addon).get(bb.getBlueprint(World.Environment.NETHER));
             if (bp != null) {
-                new BlueprintPaster(plugin, bp, addon.getNetherWorld(), island, null);
+                pastes.add(new BlueprintPaster(plugin, bp, addon.getNetherWorld(), island, null));
             }
         }
         // Make end island
@@ -382,11 +470,10 @@ public class BlueprintsManager {
                 && addon.getEndWorld() != null) {
             bp = getBlueprints(addon).get(bb.getBlueprint(World.Environment.THE_END));
             if (bp != null) {
-                new BlueprintPaster(plugin, bp, addon.getEndWorld(), island, null);
+                pastes.add(new BlueprintPaster(plugin, bp, addon.getEndWorld(), island, null));
             }
         }
-        return true;
-
+        return pastes;
     }
 
     /**
@@ -1,41 +1,82 @@
 package world.bentobox.bentobox.managers;
 
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.scheduler.BukkitTask;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.events.BentoBoxReadyEvent;
-import world.bentobox.bentobox.api.events.island.IslandEvent.IslandDeleteChunksEvent;
-import world.bentobox.bentobox.api.events.island.IslandEvent.IslandDeletedEvent;
 import world.bentobox.bentobox.database.Database;
 import world.bentobox.bentobox.database.objects.IslandDeletion;
 import world.bentobox.bentobox.util.DeleteIslandChunks;
 import world.bentobox.bentobox.util.Util;
 
 /**
- * Listens for island deletions and adds them to the database. Removes them when the island is deleted.
+ * Deletes islands one at a time, in the order they were deleted, from a single task.
+ * <p>
+ * Pending deletions are stored in the database so that they are resumed after a restart.
+ * The time spent deleting per tick is limited by the deletion time budget, and is reduced when the server
+ * is lagging, so that a big purge or a restart after one does not freeze the server. When the server is lagging
+ * badly, a little deleting is still done every second, so that the queue never stalls.
  * @author tastybento
  * @since 1.1
  */
 public class IslandDeletionManager implements Listener {
 
+    /**
+     * Below this number of ticks per second, the time budget is halved
+     */
+    private static final double SLOW_TPS = 18D;
+    /**
+     * Below this number of ticks per second, deleting is only done once every {@link #LAGGING_INTERVAL} ticks
+     */
+    private static final double MIN_TPS = 15D;
+    /**
+     * Ticks between two bits of deleting while the server is lagging badly, so that deleting never stops
+     */
+    private static final long LAGGING_INTERVAL = 20L;
+    /**
+     * Time budget in nanoseconds while the server is lagging badly
+     */
+    private static final long LAGGING_BUDGET = 1_000_000L;
+    /**
+     * Ticks between two progress reports in the console
+     */
+    private static final long REPORT_INTERVAL = 20L * 60;
+
     private BentoBox plugin;
     /**
      * Queue of islands to delete
      */
     private Database<IslandDeletion> handler;
-    private Set<Location> inDeletion;
+    private final LinkedList<IslandDeletion> queue = new LinkedList<>();
+    // Island centers in deletion, by world and packed block x and z
+    private final Map<World, Set<Long>> inDeletion = new HashMap<>();
+    private DeleteIslandChunks current;
+    private BukkitTask task;
+    // Measured ticks per second
+    private double tps = 20D;
+    private long lastTick;
+    private long ticks;
+    private int deletedCount;
 
     public IslandDeletionManager(BentoBox plugin) {
         this.plugin = plugin;
         handler = new Database<>(plugin, IslandDeletion.class);
-        inDeletion = new HashSet<>();
     }
 
     /**
@@ -48,28 +89,88 @@ public class IslandDeletionManager implements Listener {
         List<IslandDeletion> toBeDeleted = handler.loadObjects();
         if (!toBeDeleted.isEmpty()) {
             plugin.log("There are " + toBeDeleted.size() + " islands pending deletion.");
+            toBeDeleted.sort(Comparator.comparingLong(IslandDeletion::getQueuedDate));
             toBeDeleted.forEach(di -> {
                 plugin.log("Resuming deletion of island at " + di.getLocation().getWorld().getName() + " " + Util.xyz(di.getLocation().toVector()));
-                inDeletion.add(di.getLocation());
-                new DeleteIslandChunks(plugin, di);
+                add(di);
             });
         }
     }
 
-    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
-    public void onIslandDelete(IslandDeleteChunksEvent e) {
-        // Store location
-        inDeletion.add(e.getDeletedIslandInfo().getLocation());
-        // Save to database
-        handler.saveObject(e.getDeletedIslandInfo());
+    /**
+     * Queues an island deletion and stores it in the database
+     * @param di - island deletion
+     * @since 1.6.0
+     */
+    public void delete(@NonNull IslandDeletion di) {
+        handler.saveObject(di);
+        add(di);
     }
 
-    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
-    public void onIslandDeleted(IslandDeletedEvent e) {
-        // Delete
-        inDeletion.remove(e.getDeletedIslandInfo().getLocation());
+    private void add(IslandDeletion di) {
+        queue.add(di);
+        Location l = di.getLocation();
+        inDeletion.computeIfAbsent(l.getWorld(), k -> new HashSet<>()).add(key(l));
+        if (task == null) {
+            lastTick = System.nanoTime();
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    /**
+     * Works on the deletions until the tick's time budget is used up
+     */
+    void tick() {
+        long now = System.nanoTime();
+        // Moving average of the ticks per second
+        tps = 0.95D * tps + 0.05D * Math.min(20D, 1_000_000_000D / Math.max(1L, now - lastTick));
+        lastTick = now;
+        ticks++;
+        if (current == null) {
+            IslandDeletion di = queue.poll();
+            if (di == null) {
+                task.cancel();
+                task = null;
+                return;
+            }
+            current = DeleteIslandChunks.of(plugin, di);
+        }
+        if (ticks % REPORT_INTERVAL == 0) {
+            plugin.log("Deleting islands: " + current.getChunksDone() + "/" + current.getChunksTotal() + " chunks of the current island, "
+                    + queue.size() + " more islands pending");
+        }
+        long budget;
+        if (tps < MIN_TPS) {
+            if (ticks % LAGGING_INTERVAL != 0) {
+                // Let the server catch up
+                return;
+            }
+            budget = LAGGING_BUDGET;
+        } else {
+            budget = Math.max(1, plugin.getSettings().getDeletionTimeBudget()) * 1_000_000L;
+            if (tps < SLOW_TPS) {
+                budget /= 2;
+            }
+        }
+        if (current.tick(now + budget)) {
+            finish(current.getDeletion());
+            current = null;
+        }
+    }
+
+    private void finish(IslandDeletion di) {
+        Location l = di.getLocation();
+        Set<Long> set = inDeletion.get(l.getWorld());
+        if (set != null) {
+            set.remove(key(l));
+        }
+        deletedCount++;
         // Delete from database
-        handler.deleteID(e.getDeletedIslandInfo().getUniqueId());
+        handler.deleteID(di.getUniqueId());
+    }
+
+    private static long key(Location l) {
+        return ((long)l.getBlockX() << 32) | (l.getBlockZ() & 0xFFFFFFFFL);
     }
 
     /**
@@ -77,7 +178,44 @@ public class IslandDeletionManager implements Listener {
      * @param location - center of location
      * @return true if island is in the process of being deleted
      */
-    public boolean inDeletion(Location location) {
-        return inDeletion.contains(location);
+    public boolean inDeletion(@Nullable Location location) {
+        if (location == null) {
+            return false;
+        }
+        Set<Long> set = inDeletion.get(location.getWorld());
+        return set != null && set.contains(key(location));
+    }
+
+    /**
+     * @return number of island deletions waiting to start, not counting the one in progress
+     * @since 1.6.0
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * @return the deletion in progress or null if there is none
+     * @since 1.6.0
+     */
+    @Nullable
+    public DeleteIslandChunks getCurrentDeletion() {
+        return current;
+    }
+
+    /**
+     * @return number of islands deleted since the server started
+     * @since 1.6.0
+     */
+    public int getDeletedCount() {
+        return deletedCount;
+    }
+
+    /**
+     * @return the measured number of ticks per second, used to slow down deleting when the server is lagging
+     * @since 1.6.0
+     */
+    public double getTps() {
+        return tps;
     }
 }
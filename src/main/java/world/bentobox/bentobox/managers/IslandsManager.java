@@ -2,15 +2,18 @@ package world.bentobox.bentobox.managers;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.bukkit.Bukkit;
@@ -21,8 +24,6 @@ import org.bukkit.TreeSpecies;
 import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
-import org.bukkit.block.data.BlockData;
-import org.bukkit.block.data.Openable;
 import org.bukkit.entity.Boat;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
@@ -37,6 +38,7 @@ import com.google.common.collect.ImmutableMap;
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.events.IslandBaseEvent;
 import world.bentobox.bentobox.api.events.island.IslandEvent;
+import world.bentobox.bentobox.api.events.island.IslandEvent.IslandDeletedEvent;
 import world.bentobox.bentobox.api.events.island.IslandEvent.Reason;
 import world.bentobox.bentobox.api.localization.TextVariables;
 import world.bentobox.bentobox.api.logs.LogEntry;
@@ -46,8 +48,12 @@ import world.bentobox.bentobox.database.objects.Island;
 import world.bentobox.bentobox.database.objects.IslandDeletion;
 import world.bentobox.bentobox.lists.Flags;
 import world.bentobox.bentobox.managers.island.IslandCache;
-import world.bentobox.bentobox.util.DeleteIslandChunks;
+import world.bentobox.bentobox.managers.island.IslandCreationQueue;
+import world.bentobox.bentobox.managers.island.IslandLogStore;
+import world.bentobox.bentobox.managers.island.IslandSlots;
+import world.bentobox.bentobox.managers.island.IslandTrash;
 import world.bentobox.bentobox.util.Util;
+import world.bentobox.bentobox.util.teleport.SafeLocationFinder;
 import world.bentobox.bentobox.util.teleport.SafeSpotTeleport;
 
 /**
@@ -89,10 +95,24 @@ public class IslandsManager {
     private IslandCache islandCache;
     // Quarantined islands
     @NonNull
-    private Map<UUID, List<Island>> quarantineCache;
+    private IslandTrash trash;
     // Deleted islands
     @NonNull
     private List<String> deletedIslands;
+    // Full history of the islands
+    @NonNull
+    private IslandLogStore logStore;
+    // Number of online players with coop rank or above by island, counted when first needed
+    @NonNull
+    private Map<Island, Integer> onlineMembers;
+    // Free island spots by world, worked out when first needed
+    @NonNull
+    private Map<World, IslandSlots> slots;
+    @NonNull
+    private IslandCreationQueue creationQueue;
+    // Frees the island spot once the chunks of a deleted island have been regenerated
+    @NonNull
+    private final Consumer<IslandBaseEvent> deletedSubscriber = e -> freeIslandSlot(((IslandDeletedEvent)e).getDeletedIslandInfo().getLocation());
 
     /**
      * Islands Manager
@@ -103,12 +123,17 @@ public class IslandsManager {
         // Set up the database handler to store and retrieve Island classes
         handler = new Database<>(plugin, Island.class);
         islandCache = new IslandCache();
-        quarantineCache = new HashMap<>();
+        trash = new IslandTrash();
         spawn = new HashMap<>();
         last = new HashMap<>();
         // This list should always be empty unless database deletion failed
         // In that case a purge utility may be required in the future
         deletedIslands = new ArrayList<>();
+        logStore = new IslandLogStore(plugin);
+        onlineMembers = new HashMap<>();
+        slots = new HashMap<>();
+        creationQueue = new IslandCreationQueue(plugin);
+        IslandEvent.subscribe(Reason.DELETED, deletedSubscriber);
     }
 
     /**
@@ -116,7 +141,9 @@ public class IslandsManager {
      * @param l - location around which to scan
      * @param i - the range to scan for a location less than 0 means the full island.
      * @return - safe location, or null if none can be found
+     * @deprecated As of 1.6.0, for removal. Use {@link #findSafeLocation(Location, int)} instead.
      */
+    @Deprecated
     @Nullable
     public Location bigScan(@NonNull Location l, int i) {
         final int height;
@@ -185,6 +212,26 @@ public class IslandsManager {
         return null;
     }
 
+    /**
+     * Finds the closest safe location, like {@link #bigScan(Location, int)}, without making the server wait.
+     * The chunks are searched as snapshots in the background.
+     * @param l - location around which to scan
+     * @param i - the range to scan for a location less than 0 means the full island.
+     * @return future safe location, or null if none can be found. It is completed on the main thread.
+     * @since 1.6.0
+     */
+    @NonNull
+    public CompletableFuture<Location> findSafeLocation(@NonNull Location l, int i) {
+        if (i > 0) {
+            return new SafeLocationFinder(plugin).find(l, i, i, i);
+        }
+        Optional<Island> island = getIslandAt(l);
+        if (!island.isPresent()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return new SafeLocationFinder(plugin).find(l, island.get().getProtectionRange(), l.getBlockY(), l.getWorld().getMaxHeight() - l.getBlockY());
+    }
+
     /**
      * Checks if this location is safe for a player to teleport to. Used by
      * warps and boat exits Unsafe is any liquid or air and also if there's no
@@ -200,41 +247,8 @@ public class IslandsManager {
         Block ground = l.getBlock().getRelative(BlockFace.DOWN);
         Block space1 = l.getBlock();
         Block space2 = l.getBlock().getRelative(BlockFace.UP);
-
-        // Ground must be solid
-        if (!ground.getType().isSolid()) {
-            return false;
-        }
-        // Cannot be submerged or water cannot be dangerous
-        if (space1.isLiquid() && (space2.isLiquid() || plugin.getIWM().isWaterNotSafe(l.getWorld()))) {
-            return false;
-        }
-
-        // Portals are not "safe"
-        if (space1.getType() == Material.NETHER_PORTAL || ground.getType() == Material.NETHER_PORTAL || space2.getType() == Material.NETHER_PORTAL
-                || space1.getType() == Material.END_PORTAL || ground.getType() == Material.END_PORTAL || space2.getType() == Material.END_PORTAL) {
-            return false;
-        }
-        if (ground.getType().equals(Material.LAVA)
-                || space1.getType().equals(Material.LAVA)
-                || space2.getType().equals(Material.LAVA)) {
-            return false;
-        }
-
-        // Check for trapdoors
-        BlockData bd = ground.getBlockData();
-        if (bd instanceof Openable) {
-            return !((Openable)bd).isOpen();
-        }
-
-        if (ground.getType().equals(Material.CACTUS) || ground.getType().toString().contains("BOAT") || ground.getType().toString().contains("FENCE")
-                || ground.getType().toString().contains("SIGN")) {
-            return false;
-        }
-        // Check that the space is not solid
-        // The isSolid function is not fully accurate (yet) so we have to check a few other items
-        // isSolid thinks that PLATEs and SIGNS are solid, but they are not
-        return (!space1.getType().isSolid() || space1.getType().toString().contains("SIGN")) && (!space2.getType().isSolid() || space2.getType().toString().contains("SIGN"));
+        return SafeLocationFinder.isSafe(ground.getType(), ground.getBlockData(), space1.getType(), space1.isLiquid(),
+                space2.getType(), space2.isLiquid(), plugin.getIWM().isWaterNotSafe(l.getWorld()));
     }
 
     /**
@@ -289,6 +303,7 @@ public class IslandsManager {
         if (removeBlocks) {
             // Remove island from the cache
             islandCache.deleteIslandFromCache(island);
+            onlineMembers.remove(island);
             // Log the deletion (it shouldn't matter but may be useful)
             island.log(new LogEntry.Builder("DELETED").build());
             // Set the delete flag which will prevent it from being loaded even if database deletion fails
@@ -300,7 +315,7 @@ public class IslandsManager {
             // Remove players from island
             removePlayersFromIsland(island);
             // Remove blocks from world
-            new DeleteIslandChunks(plugin, new IslandDeletion(island));
+            plugin.getIslandDeletionManager().delete(new IslandDeletion(island));
         }
     }
 
@@ -390,6 +405,44 @@ public class IslandsManager {
         return last.get(world);
     }
 
+    /**
+     * Gets the free island spots of a world. The spots of the islands in the world are marked as used
+     * the first time this is called for the world.
+     * @param world - world
+     * @return island spots of the world
+     * @since 1.6.0
+     */
+    @NonNull
+    public IslandSlots getIslandSlots(@NonNull World world) {
+        return slots.computeIfAbsent(Util.getWorld(world), w -> {
+            IslandSlots s = new IslandSlots(plugin, w);
+            islandCache.getIslands().stream().filter(i -> w.equals(i.getWorld()) && i.getCenter() != null).forEach(i -> s.setUsed(i.getCenter()));
+            return s;
+        });
+    }
+
+    /**
+     * @return the queue of island creations
+     * @since 1.6.0
+     */
+    @NonNull
+    public IslandCreationQueue getIslandCreationQueue() {
+        return creationQueue;
+    }
+
+    /**
+     * Frees an island spot, so that a new island can be made there.
+     * Called when the chunks of a deleted island have been regenerated, see {@link Reason#DELETED}.
+     * @param center - center of the deleted island
+     * @since 1.6.0
+     */
+    public void freeIslandSlot(@NonNull Location center) {
+        IslandSlots s = slots.get(Util.getWorld(center.getWorld()));
+        if (s != null) {
+            s.free(center);
+        }
+    }
+
     /**
      * Returns a set of island member UUID's for the island of playerUUID of rank <tt>minimumRank</tt>
      * and above.
@@ -422,12 +475,101 @@ public class IslandsManager {
      * This includes only the protected area. Use {@link #getIslandAt(Location)}
      * for the full island space.
      *
+     * <p>
+     * Most chunks are wholly inside one island's protected area or outside all of them, so this is usually
+     * one look up in the island cache's chunk map.
+     *
      * @param location - the location
      * @return Optional Island object
      */
-
     public Optional<Island> getProtectedIslandAt(Location location) {
-        return getIslandAt(location).filter(i -> i.onIsland(location));
+        return plugin.getIWM().inWorld(location)
+                ? Optional.ofNullable(islandCache.getProtectedIslandAt(location.getWorld(), location.getBlockX(), location.getBlockZ()))
+                        : Optional.empty();
+    }
+
+    /**
+     * Checks if a block column is in the protected area of an island.
+     * Unlike {@link #getProtectedIslandAt(Location)}, this does not create any objects, and in most chunks it does
+     * not need to look the island up at all.
+     *
+     * @param world - world
+     * @param x - block x coordinate
+     * @param z - block z coordinate
+     * @return true if the block column is in the protected area of an island
+     * @since 1.6.0
+     */
+    public boolean isProtectedAt(@NonNull World world, int x, int z) {
+        return plugin.getIWM().inWorld(world) && islandCache.getProtectedIslandAt(world, x, z) != null;
+    }
+
+    /**
+     * Returns the islands whose protected area overlaps an area.
+     * This is one grid look up for the whole area, so it is much faster than checking each block of the area.
+     *
+     * @param world - world of the area
+     * @param minX - lowest block x coordinate of the area
+     * @param minZ - lowest block z coordinate of the area
+     * @param maxX - highest block x coordinate of the area, inclusive
+     * @param maxZ - highest block z coordinate of the area, inclusive
+     * @return list of islands, may be empty
+     * @since 1.6.0
+     */
+    @NonNull
+    public List<Island> getProtectedIslandsIn(@NonNull World world, int minX, int minZ, int maxX, int maxZ) {
+        if (!plugin.getIWM().inWorld(world)) {
+            return new ArrayList<>(0);
+        }
+        List<Island> islands = islandCache.getIslandsIn(world, minX, minZ, maxX, maxZ);
+        islands.removeIf(i -> i.getMinProtectedX() > maxX || i.getMaxProtectedX() <= minX
+                || i.getMinProtectedZ() > maxZ || i.getMaxProtectedZ() <= minZ);
+        return islands;
+    }
+
+    /**
+     * Removes the blocks that are in the protected area of an island that matches the filter, for example
+     * the blocks that an explosion must not break.
+     * <p>
+     * The islands are looked up once for the whole area covered by the blocks. If all the blocks are in the protected
+     * area of one island, which is the usual case, they are all removed without checking them one by one.
+     *
+     * @param blocks - blocks, all in the same world
+     * @param filter - islands whose blocks must be removed
+     * @return {@code true} if any blocks were removed
+     * @since 1.6.0
+     */
+    public boolean removeProtectedBlocks(@NonNull List<Block> blocks, @NonNull Predicate<Island> filter) {
+        if (blocks.isEmpty()) {
+            return false;
+        }
+        int minX = Integer.MAX_VALUE;
+        int minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxZ = Integer.MIN_VALUE;
+        for (Block b : blocks) {
+            minX = Math.min(minX, b.getX());
+            minZ = Math.min(minZ, b.getZ());
+            maxX = Math.max(maxX, b.getX());
+            maxZ = Math.max(maxZ, b.getZ());
+        }
+        List<Island> islands = getProtectedIslandsIn(blocks.get(0).getWorld(), minX, minZ, maxX, maxZ);
+        islands.removeIf(filter.negate());
+        if (islands.isEmpty()) {
+            return false;
+        }
+        if (islands.size() == 1 && islands.get(0).onIsland(minX, minZ) && islands.get(0).onIsland(maxX, maxZ)) {
+            // Every block is in this island's protected area
+            blocks.clear();
+            return true;
+        }
+        return blocks.removeIf(b -> {
+            for (Island i : islands) {
+                if (i.onIsland(b.getX(), b.getZ())) {
+                    return true;
+                }
+            }
+            return false;
+        });
     }
 
     /**
@@ -440,6 +582,42 @@ public class IslandsManager {
      * @return Location of a safe teleport spot or null if one cannot be found
      */
     public Location getSafeHomeLocation(World world, User user, int number) {
+        return getSafeHomeLocation(world, user, number, true);
+    }
+
+    /**
+     * Determines a safe teleport spot on player's island or the team island they belong to, like
+     * {@link #getSafeHomeLocation(World, User, int)}. The last resort search up to the sky is done on a
+     * chunk snapshot in the background, so the server does not have to wait for it.
+     *
+     * @param world - world to check
+     * @param user - the player
+     * @param number - a number - starting home location e.g., 1
+     * @return future safe teleport spot, or null if one cannot be found. It is completed on the main thread.
+     * @since 1.6.0
+     */
+    @NonNull
+    public CompletableFuture<Location> getAsyncSafeHomeLocation(World world, User user, int number) {
+        Location home = getSafeHomeLocation(world, user, number, false);
+        if (home != null) {
+            return CompletableFuture.completedFuture(home);
+        }
+        Location l = getIslandLocation(world, user.getUniqueId());
+        if (l == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        int homeNumber = plugin.getPlayers().getHomeLocation(world, user, number) == null ? 1 : number;
+        // Try all the way up to the sky
+        return new SafeLocationFinder(plugin).find(l, 0, 0, 254 - l.getBlockY()).thenApply(n -> {
+            if (n != null) {
+                plugin.getPlayers().setHomeLocation(user, n, homeNumber);
+            }
+            return n;
+        });
+    }
+
+    @Nullable
+    private Location getSafeHomeLocation(World world, User user, int number, boolean scanUp) {
         // Try the numbered home location first
         Location l = plugin.getPlayers().getHomeLocation(world, user, number);
 
@@ -501,6 +679,9 @@ public class IslandsManager {
             plugin.getPlayers().setHomeLocation(user, dl, number);
             return dl;
         }
+        if (!scanUp) {
+            return null;
+        }
         // Try all the way up to the sky
         for (int y = l.getBlockY(); y < 255; y++) {
             final Location n = new Location(l.getWorld(), l.getX() + 0.5D, y, l.getZ() + 0.5D);
@@ -609,7 +790,10 @@ public class IslandsManager {
      */
     public void homeTeleport(World world, Player player, int number, boolean newIsland) {
         User user = User.getInstance(player);
-        Location home = getSafeHomeLocation(world, user, number);
+        getAsyncSafeHomeLocation(world, user, number).thenAccept(home -> homeTeleport(world, player, user, number, newIsland, home));
+    }
+
+    private void homeTeleport(World world, Player player, User user, int number, boolean newIsland, @Nullable Location home) {
         // Stop any gliding
         player.setGliding(false);
         // Check if the player is a passenger in a boat
@@ -733,6 +917,7 @@ public class IslandsManager {
         }
         this.spawn.put(spawn.getWorld(), spawn);
         spawn.setSpawn(true);
+        onlineMembers.remove(spawn);
     }
 
     /**
@@ -748,7 +933,8 @@ public class IslandsManager {
      */
     public void load() {
         islandCache.clear();
-        quarantineCache.clear();
+        onlineMembers.clear();
+        trash.clear();
         List<Island> toQuarantine = new ArrayList<>();
         int owned = 0;
         int unowned = 0;
@@ -758,21 +944,22 @@ public class IslandsManager {
                 plugin.logWarning("Null island when loading...");
                 continue;
             }
+            moveHistory(island);
             if (island.isDeleted()) {
                 // These will be deleted later
                 deletedIslands.add(island.getUniqueId());
             } else if (island.isDoNotLoad() && island.getWorld() != null && island.getCenter() != null) {
-                // Add to quarantine cache
-                quarantineCache.computeIfAbsent(island.getOwner(), k -> new ArrayList<>()).add(island);
+                // Add to quarantine index
+                trash.add(island);
             } else {
                 // Fix island center if it is off
                 fixIslandCenter(island);
                 if (!islandCache.addIsland(island)) {
                     // Quarantine the offending island
                     toQuarantine.add(island);
-                    // Add to quarantine cache
+                    // Add to quarantine index
                     island.setDoNotLoad(true);
-                    quarantineCache.computeIfAbsent(island.getOwner(), k -> new ArrayList<>()).add(island);
+                    trash.add(island);
                     if (island.getOwner() == null) {
                         unowned++;
                     } else {
@@ -823,6 +1010,22 @@ public class IslandsManager {
         }
     }
 
+    /**
+     * Moves the history of islands saved before the history was stored separately to the log store
+     * and only keeps the most recent entries in the island
+     * @param island - island
+     */
+    private void moveHistory(Island island) {
+        List<LogEntry> history = island.getHistory();
+        if (history == null || history.isEmpty() || logStore.exists(island.getUniqueId())) {
+            return;
+        }
+        logStore.appendAll(island.getUniqueId(), new ArrayList<>(history));
+        if (history.size() > IslandLogStore.RECENT_HISTORY_SIZE) {
+            island.setHistory(new LinkedList<>(history.subList(history.size() - IslandLogStore.RECENT_HISTORY_SIZE, history.size())));
+        }
+    }
+
     /**
      * Island coordinates should always be a multiple of the island distance x 2. If they are not, this method
      * realigns the grid coordinates.
@@ -858,7 +1061,7 @@ public class IslandsManager {
             return false;
         }
         // Get the player's island
-        return getIslandAt(loc).filter(i -> i.onIsland(loc)).map(i -> i.getMemberSet().contains(player.getUniqueId())).orElse(false);
+        return getProtectedIslandAt(loc).map(i -> i.getMemberSet().contains(player.getUniqueId())).orElse(false);
     }
 
     /**
@@ -898,6 +1101,7 @@ public class IslandsManager {
     public void removePlayer(World world, UUID uuid) {
         Island island = islandCache.removePlayer(world, uuid);
         if (island != null) {
+            onlineMembers.remove(island);
             handler.saveObject(island);
         }
     }
@@ -952,6 +1156,7 @@ public class IslandsManager {
         // Add player to new island
         teamIsland.addMember(playerUUID);
         islandCache.addPlayer(playerUUID, teamIsland);
+        onlineMembers.remove(teamIsland);
         // Save the island
         handler.saveObject(teamIsland);
     }
@@ -976,6 +1181,19 @@ public class IslandsManager {
         saveAll();
         islandCache.clear();
         handler.close();
+        logStore.shutdown();
+        IslandEvent.unsubscribe(Reason.DELETED, deletedSubscriber);
+    }
+
+    /**
+     * Gets the store that holds the full history of the islands.
+     * Islands only keep their most recent entries.
+     * @return the island log store
+     * @since 1.6.0
+     */
+    @NonNull
+    public IslandLogStore getLogStore() {
+        return logStore;
     }
 
     /**
@@ -1006,6 +1224,7 @@ public class IslandsManager {
      */
     public void setOwner(User user, UUID targetUUID, Island island) {
         islandCache.setOwner(island, targetUUID);
+        onlineMembers.remove(island);
         user.sendMessage("commands.island.team.setowner.name-is-the-owner", "[name]", plugin.getPlayers().getName(targetUUID));
         plugin.getIWM().getAddon(island.getWorld()).ifPresent(addon -> {
             User target = User.getInstance(targetUUID);
@@ -1023,8 +1242,9 @@ public class IslandsManager {
                     target.sendMessage("commands.admin.setrange.range-updated", TextVariables.NUMBER, String.valueOf(range));
                     plugin.log("Setowner: Island protection range changed from " + island.getProtectionRange() + " to "
                             + range + " for " + user.getName() + " due to permission.");
+                    island.setProtectionRange(range);
+                    islandCache.protectionChanged(island);
                 }
-                island.setProtectionRange(range);
             }
         });
     }
@@ -1049,7 +1269,63 @@ public class IslandsManager {
      * @param uniqueId - UUID of player
      */
     public void clearRank(int rank, UUID uniqueId) {
-        islandCache.getIslands().forEach(i -> i.getMembers().entrySet().removeIf(e -> e.getKey().equals(uniqueId) && e.getValue() == rank));
+        islandCache.getIslands().forEach(i -> {
+            if (i.getMembers().entrySet().removeIf(e -> e.getKey().equals(uniqueId) && e.getValue() == rank)) {
+                clearOnlineMembers(i);
+            }
+        });
+    }
+
+    /**
+     * Checks if any player with coop rank or above on this island is online.
+     * The number of online members is kept per island, so this is cheap enough to call on every block event.
+     * @param island - island
+     * @return true if at least one member, trusted or coop player is online
+     * @since 1.6.0
+     */
+    public boolean hasOnlineMembers(@NonNull Island island) {
+        Integer count = onlineMembers.get(island);
+        if (count == null) {
+            count = 0;
+            for (Map.Entry<UUID, Integer> en : island.getMembers().entrySet()) {
+                if (en.getValue() >= RanksManager.COOP_RANK && Bukkit.getPlayer(en.getKey()) != null) {
+                    count++;
+                }
+            }
+            onlineMembers.put(island, count);
+        }
+        return count > 0;
+    }
+
+    /**
+     * Forgets the number of online members of the islands a player has coop rank or above on,
+     * so that it is counted again. Called when the player joins or leaves.
+     * @param playerUUID - player's UUID
+     * @since 1.6.0
+     */
+    public void clearOnlineMembers(@NonNull UUID playerUUID) {
+        onlineMembers.keySet().removeIf(i -> i.getMembers().getOrDefault(playerUUID, RanksManager.VISITOR_RANK) >= RanksManager.COOP_RANK);
+    }
+
+    /**
+     * Forgets the number of online members of an island, so that it is counted again.
+     * Must be called on the main thread after the members of the island or their ranks are changed directly
+     * on the {@link Island}. The team, spawn and owner methods of this manager already do this.
+     * @param island - island
+     * @since 1.6.0
+     */
+    public void clearOnlineMembers(@NonNull Island island) {
+        onlineMembers.remove(island);
+    }
+
+    /**
+     * Tells the island cache that the protected area of an island changed.
+     * Must be called on the main thread after {@link Island#setProtectionRange(int)} changes the range.
+     * @param island - island
+     * @since 1.6.0
+     */
+    public void protectionChanged(@NonNull Island island) {
+        islandCache.protectionChanged(island);
     }
 
     /**
@@ -1072,17 +1348,49 @@ public class IslandsManager {
     }
 
     /**
-     * Try to get a list of quarantined islands owned by uuid in this world
+     * Try to get a list of quarantined islands owned by uuid in this world.
+     * The islands are loaded from the database.
      *
      * @param world - world
      * @param uuid - target player's UUID, or <tt>null</tt> = unowned islands
      * @return list of islands; may be empty
      * @since 1.3.0
+     * @see #getQuarantinedIslandSummaries(World, UUID)
      */
     @NonNull
     public List<Island> getQuarantinedIslandByUser(@NonNull World world, @Nullable UUID uuid) {
-        return quarantineCache.getOrDefault(uuid, Collections.emptyList()).stream()
-                .filter(i -> i.getWorld().equals(world)).collect(Collectors.toList());
+        List<Island> result = new ArrayList<>();
+        for (IslandTrash.Summary summary : trash.get(world, uuid)) {
+            Island island = handler.loadObject(summary.getUniqueId());
+            if (island != null) {
+                result.add(island);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the summaries of the quarantined islands owned by uuid in this world, without loading them.
+     *
+     * @param world - world
+     * @param uuid - target player's UUID, or <tt>null</tt> = unowned islands
+     * @return unmodifiable list of summaries in the order the islands were trashed; may be empty
+     * @since 1.6.0
+     */
+    @NonNull
+    public List<IslandTrash.Summary> getQuarantinedIslandSummaries(@NonNull World world, @Nullable UUID uuid) {
+        return trash.get(world, uuid);
+    }
+
+    /**
+     * Loads a quarantined island from the database
+     * @param summary - summary of the quarantined island
+     * @return the island, or empty if it could not be loaded
+     * @since 1.6.0
+     */
+    @NonNull
+    public Optional<Island> loadQuarantinedIsland(@NonNull IslandTrash.Summary summary) {
+        return Optional.ofNullable(handler.loadObject(summary.getUniqueId()));
     }
 
     /**
@@ -1093,20 +1401,26 @@ public class IslandsManager {
      * @since 1.3.0
      */
     public void deleteQuarantinedIslandByUser(World world, @Nullable UUID uuid) {
-        if (quarantineCache.containsKey(uuid)) {
-            quarantineCache.get(uuid).stream().filter(i -> i.getWorld().equals(world))
-            .forEach(i -> handler.deleteObject(i));
-            quarantineCache.get(uuid).removeIf(i -> i.getWorld().equals(world));
-        }
+        trash.removeAll(world, uuid).forEach(summary -> handler.deleteID(summary.getUniqueId()));
     }
 
     /**
-     * @return the quarantineCache
+     * Gets all the quarantined islands by owner. The islands are loaded from the database.
+     * @return map of quarantined islands by owner
      * @since 1.3.0
+     * @deprecated As of 1.6.0, for removal. Use {@link #getQuarantinedIslandSummaries(World, UUID)} instead.
      */
+    @Deprecated
     @NonNull
     public Map<UUID, List<Island>> getQuarantineCache() {
-        return quarantineCache;
+        Map<UUID, List<Island>> result = new HashMap<>();
+        for (IslandTrash.Summary summary : trash.getAll()) {
+            Island island = handler.loadObject(summary.getUniqueId());
+            if (island != null) {
+                result.computeIfAbsent(summary.getOwner(), k -> new ArrayList<>()).add(island);
+            }
+        }
+        return result;
     }
 
     /**
@@ -1117,8 +1431,8 @@ public class IslandsManager {
      * @since 1.3.0
      */
     public boolean purgeQuarantinedIsland(Island island) {
-        if (quarantineCache.containsKey(island.getOwner()) && quarantineCache.get(island.getOwner()).remove(island)) {
-            handler.deleteObject(island);
+        if (trash.remove(island.getWorld(), island.getOwner(), island.getUniqueId())) {
+            handler.deleteID(island.getUniqueId());
             return true;
         }
         return false;
@@ -1134,7 +1448,7 @@ public class IslandsManager {
      */
     public boolean switchIsland(World world, UUID target, Island island) {
         // Remove trashed island from trash
-        if (!quarantineCache.containsKey(island.getOwner()) || !quarantineCache.get(island.getOwner()).remove(island)) {
+        if (!trash.remove(island.getWorld(), island.getOwner(), island.getUniqueId())) {
             plugin.logError("Could not remove island from trash");
             return false;
         }
@@ -1142,12 +1456,13 @@ public class IslandsManager {
         if (this.hasIsland(world, target)) {
             Island oldIsland = islandCache.get(world, target);
             islandCache.removeIsland(oldIsland);
+            onlineMembers.remove(oldIsland);
 
             // Set old island to trash
             oldIsland.setDoNotLoad(true);
 
             // Put old island into trash
-            quarantineCache.computeIfAbsent(target, k -> new ArrayList<>()).add(oldIsland);
+            trash.add(oldIsland);
             // Save old island
             if (!handler.saveObject(oldIsland)) {
                 plugin.logError("Could not save trashed island in database");
@@ -16,6 +16,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
@@ -155,6 +156,19 @@ public class LocalesManager {
      * @param localeFolder - locale folder location relative to the plugin's data folder
      */
     public void loadLocalesFromFile(String localeFolder) {
+        mergeLocales(readLocalesFromFile(localeFolder));
+    }
+
+    /**
+     * Reads all the locales available in the locale folder given, without storing them.
+     * This does not change the loaded locales, so it can be done async.
+     *
+     * @param localeFolder - locale folder location relative to the plugin's data folder
+     * @return map of locales to their file contents, in file order
+     * @since 1.6.0
+     */
+    Map<Locale, YamlConfiguration> readLocalesFromFile(String localeFolder) {
+        Map<Locale, YamlConfiguration> result = new LinkedHashMap<>();
         // Filter for files of length 9 and ending with .yml
         FilenameFilter ymlFilter = (dir, name) -> name.toLowerCase(java.util.Locale.ENGLISH).endsWith(".yml") && name.length() == 9;
 
@@ -162,22 +176,14 @@ public class LocalesManager {
         File localeDir = new File(plugin.getDataFolder(), LOCALE_FOLDER + File.separator + localeFolder);
         if (!localeDir.exists()) {
             // If there is no locale folder, then return
-            return;
+            return result;
         }
-        // Run through the files and store the locales
+        // Run through the files and read the locales
         for (File language : Objects.requireNonNull(localeDir.listFiles(ymlFilter))) {
             Locale localeObject = Locale.forLanguageTag(language.getName().substring(0, language.getName().length() - 4));
 
             try {
-                YamlConfiguration languageYaml = YamlConfiguration.loadConfiguration(language);
-
-                if (languages.containsKey(localeObject)) {
-                    // Merge into current language
-                    languages.get(localeObject).merge(languageYaml);
-                } else {
-                    // New language
-                    languages.put(localeObject, new BentoBoxLocale(localeObject, languageYaml));
-                }
+                result.put(localeObject, YamlConfiguration.loadConfiguration(language));
             } catch (Exception e) {
                 BentoBox.getInstance().logError("Could not load '" + language.getName() + "' : " + e.getMessage()
                 + " with the following cause '" + e.getCause() + "'." +
@@ -185,6 +191,24 @@ public class LocalesManager {
                         );
             }
         }
+        return result;
+    }
+
+    /**
+     * Stores locales that were read by {@link #readLocalesFromFile(String)}
+     * @param locales - map of locales to their file contents
+     * @since 1.6.0
+     */
+    void mergeLocales(Map<Locale, YamlConfiguration> locales) {
+        locales.forEach((localeObject, languageYaml) -> {
+            if (languages.containsKey(localeObject)) {
+                // Merge into current language
+                languages.get(localeObject).merge(languageYaml);
+            } else {
+                // New language
+                languages.put(localeObject, new BentoBoxLocale(localeObject, languageYaml));
+            }
+        });
     }
 
     private void copyFile(String name, File targetFile) {
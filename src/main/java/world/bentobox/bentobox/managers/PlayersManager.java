@@ -1,5 +1,6 @@
 package world.bentobox.bentobox.managers;
 
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.eclipse.jdt.annotation.NonNull;
@@ -12,11 +13,11 @@ import world.bentobox.bentobox.database.objects.Players;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class PlayersManager {
 
@@ -26,6 +27,8 @@ public class PlayersManager {
 
     private Map<UUID, Players> playerCache;
     private Set<UUID> inTeleport;
+    // Players whose data was loaded before they logged in, and whether they were added to the cache to do so
+    private Map<UUID, Boolean> preloaded;
 
     /**
      * Provides a memory cache of online player information
@@ -40,8 +43,10 @@ public class PlayersManager {
         handler = new Database<>(plugin, Players.class);
         // Set up the names database
         names = new Database<>(plugin, Names.class);
-        playerCache = new HashMap<>();
+        // Players may be loaded async before they log in
+        playerCache = new ConcurrentHashMap<>();
         inTeleport = new HashSet<>();
+        preloaded = new ConcurrentHashMap<>();
     }
 
     /**
@@ -122,7 +127,49 @@ public class PlayersManager {
             } else {
                 player = new Players(plugin, playerUUID);
             }
-            playerCache.put(playerUUID, player);
+            // The player may have been loaded by another thread in the meantime
+            playerCache.putIfAbsent(playerUUID, player);
+        }
+    }
+
+    /**
+     * Loads the player into the cache and stores their name, so that nothing needs to be read
+     * from or written to the database when they join.
+     * This is meant to be called async, before the player logs in.
+     * @param playerUUID - the player's UUID
+     * @param name - the player's name
+     * @since 1.6.0
+     */
+    public void preload(@NonNull UUID playerUUID, @NonNull String name) {
+        boolean added = !playerCache.containsKey(playerUUID);
+        addPlayer(playerUUID);
+        if (!name.isEmpty()) {
+            playerCache.get(playerUUID).setPlayerName(name);
+            names.saveObject(new Names(name, playerUUID));
+            save(playerUUID);
+        }
+        preloaded.put(playerUUID, added);
+    }
+
+    /**
+     * Forgets that the player was preloaded
+     * @param playerUUID - the player's UUID
+     * @return true if the player was preloaded by {@link #preload(UUID, String)}
+     * @since 1.6.0
+     */
+    public boolean removePreloaded(@NonNull UUID playerUUID) {
+        return preloaded.remove(playerUUID) != null;
+    }
+
+    /**
+     * Forgets a preloaded player whose login was denied. If the player was only added to the cache
+     * by {@link #preload(UUID, String)}, they are removed from it again.
+     * @param playerUUID - the player's UUID
+     * @since 1.6.0
+     */
+    public void cancelPreload(@NonNull UUID playerUUID) {
+        if (Boolean.TRUE.equals(preloaded.remove(playerUUID)) && Bukkit.getPlayer(playerUUID) == null) {
+            playerCache.remove(playerUUID);
         }
     }
 
@@ -0,0 +1,93 @@
+package world.bentobox.bentobox.managers.island;
+
+import java.util.Arrays;
+
+/**
+ * Remembers what is known about the island protection of chunks, by chunk coordinates.
+ * <p>
+ * Keys are stored as primitive longs in an open addressing table, so looking a chunk up does not create any objects.
+ * The table has a fixed size and is emptied when it gets full, because every value can be worked out again.
+ * @author tastybento
+ * @since 1.6.0
+ */
+class ChunkProtectionCache {
+
+    private static final int BITS = 14;
+    private static final int CAPACITY = 1 << BITS;
+    private static final int MAX_SIZE = CAPACITY / 2;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+
+    /**
+     * Gets the value stored for a chunk
+     * @param chunkX - chunk x coordinate
+     * @param chunkZ - chunk z coordinate
+     * @return value or null if nothing is stored for this chunk
+     */
+    Object get(int chunkX, int chunkZ) {
+        if (size == 0) {
+            return null;
+        }
+        long key = key(chunkX, chunkZ);
+        for (int i = slot(key); values[i] != null; i = (i + 1) & (CAPACITY - 1)) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stores a value for a chunk
+     * @param chunkX - chunk x coordinate
+     * @param chunkZ - chunk z coordinate
+     * @param value - value, not null
+     */
+    void put(int chunkX, int chunkZ, Object value) {
+        if (values == null) {
+            keys = new long[CAPACITY];
+            values = new Object[CAPACITY];
+        } else if (size >= MAX_SIZE) {
+            clear();
+        }
+        long key = key(chunkX, chunkZ);
+        int i = slot(key);
+        while (values[i] != null) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & (CAPACITY - 1);
+        }
+        keys[i] = key;
+        values[i] = value;
+        size++;
+    }
+
+    /**
+     * Forgets all the chunks
+     */
+    void clear() {
+        if (size > 0) {
+            Arrays.fill(values, null);
+            size = 0;
+        }
+    }
+
+    /**
+     * @return number of chunks stored
+     */
+    int size() {
+        return size;
+    }
+
+    private static long key(int chunkX, int chunkZ) {
+        return ((long)chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private static int slot(long key) {
+        return (int)((key * 0x9E3779B97F4A7C15L) >>> (64 - BITS));
+    }
+}
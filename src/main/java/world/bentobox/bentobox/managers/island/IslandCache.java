@@ -1,9 +1,11 @@
 package world.bentobox.bentobox.managers.island;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -149,6 +151,50 @@ public class IslandCache {
         return grids.get(Util.getWorld(location.getWorld())).getIslandAt(location.getBlockX(), location.getBlockZ());
     }
 
+    /**
+     * Returns the islands whose full island space overlaps an area
+     *
+     * @param world - world of the area
+     * @param minX - lowest block x coordinate of the area
+     * @param minZ - lowest block z coordinate of the area
+     * @param maxX - highest block x coordinate of the area, inclusive
+     * @param maxZ - highest block z coordinate of the area, inclusive
+     * @return list of islands, may be empty
+     * @since 1.6.0
+     */
+    @NonNull
+    public List<Island> getIslandsIn(@NonNull World world, int minX, int minZ, int maxX, int maxZ) {
+        IslandGrid grid = grids.get(Util.getWorld(world));
+        return grid == null ? new ArrayList<>(0) : grid.getIslandsIn(minX, minZ, maxX, maxZ);
+    }
+
+    /**
+     * Returns the island whose protected area contains the block column or null if there is none.
+     * Most chunks are wholly inside one island's protected area or outside all of them, so this is usually one look up.
+     *
+     * @param world - world
+     * @param x - block x coordinate
+     * @param z - block z coordinate
+     * @return Island object
+     * @since 1.6.0
+     */
+    @Nullable
+    public Island getProtectedIslandAt(@NonNull World world, int x, int z) {
+        IslandGrid grid = grids.get(Util.getWorld(world));
+        return grid == null ? null : grid.getProtectedIslandAt(x, z);
+    }
+
+    /**
+     * Tells the cache that the protected area of an island has changed
+     * @param island - island
+     * @since 1.6.0
+     */
+    public void protectionChanged(@NonNull Island island) {
+        if (island.getWorld() != null && grids.containsKey(Util.getWorld(island.getWorld()))) {
+            grids.get(Util.getWorld(island.getWorld())).clearChunks();
+        }
+    }
+
     /**
      * Returns an <strong>unmodifiable collection</strong> of all the islands (even those who may be unowned).
      * @return unmodifiable collection containing every island.
@@ -0,0 +1,107 @@
+package world.bentobox.bentobox.managers.island;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.UUID;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.api.localization.TextVariables;
+
+/**
+ * Limits how many islands are created at the same time.
+ * <p>
+ * Creations started with {@link NewIsland.Builder#buildAsync()} run straight away while fewer than the
+ * maximum number of creations are in progress. The others wait in a first-in, first-out queue, and their
+ * players are told their position in it.
+ * @author tastybento
+ * @since 1.6.0
+ */
+public class IslandCreationQueue {
+
+    private final @NonNull BentoBox plugin;
+    private final List<NewIsland> active = new ArrayList<>();
+    private final LinkedList<NewIsland> queue = new LinkedList<>();
+
+    public IslandCreationQueue(@NonNull BentoBox plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Starts the creation, or queues it if too many creations are in progress
+     * @param newIsland - creation
+     */
+    void submit(@NonNull NewIsland newIsland) {
+        newIsland.getCompletion().whenComplete((island, e) -> finished(newIsland));
+        if (active.size() < Math.max(1, plugin.getSettings().getMaxConcurrentIslandCreations())) {
+            active.add(newIsland);
+            newIsland.start();
+            return;
+        }
+        queue.add(newIsland);
+        newIsland.getUser().sendMessage("commands.island.create.queued", TextVariables.NUMBER, String.valueOf(queue.size()));
+    }
+
+    /**
+     * Removes a creation that is done, failed or was cancelled, and starts the next one
+     * @param newIsland - creation
+     */
+    private void finished(NewIsland newIsland) {
+        if (queue.remove(newIsland)) {
+            // Cancelled while waiting
+            return;
+        }
+        if (active.remove(newIsland) && !queue.isEmpty()) {
+            NewIsland next = queue.poll();
+            active.add(next);
+            next.start();
+        }
+    }
+
+    /**
+     * Gets the position of a creation in the queue
+     * @param newIsland - creation
+     * @return 0 if the creation is in progress or is unknown, otherwise its position in the queue starting at 1
+     */
+    public int getQueuePosition(@NonNull NewIsland newIsland) {
+        int i = queue.indexOf(newIsland);
+        return i < 0 ? 0 : i + 1;
+    }
+
+    /**
+     * Gets the creation of a player's island that is in progress or waiting
+     * @param uuid - player's UUID
+     * @return creation or null if there is none
+     */
+    @Nullable
+    public NewIsland get(@NonNull UUID uuid) {
+        for (NewIsland n : active) {
+            if (n.getUser().getUniqueId().equals(uuid)) {
+                return n;
+            }
+        }
+        for (NewIsland n : queue) {
+            if (n.getUser().getUniqueId().equals(uuid)) {
+                return n;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return number of island creations in progress
+     */
+    public int getActiveCount() {
+        return active.size();
+    }
+
+    /**
+     * @return number of island creations waiting to start
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+}
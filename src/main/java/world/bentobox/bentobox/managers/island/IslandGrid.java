@@ -1,5 +1,7 @@
 package world.bentobox.bentobox.managers.island;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.TreeMap;
 
@@ -12,8 +14,19 @@ import world.bentobox.bentobox.database.objects.Island;
  *
  */
 class IslandGrid {
+    /**
+     * Chunk that is not in the protected area of any island
+     */
+    private static final Object UNPROTECTED = new Object();
+    /**
+     * Chunk that is only partly in the protected area of an island, or in the protected area of more than one island
+     */
+    private static final Object BOUNDARY = new Object();
+
     private TreeMap<Integer, TreeMap<Integer, Island>> grid = new TreeMap<>();
     private BentoBox plugin = BentoBox.getInstance();
+    // Chunk -> island whose protected area contains the whole chunk, UNPROTECTED or BOUNDARY
+    private final ChunkProtectionCache chunks = new ChunkProtectionCache();
 
     /**
      * Adds island to grid
@@ -59,6 +72,8 @@ class IslandGrid {
                         plugin.logError("2nd loaded owner: " + island.getOwner());
                     }
                 }
+                // The island in the grid may have been swapped
+                chunks.clear();
                 return false;
             } else {
                 // Add island
@@ -71,6 +86,7 @@ class IslandGrid {
             zEntry.put(island.getMinZ(), island);
             grid.put(island.getMinX(), zEntry);
         }
+        chunks.clear();
         return true;
     }
 
@@ -90,6 +106,7 @@ class IslandGrid {
                     // Island exists - delete it
                     zEntry.remove(z);
                     grid.put(x, zEntry);
+                    chunks.clear();
                     return true;
                 }
             }
@@ -119,4 +136,84 @@ class IslandGrid {
         }
         return null;
     }
+
+    /**
+     * Returns the islands whose full island space overlaps an area.
+     *
+     * @param minX - lowest x coordinate of the area
+     * @param minZ - lowest z coordinate of the area
+     * @param maxX - highest x coordinate of the area, inclusive
+     * @param maxZ - highest z coordinate of the area, inclusive
+     * @return list of islands, may be empty
+     */
+    public List<Island> getIslandsIn(int minX, int minZ, int maxX, int maxZ) {
+        List<Island> islands = new ArrayList<>(1);
+        // The first column may start before the area
+        Integer fromX = grid.floorKey(minX);
+        for (TreeMap<Integer, Island> zEntry : grid.subMap(fromX == null ? minX : fromX, true, maxX, true).values()) {
+            Integer fromZ = zEntry.floorKey(minZ);
+            for (Island island : zEntry.subMap(fromZ == null ? minZ : fromZ, true, maxZ, true).values()) {
+                if (island.getMaxX() > minX && island.getMaxZ() > minZ) {
+                    islands.add(island);
+                }
+            }
+        }
+        return islands;
+    }
+
+    /**
+     * Returns the island whose protected area contains the x,z location or null if there is none.
+     * <p>
+     * Each chunk is classified the first time it is looked up. Only in chunks on the edge of a protected area is the island looked up.
+     *
+     * @param x - x coordinate
+     * @param z - z coordinate
+     * @return Island or null
+     */
+    public Island getProtectedIslandAt(int x, int z) {
+        int chunkX = x >> 4;
+        int chunkZ = z >> 4;
+        Object state = chunks.get(chunkX, chunkZ);
+        if (state == null) {
+            state = classify(chunkX, chunkZ);
+            chunks.put(chunkX, chunkZ, state);
+        }
+        if (state == UNPROTECTED) {
+            return null;
+        }
+        if (state != BOUNDARY) {
+            return (Island)state;
+        }
+        Island island = getIslandAt(x, z);
+        return island != null && island.onIsland(x, z) ? island : null;
+    }
+
+    /**
+     * Forgets how the chunks are protected. Must be called when the protected area of an island changes.
+     */
+    public void clearChunks() {
+        chunks.clear();
+    }
+
+    private Object classify(int chunkX, int chunkZ) {
+        int minX = chunkX << 4;
+        int minZ = chunkZ << 4;
+        int maxX = minX + 15;
+        int maxZ = minZ + 15;
+        Island found = null;
+        for (Island island : getIslandsIn(minX, minZ, maxX, maxZ)) {
+            if (island.getMinProtectedX() > maxX || island.getMaxProtectedX() <= minX
+                    || island.getMinProtectedZ() > maxZ || island.getMaxProtectedZ() <= minZ) {
+                continue;
+            }
+            if (found != null) {
+                return BOUNDARY;
+            }
+            found = island;
+        }
+        if (found == null) {
+            return UNPROTECTED;
+        }
+        return found.onIsland(minX, minZ) && found.onIsland(maxX, maxZ) ? found : BOUNDARY;
+    }
 }
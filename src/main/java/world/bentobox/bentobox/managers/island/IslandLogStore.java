@@ -0,0 +1,194 @@
+package world.bentobox.bentobox.managers.island;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.api.logs.LogEntry;
+
+/**
+ * Stores the full history of each island in an append-only file, one JSON line per {@link LogEntry}.
+ * <p>
+ * The island itself only keeps its most recent entries, so saving an island does not rewrite its whole history.
+ * All file access is done in order on a single thread, so queries see every entry that was appended before them.
+ * @author tastybento
+ * @since 1.6.0
+ */
+public class IslandLogStore {
+
+    /**
+     * Number of most recent log entries kept in each island.
+     * This is not a field of {@link world.bentobox.bentobox.database.objects.Island Island} because every field of a data object is stored.
+     */
+    public static final int RECENT_HISTORY_SIZE = 20;
+
+    private static final String FOLDER_NAME = "database" + File.separator + "IslandHistory";
+    private static final String EXTENSION = ".log";
+
+    private final BentoBox plugin;
+    private final File folder;
+    private final Gson gson = new Gson();
+    private ExecutorService executor;
+
+    /**
+     * A log entry as it is written to the file
+     */
+    private static class Line {
+        private long timestamp;
+        private String type;
+        private Map<String, String> data;
+    }
+
+    public IslandLogStore(@NonNull BentoBox plugin) {
+        this.plugin = plugin;
+        this.folder = new File(plugin.getDataFolder(), FOLDER_NAME);
+    }
+
+    /**
+     * Appends an entry to an island's history
+     * @param islandId - island unique id
+     * @param entry - log entry
+     */
+    public void append(@NonNull String islandId, @NonNull LogEntry entry) {
+        appendAll(islandId, Collections.singletonList(entry));
+    }
+
+    /**
+     * Appends entries to an island's history, in order
+     * @param islandId - island unique id
+     * @param entries - log entries
+     */
+    public void appendAll(@NonNull String islandId, @NonNull List<LogEntry> entries) {
+        List<String> lines = new ArrayList<>(entries.size());
+        for (LogEntry entry : entries) {
+            Line line = new Line();
+            line.timestamp = entry.getTimestamp();
+            line.type = entry.getType();
+            line.data = entry.getData();
+            lines.add(gson.toJson(line));
+        }
+        run(() -> {
+            if (!folder.exists() && !folder.mkdirs()) {
+                plugin.logError("Could not create the island history folder!");
+                return;
+            }
+            try {
+                Files.write(getFile(islandId).toPath(), lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                plugin.logError("Could not save the history of island " + islandId + ": " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Gets a page of an island's history, most recent entries first
+     * @param islandId - island unique id
+     * @param page - page number, starting at 0
+     * @param pageSize - number of entries per page
+     * @return future list of log entries. It is empty if there are no entries on this page.
+     */
+    @NonNull
+    public CompletableFuture<List<LogEntry>> getHistory(@NonNull String islandId, int page, int pageSize) {
+        CompletableFuture<List<LogEntry>> result = new CompletableFuture<>();
+        run(() -> {
+            List<String> lines = readLines(islandId);
+            List<LogEntry> entries = new ArrayList<>();
+            int from = lines.size() - 1 - page * pageSize;
+            for (int i = from; i >= 0 && i > from - pageSize; i--) {
+                try {
+                    Line line = gson.fromJson(lines.get(i), Line.class);
+                    if (line != null && line.type != null) {
+                        entries.add(new LogEntry.Builder(line.type).timestamp(line.timestamp).data(line.data).build());
+                    }
+                } catch (JsonSyntaxException e) {
+                    plugin.logError("Skipping damaged history line of island " + islandId + ": " + e.getMessage());
+                }
+            }
+            result.complete(entries);
+        });
+        return result;
+    }
+
+    /**
+     * Gets the number of entries in an island's history
+     * @param islandId - island unique id
+     * @return future number of entries
+     */
+    @NonNull
+    public CompletableFuture<Integer> getSize(@NonNull String islandId) {
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+        run(() -> result.complete(readLines(islandId).size()));
+        return result;
+    }
+
+    /**
+     * Checks if an island has a history file. Islands saved before the history was stored separately do not.
+     * @param islandId - island unique id
+     * @return true if the island has a history file
+     */
+    public boolean exists(@NonNull String islandId) {
+        return getFile(islandId).exists();
+    }
+
+    private List<String> readLines(String islandId) {
+        File file = getFile(islandId);
+        if (!file.exists()) {
+            return Collections.emptyList();
+        }
+        try {
+            return Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            plugin.logError("Could not read the history of island " + islandId + ": " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    private File getFile(String islandId) {
+        return new File(folder, islandId + EXTENSION);
+    }
+
+    private synchronized void run(Runnable task) {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "BentoBox Island History");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        executor.execute(task);
+    }
+
+    /**
+     * Finishes writing the pending entries
+     */
+    public synchronized void shutdown() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                plugin.logWarning("Timed out while saving the island history");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+    }
+}
@@ -0,0 +1,351 @@
+package world.bentobox.bentobox.managers.island;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.util.Util;
+
+/**
+ * Hands out the free island spots of a world's grid, in the same spiral order as islands have always been placed.
+ * <p>
+ * The spots used by known islands are kept in a set, so finding the next free spot does not have to look up
+ * every used spot on the way. Spots freed when a deleted island's chunks have been regenerated are kept in a
+ * free list and handed out again first. When the game mode does not use its own generator, spots are checked for
+ * blocks on chunk snapshots. The next few spots are checked in the background after each spot is handed out,
+ * so that usually no check has to be done when an island is made.
+ * @author tastybento
+ * @since 1.6.0
+ */
+public class IslandSlots {
+
+    /**
+     * Maximum number of spots with blocks in them that are skipped in one go
+     */
+    private static final int MAX_UNOWNED_ISLANDS = 10;
+    /**
+     * Number of spots checked for blocks in the background
+     */
+    private static final int PRECHECK = 2;
+    /**
+     * Blocks are looked for up to this distance from the center along x and z
+     */
+    private static final int SCAN_RADIUS = 5;
+    /**
+     * Blocks are looked for from this height up
+     */
+    private static final int SCAN_MIN_Y = 10;
+
+    enum Result {
+        ISLAND_FOUND,
+        BLOCK_AT_CENTER,
+        BLOCKS_IN_AREA,
+        FREE
+    }
+
+    private final BentoBox plugin;
+    private final World world;
+    // Spot centers in spiral order, packed as x << 32 | z
+    private long[] spiral = new long[64];
+    private int spiralSize;
+    // Position of each spot in the spiral
+    private final Map<Long, Integer> spiralIndex = new HashMap<>();
+    // Next spot of the spiral, before it is snapped to the grid
+    private int nextX;
+    private int nextZ;
+    // Every spot before the cursor has been handed out or found to be used
+    private int cursor;
+    // Spots before the cursor that have been freed
+    private final BitSet freed = new BitSet();
+    // Spots that are known to be used
+    private final Set<Long> used = new HashSet<>();
+    // Spots that have been checked for blocks
+    private final Set<Long> checked = new HashSet<>();
+    // Spots being checked for blocks in the background
+    private final Set<Long> checking = new HashSet<>();
+
+    /**
+     * @param plugin - plugin
+     * @param world - world whose grid this is
+     */
+    public IslandSlots(@NonNull BentoBox plugin, @NonNull World world) {
+        this.plugin = plugin;
+        this.world = world;
+        nextX = plugin.getIWM().getIslandXOffset(world) + plugin.getIWM().getIslandStartX(world);
+        nextZ = plugin.getIWM().getIslandZOffset(world) + plugin.getIWM().getIslandStartZ(world);
+    }
+
+    private static long key(int x, int z) {
+        return ((long)x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    private static int getX(long key) {
+        return (int)(key >> 32);
+    }
+
+    private static int getZ(long key) {
+        return (int)key;
+    }
+
+    /**
+     * Marks the spot of an island as used
+     * @param center - island center
+     */
+    public void setUsed(@NonNull Location center) {
+        used.add(key(center.getBlockX(), center.getBlockZ()));
+    }
+
+    /**
+     * Frees the spot of an island so that it can be handed out again
+     * @param center - island center
+     */
+    public void free(@NonNull Location center) {
+        long key = key(center.getBlockX(), center.getBlockZ());
+        used.remove(key);
+        checked.remove(key);
+        Integer i = spiralIndex.get(key);
+        if (i != null && i < cursor) {
+            freed.set(i);
+        }
+    }
+
+    /**
+     * Gets the spot at this position in the spiral, working the spiral out as far as needed
+     * @param i - position in the spiral
+     * @return packed spot center
+     */
+    private long getSpot(int i) {
+        while (spiralSize <= i) {
+            Location l = Util.getClosestIsland(new Location(world, nextX, plugin.getIWM().getIslandHeight(world), nextZ));
+            long key = key(l.getBlockX(), l.getBlockZ());
+            if (spiralSize == spiral.length) {
+                spiral = Arrays.copyOf(spiral, spiralSize * 2);
+            }
+            spiralIndex.putIfAbsent(key, spiralSize);
+            spiral[spiralSize++] = key;
+            step();
+        }
+        return spiral[i];
+    }
+
+    /**
+     * Moves to the next spot of the spiral. Uses the island distance setting, so that islands are placed
+     * in a grid, working outwards.
+     */
+    private void step() {
+        int d = plugin.getIWM().getIslandDistance(world) * 2;
+        if (nextX < nextZ) {
+            if (-1 * nextX < nextZ) {
+                nextX += d;
+            } else {
+                nextZ += d;
+            }
+        } else if (nextX > nextZ) {
+            if (-1 * nextX >= nextZ) {
+                nextX -= d;
+            } else {
+                nextZ -= d;
+            }
+        } else if (nextX <= 0) {
+            nextZ += d;
+        } else {
+            nextZ -= d;
+        }
+    }
+
+    /**
+     * Gets the position in the spiral of the next spot to hand out, skipping spots that are known to be used
+     * @param from - position to start looking from
+     * @return position in the spiral
+     */
+    private int next(int from) {
+        int i = freed.nextSetBit(from);
+        if (i >= 0) {
+            return i;
+        }
+        i = Math.max(from, cursor);
+        while (used.contains(getSpot(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Hands out the next free island spot.
+     * Spots that have blocks in them are given an unowned island, as they would be by any other island check.
+     * @return center of the island spot or null if one cannot be found
+     */
+    @Nullable
+    public Location allocate() {
+        Map<Result, Integer> result = new EnumMap<>(Result.class);
+        while (result.getOrDefault(Result.BLOCK_AT_CENTER, 0) < MAX_UNOWNED_ISLANDS) {
+            int i = next(0);
+            long spot = getSpot(i);
+            if (i < cursor) {
+                freed.clear(i);
+            } else {
+                // Every spot up to here is used
+                cursor = i + 1;
+            }
+            Location location = toLocation(spot);
+            Result r = check(spot, location);
+            if (r == Result.FREE) {
+                used.add(spot);
+                precheck();
+                return location;
+            }
+            used.add(spot);
+            result.merge(r, 1, Integer::sum);
+        }
+        // We could not find a free spot within the limit required. It's likely this world is not empty
+        plugin.logError("Could not find a free spot for islands! Is this world empty?");
+        plugin.logError("Blocks at center locations: " + result.getOrDefault(Result.BLOCK_AT_CENTER, 0) + " max " + MAX_UNOWNED_ISLANDS);
+        plugin.logError("Blocks around center locations: " + result.getOrDefault(Result.BLOCKS_IN_AREA, 0) + " max " + MAX_UNOWNED_ISLANDS);
+        plugin.logError("Known islands: " + result.getOrDefault(Result.ISLAND_FOUND, 0) + " max unlimited.");
+        return null;
+    }
+
+    private Location toLocation(long spot) {
+        return new Location(world, getX(spot), plugin.getIWM().getIslandHeight(world), getZ(spot));
+    }
+
+    /**
+     * Checks if there is an island or blocks at this spot
+     * @param spot - packed spot center
+     * @param location - spot center
+     * @return result of the check
+     */
+    private Result check(long spot, Location location) {
+        if (plugin.getIslands().getIslandAt(location).isPresent() || plugin.getIslandDeletionManager().inDeletion(location)) {
+            return Result.ISLAND_FOUND;
+        }
+        if (plugin.getIWM().isUseOwnGenerator(world) || checked.contains(spot)) {
+            return Result.FREE;
+        }
+        Result r = scan(snapshot(location), location.getBlockX(), location.getBlockY(), location.getBlockZ(), world.getMaxHeight());
+        if (r != Result.FREE) {
+            plugin.getIslands().createIsland(location);
+        }
+        return r;
+    }
+
+    /**
+     * Checks the next spots for blocks in the background
+     */
+    private void precheck() {
+        if (plugin.getIWM().isUseOwnGenerator(world)) {
+            return;
+        }
+        int i = 0;
+        for (int n = 0; n < PRECHECK; n++, i++) {
+            i = next(i);
+            long spot = getSpot(i);
+            if (checked.contains(spot) || !checking.add(spot)) {
+                continue;
+            }
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                Location location = toLocation(spot);
+                ChunkSnapshot[] chunks = snapshot(location);
+                int maxHeight = world.getMaxHeight();
+                Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+                    Result r = scan(chunks, location.getBlockX(), location.getBlockY(), location.getBlockZ(), maxHeight);
+                    Bukkit.getScheduler().runTask(plugin, () -> {
+                        checking.remove(spot);
+                        if (used.contains(spot)) {
+                            // Handed out in the meantime
+                            return;
+                        }
+                        if (r == Result.FREE) {
+                            checked.add(spot);
+                        } else if (!plugin.getIslands().getIslandAt(location).isPresent()) {
+                            used.add(spot);
+                            plugin.getIslands().createIsland(location);
+                        }
+                    });
+                });
+            });
+        }
+    }
+
+    /**
+     * Takes snapshots of the chunks around a spot's center
+     * @param location - spot center
+     * @return chunk snapshots
+     */
+    private ChunkSnapshot[] snapshot(Location location) {
+        int minX = (location.getBlockX() - SCAN_RADIUS) >> 4;
+        int maxX = (location.getBlockX() + SCAN_RADIUS) >> 4;
+        int minZ = (location.getBlockZ() - SCAN_RADIUS) >> 4;
+        int maxZ = (location.getBlockZ() + SCAN_RADIUS) >> 4;
+        ChunkSnapshot[] chunks = new ChunkSnapshot[(maxX - minX + 1) * (maxZ - minZ + 1)];
+        int i = 0;
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                chunks[i++] = world.getChunkAt(x, z).getChunkSnapshot(true, false, false);
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Checks chunk snapshots for blocks at and around a spot's center
+     * @param chunks - snapshots of the chunks around the center
+     * @param x - center x
+     * @param y - center y
+     * @param z - center z
+     * @param maxHeight - world max height
+     * @return result of the check
+     */
+    static Result scan(ChunkSnapshot[] chunks, int x, int y, int z, int maxHeight) {
+        if (y >= 0 && y < maxHeight && isBlock(getChunk(chunks, x, z).getBlockType(x & 15, y, z & 15))) {
+            return Result.BLOCK_AT_CENTER;
+        }
+        // Look around
+        for (int bx = x - SCAN_RADIUS; bx <= x + SCAN_RADIUS; bx++) {
+            for (int bz = z - SCAN_RADIUS; bz <= z + SCAN_RADIUS; bz++) {
+                ChunkSnapshot chunk = getChunk(chunks, bx, bz);
+                // Nothing is higher than the height map
+                int top = Math.min(maxHeight - 1, chunk.getHighestBlockYAt(bx & 15, bz & 15));
+                for (int by = SCAN_MIN_Y; by <= top; by++) {
+                    if (isBlock(chunk.getBlockType(bx & 15, by, bz & 15))) {
+                        return Result.BLOCKS_IN_AREA;
+                    }
+                }
+            }
+        }
+        return Result.FREE;
+    }
+
+    private static ChunkSnapshot getChunk(ChunkSnapshot[] chunks, int x, int z) {
+        for (ChunkSnapshot chunk : chunks) {
+            if (chunk.getX() == x >> 4 && chunk.getZ() == z >> 4) {
+                return chunk;
+            }
+        }
+        throw new IllegalArgumentException("No snapshot of chunk at " + x + "," + z);
+    }
+
+    private static boolean isBlock(Material m) {
+        return m != Material.AIR && m != Material.CAVE_AIR && m != Material.VOID_AIR && m != Material.WATER;
+    }
+
+    /**
+     * @return number of spots freed by deletions that have not been handed out again
+     */
+    public int getFreedCount() {
+        return freed.cardinality();
+    }
+}
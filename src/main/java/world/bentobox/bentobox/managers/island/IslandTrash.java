@@ -0,0 +1,178 @@
+package world.bentobox.bentobox.managers.island;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import world.bentobox.bentobox.database.objects.Island;
+
+/**
+ * Index of the quarantined (trashed) islands by world and owner.
+ * <p>
+ * Only a small summary of each island is kept in memory. The full island is loaded from the database when it is needed.
+ * @author tastybento
+ * @since 1.6.0
+ */
+public class IslandTrash {
+
+    /**
+     * Summary of a quarantined island
+     */
+    public static class Summary {
+        private final String uniqueId;
+        private final World world;
+        private final UUID owner;
+        private final Location center;
+        private final long updatedDate;
+
+        private Summary(Island island) {
+            this.uniqueId = island.getUniqueId();
+            this.world = island.getWorld();
+            this.owner = island.getOwner();
+            this.center = island.getCenter();
+            this.updatedDate = island.getUpdatedDate();
+        }
+
+        /**
+         * @return the unique id of the island in the database
+         */
+        @NonNull
+        public String getUniqueId() {
+            return uniqueId;
+        }
+
+        /**
+         * @return the world of the island
+         */
+        public World getWorld() {
+            return world;
+        }
+
+        /**
+         * @return the owner of the island or null if it is unowned
+         */
+        @Nullable
+        public UUID getOwner() {
+            return owner;
+        }
+
+        /**
+         * @return the center of the island
+         */
+        public Location getCenter() {
+            return center;
+        }
+
+        /**
+         * @return the last time the island was updated
+         */
+        public long getUpdatedDate() {
+            return updatedDate;
+        }
+    }
+
+    // World -> owner (null for unowned) -> summaries in the order they were trashed
+    private final Map<World, Map<UUID, List<Summary>>> index = new HashMap<>();
+    private int size;
+
+    /**
+     * Adds an island to the trash
+     * @param island - island, which must have a world
+     */
+    public void add(@NonNull Island island) {
+        index.computeIfAbsent(island.getWorld(), k -> new HashMap<>()).computeIfAbsent(island.getOwner(), k -> new ArrayList<>()).add(new Summary(island));
+        size++;
+    }
+
+    /**
+     * Gets the islands in the trash for this owner in this world
+     * @param world - world
+     * @param owner - owner, or null for unowned islands
+     * @return unmodifiable list of island summaries in the order they were trashed; may be empty
+     */
+    @NonNull
+    public List<Summary> get(@NonNull World world, @Nullable UUID owner) {
+        Map<UUID, List<Summary>> owners = index.get(world);
+        if (owners == null || !owners.containsKey(owner)) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(owners.get(owner));
+    }
+
+    /**
+     * Removes an island from the trash
+     * @param world - world
+     * @param owner - owner, or null for unowned islands
+     * @param uniqueId - unique id of the island
+     * @return true if the island was in the trash
+     */
+    public boolean remove(@NonNull World world, @Nullable UUID owner, @NonNull String uniqueId) {
+        Map<UUID, List<Summary>> owners = index.get(world);
+        if (owners == null || !owners.containsKey(owner)) {
+            return false;
+        }
+        List<Summary> summaries = owners.get(owner);
+        if (!summaries.removeIf(s -> s.getUniqueId().equals(uniqueId))) {
+            return false;
+        }
+        size--;
+        if (summaries.isEmpty()) {
+            owners.remove(owner);
+        }
+        return true;
+    }
+
+    /**
+     * Removes all the islands of this owner in this world from the trash
+     * @param world - world
+     * @param owner - owner, or null for unowned islands
+     * @return the summaries of the removed islands; may be empty
+     */
+    @NonNull
+    public List<Summary> removeAll(@NonNull World world, @Nullable UUID owner) {
+        Map<UUID, List<Summary>> owners = index.get(world);
+        if (owners == null) {
+            return Collections.emptyList();
+        }
+        List<Summary> removed = owners.remove(owner);
+        if (removed == null) {
+            return Collections.emptyList();
+        }
+        size -= removed.size();
+        return removed;
+    }
+
+    /**
+     * Gets all the islands in the trash
+     * @return list of island summaries
+     */
+    @NonNull
+    public List<Summary> getAll() {
+        List<Summary> result = new ArrayList<>(size);
+        index.values().forEach(owners -> owners.values().forEach(result::addAll));
+        return result;
+    }
+
+    /**
+     * @return number of islands in the trash
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Empties the index. The islands are not deleted from the database.
+     */
+    public void clear() {
+        index.clear();
+        size = 0;
+    }
+}
@@ -1,14 +1,16 @@
 package world.bentobox.bentobox.managers.island;
 
 import java.io.IOException;
-import java.util.EnumMap;
-import java.util.Map;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
-import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.World.Environment;
+import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.Vector;
 import org.eclipse.jdt.annotation.Nullable;
 
@@ -18,18 +20,68 @@ import world.bentobox.bentobox.api.addons.GameModeAddon;
 import world.bentobox.bentobox.api.events.IslandBaseEvent;
 import world.bentobox.bentobox.api.events.island.IslandEvent;
 import world.bentobox.bentobox.api.events.island.IslandEvent.Reason;
+import world.bentobox.bentobox.api.localization.TextVariables;
 import world.bentobox.bentobox.api.user.User;
+import world.bentobox.bentobox.blueprints.BlueprintPaster;
 import world.bentobox.bentobox.database.objects.Island;
 import world.bentobox.bentobox.managers.BlueprintsManager;
-import world.bentobox.bentobox.util.Util;
 
 /**
  * Create and paste a new island
+ * <p>
+ * The island is made in {@link Stage stages}. {@link Builder#buildAsync()} queues the creation in the
+ * {@link IslandCreationQueue} and returns a future that is completed when the island is ready and the player's
+ * teleport to it has started. The progress of a creation can be followed with {@link #getStage()} and
+ * {@link #getProgress()}.
  * @author tastybento
  *
  */
 public class NewIsland {
-    private static final Integer MAX_UNOWNED_ISLANDS = 10;
+
+    /**
+     * Ticks the island paste can go without any progress before the creation is given up
+     */
+    private static final long PASTE_TIMEOUT = 20L * 60;
+    /**
+     * Ticks between two checks of the paste progress
+     */
+    private static final long PASTE_CHECK_INTERVAL = 20L;
+
+    /**
+     * Stages of an island creation, in order
+     * @since 1.6.0
+     */
+    public enum Stage {
+        /**
+         * Waiting for other island creations to finish
+         */
+        QUEUED,
+        /**
+         * Finding a free island spot
+         */
+        ALLOCATE,
+        /**
+         * Adding the island to the grid and setting the owner's home
+         */
+        RESERVE,
+        /**
+         * Pasting the island's blueprints in the overworld, nether and end
+         */
+        PASTE,
+        /**
+         * Setting the owner's home to the island's spawn point
+         */
+        SET_HOMES,
+        /**
+         * Teleporting the owner to the island
+         */
+        TELEPORT,
+        /**
+         * The island has been created
+         */
+        DONE
+    }
+
     private BentoBox plugin;
     private Island island;
     private final User user;
@@ -38,15 +90,22 @@ public class NewIsland {
     private final String name;
     private final boolean noPaste;
     private GameModeAddon addon;
+    private Island oldIsland;
+    private final CompletableFuture<Island> completion = new CompletableFuture<>();
+    private Stage stage = Stage.QUEUED;
+    private List<BlueprintPaster> pastes = Collections.emptyList();
+    // Last quarter of the paste progress that the player was told about
+    private int reported;
+    // Checks that the paste is making progress
+    private BukkitTask pasteCheck;
+    private double lastProgress;
+    private long stalledTicks;
 
-    private enum Result {
-        ISLAND_FOUND,
-        BLOCK_AT_CENTER,
-        BLOCKS_IN_AREA,
-        FREE
+    public NewIsland(Builder builder) {
+        this(builder, true);
     }
 
-    public NewIsland(Builder builder) {
+    private NewIsland(Builder builder, boolean start) {
         plugin = BentoBox.getInstance();
         this.user = builder.user2;
         this.reason = builder.reason2;
@@ -54,7 +113,10 @@ public class NewIsland {
         this.name = builder.name2;
         this.noPaste = builder.noPaste2;
         this.addon = builder.addon2;
-        newIsland(builder.oldIsland2);
+        this.oldIsland = builder.oldIsland2;
+        if (start) {
+            start();
+        }
     }
 
     /**
@@ -64,6 +126,60 @@ public class NewIsland {
         return island;
     }
 
+    /**
+     * @return the player the island is created for
+     * @since 1.6.0
+     */
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * @return the stage this creation is at
+     * @since 1.6.0
+     */
+    public Stage getStage() {
+        return stage;
+    }
+
+    /**
+     * @return 0 if this creation has started, otherwise its position in the queue of island creations, starting at 1
+     * @since 1.6.0
+     */
+    public int getQueuePosition() {
+        return stage == Stage.QUEUED ? plugin.getIslands().getIslandCreationQueue().getQueuePosition(this) : 0;
+    }
+
+    /**
+     * @return progress of the island paste, from 0 to 1
+     * @since 1.6.0
+     */
+    public double getProgress() {
+        switch (stage) {
+        case QUEUED:
+        case ALLOCATE:
+        case RESERVE:
+            return 0D;
+        case PASTE:
+            return pastes.stream().mapToDouble(BlueprintPaster::getProgress).average().orElse(0D);
+        default:
+            return 1D;
+        }
+    }
+
+    /**
+     * Gets the completion of this creation. It is completed on the main thread with the island when the island
+     * is ready and the teleport of its owner has started. The teleport may end later, if a safe spot has to be
+     * found first. It is completed with null if the island could not be made or its creation event was cancelled,
+     * and exceptionally if the creation failed with an error or the paste stopped making progress.
+     * Cancelling it stops the creation if it is still waiting in the queue.
+     * @return completion of this creation
+     * @since 1.6.0
+     */
+    public CompletableFuture<Island> getCompletion() {
+        return completion;
+    }
+
     /**
      * Start building a new island
      * @return New island builder object
@@ -149,6 +265,21 @@ public class NewIsland {
             }
             throw new IOException("Insufficient parameters. Must have a user!");
         }
+
+        /**
+         * Creates the island in stages. The creation waits in a queue if too many islands are being created.
+         * @return future island, see {@link NewIsland#getCompletion()}
+         * @throws IOException - if there are insufficient parameters defined
+         * @since 1.6.0
+         */
+        public CompletableFuture<Island> buildAsync() throws IOException {
+            if (user2 != null) {
+                NewIsland newIsland = new NewIsland(this, false);
+                BentoBox.getInstance().getIslands().getIslandCreationQueue().submit(newIsland);
+                return newIsland.getCompletion();
+            }
+            throw new IOException("Insufficient parameters. Must have a user!");
+        }
     }
 
     /**
@@ -156,16 +287,103 @@ public class NewIsland {
      * @param oldIsland
      */
     public void newIsland(Island oldIsland) {
+        this.oldIsland = oldIsland;
+        start();
+    }
+
+    /**
+     * Finds the island spot, adds the island to the grid and starts pasting it
+     */
+    void start() {
+        if (completion.isDone()) {
+            // Cancelled while waiting
+            return;
+        }
+        attempt(this::create);
+    }
+
+    /**
+     * Runs a stage of the creation. If it fails, the creation is completed exceptionally so that the
+     * next one in the queue can start.
+     * @param step - stage to run
+     */
+    private void attempt(Runnable step) {
+        try {
+            step.run();
+        } catch (Exception e) {
+            plugin.logError("Could not create island for " + user.getName() + ": " + e.getMessage());
+            plugin.logStacktrace(e);
+            abort(e);
+        }
+    }
+
+    /**
+     * Gives up the creation so that the next one in the queue can start
+     * @param e - the reason
+     */
+    private void abort(Throwable e) {
+        if (pasteCheck != null) {
+            pasteCheck.cancel();
+        }
+        completion.completeExceptionally(e);
+    }
+
+    private void create() {
+        stage = Stage.ALLOCATE;
         Location next = getNextIsland();
         if (next == null) {
             plugin.logError("Failed to make island - no unoccupied spot found");
+            completion.complete(null);
             return;
         }
+        stage = Stage.RESERVE;
+        if (!reserve(next)) {
+            completion.complete(null);
+            return;
+        }
+        stage = Stage.PASTE;
+        if (noPaste) {
+            Bukkit.getScheduler().runTask(plugin, () -> attempt(this::finish));
+        } else {
+            // Create islands
+            pastes = plugin.getBlueprintsManager().pasteIsland(addon, island, name);
+            if (pastes == null) {
+                pastes = Collections.emptyList();
+                completion.complete(null);
+            } else if (pastes.isEmpty()) {
+                Bukkit.getScheduler().runTask(plugin, () -> attempt(this::finish));
+            } else {
+                pastes.forEach(p -> p.onProgress(progress -> reportProgress()));
+                CompletableFuture.allOf(pastes.stream().map(BlueprintPaster::getCompletion).toArray(CompletableFuture[]::new))
+                .whenComplete((v, e) -> Bukkit.getScheduler().runTask(plugin, () -> {
+                    if (e == null) {
+                        attempt(this::finish);
+                    } else {
+                        // A paste failed. The old island is kept and the player stays where they are.
+                        abort(e);
+                    }
+                }));
+                pasteCheck = Bukkit.getScheduler().runTaskTimer(plugin, this::checkPaste, PASTE_CHECK_INTERVAL, PASTE_CHECK_INTERVAL);
+            }
+        }
+        // Set default settings
+        island.setFlagsDefaults();
+        plugin.getMetrics().ifPresent(BStats::increaseIslandsCreatedCount);
+        // Save island
+        plugin.getIslands().save(island);
+    }
+
+    /**
+     * Adds the island to the grid and sets the owner's home
+     * @param next - island center
+     * @return true if the island can be pasted
+     */
+    private boolean reserve(Location next) {
         // Add to the grid
         island = plugin.getIslands().createIsland(next, user.getUniqueId());
         if (island == null) {
             plugin.logError("Failed to make island! Island could not be added to the grid.");
-            return;
+            return false;
         }
 
         // Clear any old home locations (they should be clear, but just in case)
@@ -184,163 +402,109 @@ public class NewIsland {
                 .island(island)
                 .location(island.getCenter())
                 .build();
-        if (event.isCancelled()) {
-            return;
-        }
-        // Task to run after creating the island
-        Runnable task = () -> {
-            // Set initial spawn point if one exists
-            if (island.getSpawnPoint(Environment.NORMAL) != null) {
-                plugin.getPlayers().setHomeLocation(user, island.getSpawnPoint(Environment.NORMAL), 1);
-            }
-            // Stop the player from falling or moving if they are
-            if (user.isOnline()) {
-                user.getPlayer().setVelocity(new Vector(0,0,0));
-                user.getPlayer().setFallDistance(0F);
-
-                // Teleport player after this island is built
-                plugin.getIslands().homeTeleport(world, user.getPlayer(), true);
-            } else {
-                // Remove the player again to completely clear the data
-                User.removePlayer(user.getPlayer());
-            }
-            // Delete old island
-            if (oldIsland != null) {
-                // Delete the old island
-                plugin.getIslands().deleteIsland(oldIsland, true);
-            }
+        return !event.isCancelled();
+    }
 
-            // Fire exit event
-            Reason reasonDone = Reason.CREATED;
-            switch (reason) {
-            case CREATE:
-                reasonDone = Reason.CREATED;
-                break;
-            case RESET:
-                reasonDone = Reason.RESETTED;
-                break;
-            default:
-                break;
-            }
-            IslandEvent.builder()
-            .involvedPlayer(user.getUniqueId())
-            .reason(reasonDone)
-            .island(island)
-            .location(island.getCenter())
-            .build();
-        };
-        if (noPaste) {
-            Bukkit.getScheduler().runTask(plugin, task);
-        } else {
-            // Create islands
-            plugin.getBlueprintsManager().paste(addon, island, name, task);
+    /**
+     * Tells the player how far the paste is over all the dimensions, every quarter
+     */
+    private void reportProgress() {
+        int quarter = (int)(getProgress() * 4);
+        if (quarter > reported && quarter < 4) {
+            reported = quarter;
+            user.sendMessage("commands.island.create.progress", TextVariables.NUMBER, String.valueOf(quarter * 25));
         }
-        // Set default settings
-        island.setFlagsDefaults();
-        plugin.getMetrics().ifPresent(BStats::increaseIslandsCreatedCount);
-        // Save island
-        plugin.getIslands().save(island);
     }
 
     /**
-     * Get the location of next free island spot
-     * @return Location of island spot or null if one cannot be found
+     * Gives up the creation if the paste has not made any progress for too long, so that it does not hold up
+     * the creations waiting in the queue. Pastes waiting for other pastes to finish are not counted as stalled.
      */
-    @Nullable
-    private Location getNextIsland() {
-        Location last = plugin.getIslands().getLast(world);
-        if (last == null) {
-            last = new Location(world,
-                    (double) plugin.getIWM().getIslandXOffset(world) + plugin.getIWM().getIslandStartX(world),
-                    plugin.getIWM().getIslandHeight(world),
-                    (double) plugin.getIWM().getIslandZOffset(world) + plugin.getIWM().getIslandStartZ(world));
+    private void checkPaste() {
+        if (completion.isDone() || stage != Stage.PASTE) {
+            pasteCheck.cancel();
+            return;
         }
-        // Find a free spot
-        Map<Result, Integer> result = new EnumMap<>(Result.class);
-        Result r = isIsland(last);
-        while (!r.equals(Result.FREE) && result.getOrDefault(Result.BLOCK_AT_CENTER, 0) < MAX_UNOWNED_ISLANDS) {
-            last = nextGridLocation(last);
-            result.merge(r, 1, (k,v) -> v++);
-            r = isIsland(last);
+        double progress = getProgress();
+        if (progress > lastProgress || pastes.stream().anyMatch(p -> p.getQueuePosition() > 0)) {
+            lastProgress = progress;
+            stalledTicks = 0;
+            return;
         }
-        if (!r.equals(Result.FREE)) {
-            // We could not find a free spot within the limit required. It's likely this world is not empty
-            plugin.logError("Could not find a free spot for islands! Is this world empty?");
-            plugin.logError("Blocks at center locations: " + result.getOrDefault(Result.BLOCK_AT_CENTER, 0) + " max " + MAX_UNOWNED_ISLANDS);
-            plugin.logError("Blocks around center locations: " + result.getOrDefault(Result.BLOCKS_IN_AREA, 0) + " max " + MAX_UNOWNED_ISLANDS);
-            plugin.logError("Known islands: " + result.getOrDefault(Result.ISLAND_FOUND, 0) + " max unlimited.");
-            return null;
+        stalledTicks += PASTE_CHECK_INTERVAL;
+        if (stalledTicks >= PASTE_TIMEOUT) {
+            pasteCheck.cancel();
+            plugin.logError("Island paste for " + user.getName() + " made no progress for " + PASTE_TIMEOUT / 20 + " seconds. Giving up.");
+            completion.completeExceptionally(new TimeoutException("Island paste made no progress"));
         }
-        plugin.getIslands().setLast(last);
-        return last;
     }
 
     /**
-     * Checks if there is an island or blocks at this location
-     * @param location - the location
-     * @return true if island found, null if blocks found, false if nothing found
+     * Runs after the island has been pasted. Nothing is done if the creation was already given up,
+     * for example because the paste stalled.
      */
-    private Result isIsland(Location location){
-        location = Util.getClosestIsland(location);
-        if (plugin.getIslands().getIslandAt(location).isPresent() || plugin.getIslandDeletionManager().inDeletion(location)) {
-            return Result.ISLAND_FOUND;
+    private void finish() {
+        if (completion.isDone()) {
+            return;
+        }
+        if (pasteCheck != null) {
+            pasteCheck.cancel();
         }
+        stage = Stage.SET_HOMES;
+        // Set initial spawn point if one exists
+        if (island.getSpawnPoint(Environment.NORMAL) != null) {
+            plugin.getPlayers().setHomeLocation(user, island.getSpawnPoint(Environment.NORMAL), 1);
+        }
+        stage = Stage.TELEPORT;
+        // Stop the player from falling or moving if they are
+        if (user.isOnline()) {
+            user.getPlayer().setVelocity(new Vector(0,0,0));
+            user.getPlayer().setFallDistance(0F);
 
-        if (!plugin.getIWM().isUseOwnGenerator(location.getWorld())) {
-            // Block check
-            if (!location.getBlock().isEmpty() && !location.getBlock().getType().equals(Material.WATER)) {
-                plugin.getIslands().createIsland(location);
-                return Result.BLOCK_AT_CENTER;
-            }
-            // Look around
-            for (int x = -5; x <= 5; x++) {
-                for (int y = 10; y < location.getWorld().getMaxHeight(); y++) {
-                    for (int z = -5; z <= 5; z++) {
-                        if (!location.getWorld().getBlockAt(x + location.getBlockX(), y, z + location.getBlockZ()).isEmpty()
-                                && !location.getWorld().getBlockAt(x + location.getBlockX(), y, z + location.getBlockZ()).getType().equals(Material.WATER)) {
-                            plugin.getIslands().createIsland(location);
-                            return Result.BLOCKS_IN_AREA;
-                        }
-                    }
-                }
-            }
+            // Teleport player after this island is built
+            plugin.getIslands().homeTeleport(world, user.getPlayer(), true);
+        } else {
+            // Remove the player again to completely clear the data
+            User.removePlayer(user.getPlayer());
+        }
+        // Delete old island
+        if (oldIsland != null) {
+            // Delete the old island
+            plugin.getIslands().deleteIsland(oldIsland, true);
         }
-        return Result.FREE;
-    }
 
+        // Fire exit event
+        Reason reasonDone = Reason.CREATED;
+        switch (reason) {
+        case CREATE:
+            reasonDone = Reason.CREATED;
+            break;
+        case RESET:
+            reasonDone = Reason.RESETTED;
+            break;
+        default:
+            break;
+        }
+        IslandEvent.builder()
+        .involvedPlayer(user.getUniqueId())
+        .reason(reasonDone)
+        .island(island)
+        .location(island.getCenter())
+        .build();
+        stage = Stage.DONE;
+        completion.complete(island);
+    }
 
     /**
-     * Finds the next free island spot based off the last known island Uses
-     * island_distance setting from the config file Builds up in a grid fashion
-     *
-     * @param lastIsland - last island location
-     * @return Location of next free island
+     * Get the location of next free island spot
+     * @return Location of island spot or null if one cannot be found
      */
-    private Location nextGridLocation(final Location lastIsland) {
-        int x = lastIsland.getBlockX();
-        int z = lastIsland.getBlockZ();
-        int d = plugin.getIWM().getIslandDistance(lastIsland.getWorld()) * 2;
-        if (x < z) {
-            if (-1 * x < z) {
-                lastIsland.setX(lastIsland.getX() + d);
-                return lastIsland;
-            }
-            lastIsland.setZ(lastIsland.getZ() + d);
-            return lastIsland;
-        }
-        if (x > z) {
-            if (-1 * x >= z) {
-                lastIsland.setX(lastIsland.getX() - d);
-                return lastIsland;
-            }
-            lastIsland.setZ(lastIsland.getZ() - d);
-            return lastIsland;
-        }
-        if (x <= 0) {
-            lastIsland.setZ(lastIsland.getZ() + d);
-            return lastIsland;
+    @Nullable
+    private Location getNextIsland() {
+        Location next = plugin.getIslands().getIslandSlots(world).allocate();
+        if (next != null) {
+            plugin.getIslands().setLast(next);
         }
-        lastIsland.setZ(lastIsland.getZ() - d);
-        return lastIsland;
+        return next;
     }
 }
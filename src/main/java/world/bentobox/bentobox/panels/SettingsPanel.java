@@ -48,7 +48,7 @@ public class SettingsPanel {
         plugin.getIWM().getAddon(world).ifPresent(gm -> flags.removeIf(f -> !f.getGameModes().isEmpty() && !f.getGameModes().contains(gm)));
 
         // Use paging
-        flags.stream().skip(page * 43L).limit(page * 43L + 43L)
+        flags.stream().skip(page * 43L).limit(43L)
         .forEach((f -> panelBuilder.item(f.toPanelItem(plugin, user, plugin.getIWM().getHiddenFlags(world).contains(f.getID())))));
         // Add forward and backward icons
         if (page > 0) {
@@ -58,7 +58,7 @@ public class SettingsPanel {
                 return true;
             }).build());
         }
-        if ((page + 1) * 44 < flags.size()) {
+        if ((page + 1) * 43 < flags.size()) {
             // Next page icon
             panelBuilder.item(new PanelItemBuilder().icon(Material.ARROW).name(user.getTranslation(PROTECTION_PANEL + "next")).clickHandler((panel, user1, clickType, slot1) -> {
                 openPanel(BentoBox.getInstance(), user, flagType, world, page + 1);
@@ -1,21 +1,25 @@
 package world.bentobox.bentobox.util;
 
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.LinkedList;
+import java.util.Queue;
 import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.World.Environment;
 import org.bukkit.block.Biome;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
+import org.bukkit.generator.ChunkGenerator;
 import org.bukkit.generator.ChunkGenerator.BiomeGrid;
 import org.bukkit.generator.ChunkGenerator.ChunkData;
 import org.bukkit.inventory.InventoryHolder;
-import org.bukkit.scheduler.BukkitTask;
-import org.bukkit.util.Vector;
 
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.addons.GameModeAddon;
@@ -25,83 +29,312 @@ import world.bentobox.bentobox.database.objects.IslandDeletion;
 
 /**
  * Deletes islands chunk by chunk
+ * <p>
+ * The new contents of each chunk are generated in the background and compared with a snapshot of the chunk.
+ * Only the blocks and biomes that differ are then set on the main thread, when {@link #tick(long)} is called by
+ * the {@link world.bentobox.bentobox.managers.IslandDeletionManager IslandDeletionManager}.
+ * Sections that are empty now are only compared against the non-air blocks that will be generated in them.
  *
  * @author tastybento
  */
 public class DeleteIslandChunks {
 
     /**
-     * This is how many chunks per world will be done in one tick.
+     * Maximum number of chunks being generated in the background at the same time
      */
-    private static final int SPEED = 5;
-    private int chunkX;
-    private int chunkZ;
-    private BukkitTask task;
-    private IslandDeletion di;
+    private static final int MAX_GENERATING = 4;
+    /**
+     * Number of blocks set between two checks of the clock
+     */
+    private static final int BATCH_SIZE = 64;
+
+    private final BentoBox plugin;
+    private final IslandDeletion di;
+    // Chunks that have not been started yet
+    private final LinkedList<ChunkJob> jobs = new LinkedList<>();
+    // Chunks that have been generated and are waiting to be set
+    private final Queue<ChunkJob> generated = new ConcurrentLinkedQueue<>();
+    // Chunk being set
+    private ChunkJob current;
+    // Number of chunks being generated or waiting to be set
+    private int generating;
+    private final int total;
+    private int done;
 
+    /**
+     * Queues the deletion of the island's chunks with the
+     * {@link world.bentobox.bentobox.managers.IslandDeletionManager IslandDeletionManager}.
+     * This object does not do the deletion itself.
+     * @param plugin - plugin
+     * @param di - island deletion
+     * @deprecated As of 1.6.0, for removal. Use
+     * {@link world.bentobox.bentobox.managers.IslandDeletionManager#delete(IslandDeletion) IslandDeletionManager#delete(IslandDeletion)} instead.
+     */
+    @Deprecated
     public DeleteIslandChunks(BentoBox plugin, IslandDeletion di) {
+        this.plugin = plugin;
+        this.di = di;
+        total = 0;
+        plugin.getIslandDeletionManager().delete(di);
+    }
+
+    private DeleteIslandChunks(BentoBox plugin, IslandDeletion di, GameModeAddon gm) {
+        this.plugin = plugin;
+        this.di = di;
         // Fire event
         IslandEvent.builder().deletedIslandInfo(di).reason(Reason.DELETE_CHUNKS).build();
-        this.chunkX = di.getMinXChunk();
-        this.chunkZ = di.getMinZChunk();
-        this.di = di;
-        // Run through all chunks of the islands and regenerate them.
-        task = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-            for (int i = 0; i < SPEED; i++) {
-                plugin.getIWM().getAddon(di.getWorld()).ifPresent(gm -> {
+        if (gm == null) {
+            plugin.logError("Cannot delete island chunks in " + di.getWorld().getName() + " because it has no game mode");
+            total = 0;
+            return;
+        }
+        World world = di.getWorld();
+        boolean nether = plugin.getIWM().isNetherGenerate(world) && plugin.getIWM().isNetherIslands(world);
+        boolean end = plugin.getIWM().isEndGenerate(world) && plugin.getIWM().isEndIslands(world);
+        ChunkGenerator generator = gm.getDefaultWorldGenerator(world.getName(), "");
+        ChunkGenerator netherGenerator = nether ? gm.getDefaultWorldGenerator(plugin.getIWM().getNetherWorld(world).getName(), "") : null;
+        ChunkGenerator endGenerator = end ? gm.getDefaultWorldGenerator(plugin.getIWM().getEndWorld(world).getName(), "") : null;
+        for (int x = di.getMinXChunk(); x <= di.getMaxXChunk(); x++) {
+            for (int z = di.getMinZChunk(); z <= di.getMaxZChunk(); z++) {
+                jobs.add(new ChunkJob(world, generator, x, z));
+                if (nether) {
+                    jobs.add(new ChunkJob(plugin.getIWM().getNetherWorld(world), netherGenerator, x, z));
+                }
+                if (end) {
+                    jobs.add(new ChunkJob(plugin.getIWM().getEndWorld(world), endGenerator, x, z));
+                }
+            }
+        }
+        total = jobs.size();
+    }
 
-                    regerateChunk(gm, di.getWorld().getChunkAt(chunkX, chunkZ));
+    /**
+     * Prepares the deletion of an island's chunks. The chunks are regenerated when {@link #tick(long)} is called.
+     * This is used by the {@link world.bentobox.bentobox.managers.IslandDeletionManager IslandDeletionManager}.
+     * To delete an island, use {@link world.bentobox.bentobox.managers.IslandDeletionManager#delete(IslandDeletion)
+     * IslandDeletionManager#delete(IslandDeletion)}.
+     * @param plugin - plugin
+     * @param di - island deletion
+     * @return deletion of the island's chunks
+     * @since 1.6.0
+     */
+    public static DeleteIslandChunks of(BentoBox plugin, IslandDeletion di) {
+        return new DeleteIslandChunks(plugin, di, plugin.getIWM().getAddon(di.getWorld()).orElse(null));
+    }
 
-                    if (plugin.getIWM().isNetherGenerate(di.getWorld()) && plugin.getIWM().isNetherIslands(di.getWorld())) {
-                        regerateChunk(gm, plugin.getIWM().getNetherWorld(di.getWorld()).getChunkAt(chunkX, chunkZ));
-                    }
-                    if (plugin.getIWM().isEndGenerate(di.getWorld()) && plugin.getIWM().isEndIslands(di.getWorld())) {
-                        regerateChunk(gm, plugin.getIWM().getEndWorld(di.getWorld()).getChunkAt(chunkX, chunkZ));
-                    }
-                    chunkZ++;
-                    if (chunkZ > di.getMaxZChunk()) {
-                        chunkZ = di.getMinZChunk();
-                        chunkX++;
-                        if (chunkX > di.getMaxXChunk()) {
-                            // We're done
-                            task.cancel();
-                            // Fire event
-                            IslandEvent.builder().deletedIslandInfo(di).reason(Reason.DELETED).build();
-                        }
-                    }
-                });
+    /**
+     * Works on the deletion until the deadline
+     * @param deadline - value of {@link System#nanoTime()} to stop at
+     * @return true if the deletion is finished
+     */
+    public boolean tick(long deadline) {
+        // Keep the background generation busy
+        while (generating < MAX_GENERATING && !jobs.isEmpty()) {
+            start(jobs.poll());
+        }
+        while (System.nanoTime() < deadline) {
+            if (current == null) {
+                current = generated.poll();
+                if (current == null) {
+                    // Nothing ready yet
+                    break;
+                }
+                if (current.error != null) {
+                    plugin.logError("Could not regenerate chunk " + current.x + "," + current.z + " in " + current.world.getName() + ": " + current.error.getMessage());
+                    generating--;
+                    done++;
+                    current = null;
+                    continue;
+                }
             }
-        }, 0L, 1L);
+            if (current.apply(deadline)) {
+                current.finish();
+                generating--;
+                done++;
+                current = null;
+            }
+        }
+        if (current == null && generating == 0 && jobs.isEmpty()) {
+            // We're done
+            IslandEvent.builder().deletedIslandInfo(di).reason(Reason.DELETED).build();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return the island deletion
+     * @since 1.6.0
+     */
+    public IslandDeletion getDeletion() {
+        return di;
+    }
+
+    /**
+     * @return number of chunks regenerated so far, in all dimensions
+     * @since 1.6.0
+     */
+    public int getChunksDone() {
+        return done;
     }
 
-    private void regerateChunk(GameModeAddon gm, Chunk chunk) {
+    /**
+     * @return number of chunks to regenerate, in all dimensions
+     * @since 1.6.0
+     */
+    public int getChunksTotal() {
+        return total;
+    }
+
+    /**
+     * Takes a snapshot of the chunk and generates its new contents in the background
+     * @param job - chunk to start
+     */
+    private void start(ChunkJob job) {
+        Chunk chunk = job.world.getChunkAt(job.x, job.z);
         // Clear all inventories
         Arrays.stream(chunk.getTileEntities()).filter(te -> (te instanceof InventoryHolder))
         .filter(te -> di.inBounds(te.getLocation().getBlockX(), te.getLocation().getBlockZ()))
         .forEach(te -> ((InventoryHolder)te).getInventory().clear());
-        // Reset blocks
-        MyBiomeGrid grid = new MyBiomeGrid(chunk.getWorld().getEnvironment());
-        ChunkData cd = gm.getDefaultWorldGenerator(chunk.getWorld().getName(), "").generateChunkData(chunk.getWorld(), new Random(), chunk.getX(), chunk.getZ(), grid);
-        int baseX = chunk.getX() << 4;
-        int baseZ = chunk.getZ() << 4;
-        for (int x = 0; x < 16; x++) {
-            for (int z = 0; z < 16; z++) {
-                if (di.inBounds(baseX + x, baseZ + z)) {
-                    chunk.getBlock(x, 0, z).setBiome(grid.getBiome(x, z));
-                    for (int y = 0; y < chunk.getWorld().getMaxHeight(); y++) {
-                        chunk.getBlock(x, y, z).setBlockData(cd.getBlockData(x, y, z));
+        job.snapshot = chunk.getChunkSnapshot(false, true, false);
+        job.maxHeight = job.world.getMaxHeight();
+        generating++;
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                job.generate();
+            } catch (Exception e) {
+                job.error = e;
+            }
+            generated.add(job);
+        });
+    }
+
+    private static boolean isAir(Material m) {
+        return m == Material.AIR || m == Material.CAVE_AIR || m == Material.VOID_AIR;
+    }
+
+    /**
+     * A chunk to regenerate
+     */
+    private class ChunkJob {
+        private final World world;
+        private final ChunkGenerator generator;
+        private final int x;
+        private final int z;
+        private ChunkSnapshot snapshot;
+        private int maxHeight;
+        private Exception error;
+        // Blocks to set, with positions packed as y << 8 | z << 4 | x
+        private int[] positions = new int[256];
+        private BlockData[] blocks = new BlockData[256];
+        private int count;
+        // Biomes to set by z << 4 | x, or null to leave the column alone
+        private Biome[] biomes;
+        // Index of the next block to set
+        private int next = -1;
+
+        private ChunkJob(World world, ChunkGenerator generator, int x, int z) {
+            this.world = world;
+            this.generator = generator;
+            this.x = x;
+            this.z = z;
+        }
+
+        /**
+         * Generates the chunk and finds the blocks and biomes that differ from the snapshot.
+         * Runs in the background.
+         */
+        private void generate() {
+            BiomeArray grid = new BiomeArray(world.getEnvironment());
+            ChunkData cd = generator.generateChunkData(world, new Random(), x, z, grid);
+            int baseX = x << 4;
+            int baseZ = z << 4;
+            boolean[] inBounds = new boolean[256];
+            biomes = new Biome[256];
+            for (int cx = 0; cx < 16; cx++) {
+                for (int cz = 0; cz < 16; cz++) {
+                    int column = cz << 4 | cx;
+                    inBounds[column] = di.inBounds(baseX + cx, baseZ + cz);
+                    if (inBounds[column] && grid.getBiome(cx, cz) != snapshot.getBiome(cx, cz)) {
+                        biomes[column] = grid.getBiome(cx, cz);
+                    }
+                }
+            }
+            for (int sy = 0; sy << 4 < maxHeight; sy++) {
+                boolean empty = snapshot.isSectionEmpty(sy);
+                int top = Math.min(maxHeight, (sy + 1) << 4);
+                for (int y = sy << 4; y < top; y++) {
+                    for (int cz = 0; cz < 16; cz++) {
+                        for (int cx = 0; cx < 16; cx++) {
+                            if (!inBounds[cz << 4 | cx]) {
+                                continue;
+                            }
+                            BlockData data = cd.getBlockData(cx, y, cz);
+                            if (empty ? !isAir(data.getMaterial()) : !data.equals(snapshot.getBlockData(cx, y, cz))) {
+                                add(y << 8 | cz << 4 | cx, data);
+                            }
+                        }
                     }
                 }
             }
+            snapshot = null;
+        }
+
+        private void add(int position, BlockData data) {
+            if (count == positions.length) {
+                positions = Arrays.copyOf(positions, count * 2);
+                blocks = Arrays.copyOf(blocks, count * 2);
+            }
+            positions[count] = position;
+            blocks[count++] = data;
+        }
+
+        /**
+         * Sets the blocks and biomes that differ until the deadline
+         * @param deadline - value of {@link System#nanoTime()} to stop at
+         * @return true if the chunk is done
+         */
+        private boolean apply(long deadline) {
+            Chunk chunk = world.getChunkAt(x, z);
+            if (next < 0) {
+                for (int i = 0; i < biomes.length; i++) {
+                    if (biomes[i] != null) {
+                        chunk.getBlock(i & 15, 0, i >> 4).setBiome(biomes[i]);
+                    }
+                }
+                next = 0;
+            }
+            while (next < count) {
+                int end = Math.min(count, next + BATCH_SIZE);
+                for (; next < end; next++) {
+                    int p = positions[next];
+                    chunk.getBlock(p & 15, p >> 8, (p >> 4) & 15).setBlockData(blocks[next], false);
+                    blocks[next] = null;
+                }
+                if (System.nanoTime() >= deadline) {
+                    break;
+                }
+            }
+            return next >= count;
+        }
+
+        /**
+         * Removes all entities in the chunk, including any dropped items as a result of clearing the blocks
+         */
+        private void finish() {
+            Chunk chunk = world.getChunkAt(x, z);
+            Arrays.stream(chunk.getEntities()).filter(e -> !(e instanceof Player) && di.inBounds(e.getLocation().getBlockX(), e.getLocation().getBlockZ())).forEach(Entity::remove);
         }
-        // Remove all entities in chunk, including any dropped items as a result of clearing the blocks above
-        Arrays.stream(chunk.getEntities()).filter(e -> !(e instanceof Player) && di.inBounds(e.getLocation().getBlockX(), e.getLocation().getBlockZ())).forEach(Entity::remove);
     }
 
-    class MyBiomeGrid implements BiomeGrid {
-        Map<Vector, Biome> map = new HashMap<>();
-        private Biome defaultBiome;
-        public MyBiomeGrid(Environment environment) {
+    /**
+     * Biome grid backed by an array
+     */
+    private static class BiomeArray implements BiomeGrid {
+        private final Biome[] biomes = new Biome[256];
+
+        private BiomeArray(Environment environment) {
+            Biome defaultBiome;
             switch(environment) {
             case NETHER:
                 defaultBiome = Biome.NETHER;
@@ -113,15 +346,17 @@ public class DeleteIslandChunks {
                 defaultBiome = Biome.PLAINS;
                 break;
             }
-
+            Arrays.fill(biomes, defaultBiome);
         }
+
         @Override
         public Biome getBiome(int x, int z) {
-            return map.getOrDefault(new Vector(x,0,z), defaultBiome);
+            return biomes[(z & 15) << 4 | (x & 15)];
         }
+
         @Override
         public void setBiome(int x, int z, Biome bio) {
-            map.put(new Vector(x,0,z), bio);
+            biomes[(z & 15) << 4 | (x & 15)] = bio;
         }
     }
 }
@@ -168,6 +168,26 @@ public class Util {
         return Bukkit.getOnlinePlayers().stream().filter(p -> user.getPlayer().canSee(p)).map(Player::getName).collect(Collectors.toList());
     }
 
+    /**
+     * Return a list of online players this player can see whose names start with the given start, ignoring case.
+     * Intended for tab completion. Names are checked before visibility, so only matching players are checked.
+     * @param user - the User - if null, all matching player names on the server are shown
+     * @param start - first few chars of the name
+     * @return a list of online players this player can see
+     * @since 1.6.0
+     */
+    public static List<String> getOnlinePlayerList(User user, String start) {
+        String lowerStart = start.toLowerCase(java.util.Locale.ENGLISH);
+        boolean all = user == null || !user.isPlayer();
+        List<String> returned = new ArrayList<>();
+        for (Player p : Bukkit.getOnlinePlayers()) {
+            if (p.getName().toLowerCase(java.util.Locale.ENGLISH).startsWith(lowerStart) && (all || user.getPlayer().canSee(p))) {
+                returned.add(p.getName());
+            }
+        }
+        return returned;
+    }
+
     /**
      * Returns all of the items that begin with the given start,
      * ignoring case.  Intended for tabcompletion.
@@ -178,11 +198,12 @@ public class Util {
      */
     public static List<String> tabLimit(final List<String> list, final String start) {
         final List<String> returned = new ArrayList<>();
+        final String lowerStart = start.toLowerCase(java.util.Locale.ENGLISH);
         for (String s : list) {
             if (s == null) {
                 continue;
             }
-            if (s.toLowerCase(java.util.Locale.ENGLISH).startsWith(start.toLowerCase(java.util.Locale.ENGLISH))) {
+            if (s.toLowerCase(java.util.Locale.ENGLISH).startsWith(lowerStart)) {
                 returned.add(s);
             }
         }
@@ -201,10 +222,16 @@ public class Util {
      * @return true if the same
      */
     public static boolean sameWorld(World world, World world2) {
-        return stripName(world).equals(stripName(world2));
+        return getOverworldName(world).equals(getOverworldName(world2));
     }
 
-    private static String stripName(World world) {
+    /**
+     * Gets the name of the overworld of a world, without looking the overworld up
+     * @param world - world
+     * @return name of the overworld
+     * @since 1.6.0
+     */
+    public static String getOverworldName(World world) {
         switch (world.getEnvironment()) {
         case NETHER:
             return world.getName().substring(0, world.getName().length() - NETHER.length());
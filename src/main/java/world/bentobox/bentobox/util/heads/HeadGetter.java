@@ -1,59 +1,122 @@
 package world.bentobox.bentobox.util.heads;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Field;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.SkullMeta;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.panels.PanelItem;
 
+/**
+ * Resolves player heads for panels.
+ * <p>
+ * The player's profile and skin textures are looked up from Mojang in parallel on a small pool of threads, so that
+ * the number of concurrent lookups stays bounded. Several requests for the same head while it is being resolved only
+ * cause one lookup. The textures are kept in a cache that is saved to disk and expires after a few days, and are
+ * applied to the head when it is served.
+ */
 public class HeadGetter {
-    private static Map<String,ItemStack> cachedHeads = new HashMap<>();
-    private static final Map<String, PanelItem> names = new HashMap<>();
-    private BentoBox plugin;
-    private static Map<String,Set<HeadRequester>> headRequesters = new HashMap<>();
+
+    private static final String CACHE_FILE = "heads.yml";
+    private static final String PROFILE_URL = "https://api.mojang.com/users/profiles/minecraft/";
+    private static final String SESSION_URL = "https://sessionserver.mojang.com/session/minecraft/profile/";
+    private static final String TEXTURES = "textures";
+    /**
+     * Connect and read timeout of a lookup, in milliseconds
+     */
+    private static final int TIMEOUT = 5000;
+    /**
+     * Time after which a cached head is resolved again, in case the skin changed
+     */
+    private static final long CACHE_EXPIRY = TimeUnit.DAYS.toMillis(3);
+    /**
+     * Maximum number of heads being resolved at the same time
+     */
+    private static final int THREADS = 4;
+    /**
+     * Ticks between two saves of the cache
+     */
+    private static final long SAVE_INTERVAL = 20L * 60 * 5;
+
+    private static final Map<String, CachedHead> cachedHeads = new ConcurrentHashMap<>();
+    // Heads being resolved - only accessed from the main thread
+    private static final Map<String, PendingHead> pendingHeads = new HashMap<>();
+    private static ExecutorService executor;
+    private static BentoBox plugin;
+    private static volatile boolean dirty;
+
+    private static class CachedHead {
+        // Null if there is no such player
+        private final UUID uuid;
+        private final String textures;
+        private final String signature;
+        private final long timestamp;
+
+        private CachedHead(UUID uuid, String textures, String signature, long timestamp) {
+            this.uuid = uuid;
+            this.textures = textures;
+            this.signature = signature;
+            this.timestamp = timestamp;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() - timestamp > CACHE_EXPIRY;
+        }
+    }
+
+    private static class PendingHead {
+        private final PanelItem panelItem;
+        private final Set<HeadRequester> requesters = new LinkedHashSet<>();
+
+        private PendingHead(PanelItem panelItem) {
+            this.panelItem = panelItem;
+        }
+    }
 
     /**
      * @param plugin - plugin
      */
     public HeadGetter(BentoBox plugin) {
         super();
-        this.plugin = plugin;
-        runPlayerHeadGetter();
-    }
-
-    @SuppressWarnings("deprecation")
-    private void runPlayerHeadGetter() {
-        Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> {
-            synchronized(names) {
-                Iterator<Entry<String, PanelItem>> it = names.entrySet().iterator();
-                if (it.hasNext()) {
-                    Entry<String, PanelItem> en = it.next();
-                    ItemStack playerSkull = new ItemStack(Material.PLAYER_HEAD, 1);
-                    SkullMeta meta = (SkullMeta) playerSkull.getItemMeta();
-                    meta.setOwner(en.getKey());
-                    playerSkull.setItemMeta(meta);
-                    // Save in cache
-                    cachedHeads.put(en.getKey(), playerSkull);
-                    // Tell requesters the head came in
-                    if (headRequesters.containsKey(en.getKey())) {
-                        for (HeadRequester req : headRequesters.get(en.getKey())) {
-                            en.getValue().setHead(playerSkull.clone());
-                            Bukkit.getServer().getScheduler().runTask(plugin, () -> req.setHead(en.getValue()));
-                        }
-                    }
-                    it.remove();
-                }
-            }
-        }, 0L, 20L);
+        HeadGetter.plugin = plugin;
+        AtomicInteger count = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(THREADS, r -> {
+            Thread thread = new Thread(r, "BentoBox Head Getter " + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, this::loadCache);
+        Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::saveCache, SAVE_INTERVAL, SAVE_INTERVAL);
     }
 
     /**
@@ -61,18 +124,227 @@ public class HeadGetter {
      * @param requester - callback class
      */
     public static void getHead(PanelItem panelItem, HeadRequester requester) {
+        String name = panelItem.getName();
         // Check if in cache
-        if (cachedHeads.containsKey(panelItem.getName())) {
-            panelItem.setHead(cachedHeads.get(panelItem.getName()).clone());
+        CachedHead cached = cachedHeads.get(name);
+        if (cached != null && !cached.isExpired()) {
+            panelItem.setHead(makeHead(name, cached));
             requester.setHead(panelItem);
-        } else {
-            // Get the name
-            headRequesters.putIfAbsent(panelItem.getName(), new HashSet<>());
-            Set<HeadRequester> requesters = headRequesters.get(panelItem.getName());
-            requesters.add(requester);
-            headRequesters.put(panelItem.getName(), requesters);
-            names.put(panelItem.getName(), panelItem);
+            return;
+        }
+        PendingHead pending = pendingHeads.get(name);
+        if (pending == null) {
+            if (executor == null || executor.isShutdown()) {
+                // Not started or already shut down, so nothing would ever resolve this head
+                return;
+            }
+            try {
+                executor.execute(() -> resolve(name));
+            } catch (RejectedExecutionException e) {
+                return;
+            }
+            pending = new PendingHead(panelItem);
+            pendingHeads.put(name, pending);
+        }
+        pending.requesters.add(requester);
+    }
+
+    /**
+     * Looks up the head's profile and textures. Runs on the executor.
+     * @param name - player name
+     */
+    private static void resolve(String name) {
+        CachedHead resolved = null;
+        try {
+            resolved = lookup(name);
+            // Save in cache
+            cachedHeads.put(name, resolved);
+            dirty = true;
+        } catch (IOException | RuntimeException e) {
+            // The head is served without its skin and looked up again next time
+            plugin.logWarning("Could not look up the head of " + name + ": " + e.getMessage());
+        }
+        // Tell requesters the head came in
+        if (plugin.isEnabled()) {
+            CachedHead head = resolved;
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                PendingHead pending = pendingHeads.remove(name);
+                if (pending != null) {
+                    for (HeadRequester req : pending.requesters) {
+                        pending.panelItem.setHead(makeHead(name, head));
+                        req.setHead(pending.panelItem);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Gets the player's UUID and skin textures from Mojang
+     * @param name - player name
+     * @return the head to cache, without UUID and textures if there is no such player
+     * @throws IOException - if Mojang could not be reached or gave an error
+     */
+    private static CachedHead lookup(String name) throws IOException {
+        long now = System.currentTimeMillis();
+        JsonObject user = getJson(PROFILE_URL + URLEncoder.encode(name, "UTF-8"));
+        if (user == null) {
+            return new CachedHead(null, null, null, now);
+        }
+        String id = user.get("id").getAsString();
+        UUID uuid = UUID.fromString(id.replaceFirst("(\\w{8})(\\w{4})(\\w{4})(\\w{4})(\\w{12})", "$1-$2-$3-$4-$5"));
+        JsonObject profile = getJson(SESSION_URL + id + "?unsigned=false");
+        if (profile != null && profile.has("properties")) {
+            for (JsonElement element : profile.getAsJsonArray("properties")) {
+                JsonObject property = element.getAsJsonObject();
+                if (TEXTURES.equals(property.get("name").getAsString())) {
+                    String signature = property.has("signature") ? property.get("signature").getAsString() : null;
+                    return new CachedHead(uuid, property.get("value").getAsString(), signature, now);
+                }
+            }
+        }
+        return new CachedHead(uuid, null, null, now);
+    }
+
+    /**
+     * @param url - url to get
+     * @return the JSON response, or null if nothing was found
+     * @throws IOException - if the request failed
+     */
+    @Nullable
+    private static JsonObject getJson(String url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setConnectTimeout(TIMEOUT);
+        connection.setReadTimeout(TIMEOUT);
+        try {
+            int code = connection.getResponseCode();
+            if (code == HttpURLConnection.HTTP_NO_CONTENT || code == HttpURLConnection.HTTP_NOT_FOUND) {
+                return null;
+            }
+            if (code != HttpURLConnection.HTTP_OK) {
+                throw new IOException("HTTP " + code);
+            }
+            try (Reader reader = new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8)) {
+                return new JsonParser().parse(reader).getAsJsonObject();
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * Makes the head item. Runs on the main thread.
+     * @param name - player name
+     * @param cached - resolved profile, or null if it could not be looked up
+     * @return player head with the player's skin if it is known
+     */
+    @SuppressWarnings("deprecation")
+    private static ItemStack makeHead(String name, @Nullable CachedHead cached) {
+        ItemStack playerSkull = new ItemStack(Material.PLAYER_HEAD, 1);
+        SkullMeta meta = (SkullMeta) playerSkull.getItemMeta();
+        meta.setOwner(name);
+        if (cached != null && cached.textures != null) {
+            setTextures(meta, name, cached);
+        }
+        playerSkull.setItemMeta(meta);
+        return playerSkull;
+    }
+
+    /**
+     * Puts the textures in the skull's profile. The Spigot API has no access to profile textures,
+     * so this is done through the server's GameProfile.
+     * @param meta - skull meta
+     * @param name - player name
+     * @param cached - resolved profile with textures
+     */
+    private static void setTextures(SkullMeta meta, String name, CachedHead cached) {
+        try {
+            Class<?> profileClass = Class.forName("com.mojang.authlib.GameProfile");
+            Class<?> propertyClass = Class.forName("com.mojang.authlib.properties.Property");
+            Object profile = profileClass.getConstructor(UUID.class, String.class).newInstance(cached.uuid, name);
+            Object properties = profileClass.getMethod("getProperties").invoke(profile);
+            Object property = propertyClass.getConstructor(String.class, String.class, String.class)
+                    .newInstance(TEXTURES, cached.textures, cached.signature);
+            properties.getClass().getMethod("put", Object.class, Object.class).invoke(properties, TEXTURES, property);
+            Field profileField = meta.getClass().getDeclaredField("profile");
+            profileField.setAccessible(true);
+            profileField.set(meta, profile);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Leave the head with the owner's name only; the client will look up the skin itself
+        }
+    }
+
+    private void loadCache() {
+        File file = new File(plugin.getDataFolder(), CACHE_FILE);
+        if (!file.exists()) {
+            return;
+        }
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
+        for (Map<?, ?> entry : config.getMapList("profiles")) {
+            Object name = entry.get("name");
+            Object timestamp = entry.get("timestamp");
+            if (name instanceof String && timestamp instanceof Number) {
+                Object uuid = entry.get("uuid");
+                Object textures = entry.get(TEXTURES);
+                Object signature = entry.get("signature");
+                CachedHead cached;
+                try {
+                    cached = new CachedHead(uuid instanceof String ? UUID.fromString((String)uuid) : null,
+                            textures instanceof String ? (String)textures : null,
+                            signature instanceof String ? (String)signature : null,
+                            ((Number)timestamp).longValue());
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+                if (!cached.isExpired()) {
+                    // Heads resolved since startup are newer
+                    cachedHeads.putIfAbsent((String)name, cached);
+                }
+            }
+        }
+    }
+
+    private synchronized void saveCache() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        List<Map<String, Object>> list = new ArrayList<>();
+        cachedHeads.forEach((name, cached) -> {
+            if (!cached.isExpired()) {
+                Map<String, Object> entry = new HashMap<>();
+                entry.put("name", name);
+                if (cached.uuid != null) {
+                    entry.put("uuid", cached.uuid.toString());
+                }
+                if (cached.textures != null) {
+                    entry.put(TEXTURES, cached.textures);
+                }
+                if (cached.signature != null) {
+                    entry.put("signature", cached.signature);
+                }
+                entry.put("timestamp", cached.timestamp);
+                list.add(entry);
+            }
+        });
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("profiles", list);
+        try {
+            config.save(new File(plugin.getDataFolder(), CACHE_FILE));
+        } catch (IOException e) {
+            plugin.logError("Could not save the head cache: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stops resolving heads and saves the cache
+     * @since 1.6.0
+     */
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
         }
+        saveCache();
     }
 
 }
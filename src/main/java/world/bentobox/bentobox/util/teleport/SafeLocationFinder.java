@@ -0,0 +1,317 @@
+package world.bentobox.bentobox.util.teleport;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.block.data.Openable;
+import org.bukkit.scheduler.BukkitTask;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import world.bentobox.bentobox.BentoBox;
+
+/**
+ * Finds safe locations on chunk snapshots, so that the server does not have to wait for the search.
+ * <p>
+ * What each {@link Material} is safe for is worked out once and kept in a table, so checking a location
+ * does not need any string comparisons.
+ * @author tastybento
+ * @since 1.6.0
+ */
+public class SafeLocationFinder {
+
+    /**
+     * Number of chunk snapshots taken per tick
+     */
+    private static final int SNAPSHOTS_PER_TICK = 16;
+
+    // Material flags
+    private static final int SOLID = 1;
+    private static final int LIQUID = 1 << 1;
+    // Portals and lava are never safe
+    private static final int DANGEROUS = 1 << 2;
+    // Solid blocks that cannot be stood on
+    private static final int BAD_GROUND = 1 << 3;
+    // Blocks that can be stood in
+    private static final int SPACE = 1 << 4;
+    // Blocks that can be open or closed
+    private static final int OPENABLE = 1 << 5;
+
+    private static final byte[] FLAGS;
+    static {
+        Material[] materials = Material.values();
+        FLAGS = new byte[materials.length];
+        for (Material m : materials) {
+            String name = m.name();
+            int flags = 0;
+            if (m.isSolid()) {
+                flags |= SOLID;
+            }
+            if (m == Material.WATER || m == Material.LAVA) {
+                flags |= LIQUID;
+            }
+            if (m == Material.NETHER_PORTAL || m == Material.END_PORTAL || m == Material.LAVA) {
+                flags |= DANGEROUS;
+            }
+            if (m == Material.CACTUS || name.contains("BOAT") || name.contains("FENCE") || name.contains("SIGN")) {
+                flags |= BAD_GROUND;
+            }
+            // The isSolid function is not fully accurate (yet) so we have to check a few other items
+            // isSolid thinks that PLATEs and SIGNS are solid, but they are not
+            if (!m.isSolid() || name.contains("SIGN")) {
+                flags |= SPACE;
+            }
+            if (name.endsWith("_DOOR") || name.endsWith("TRAPDOOR") || name.endsWith("FENCE_GATE")) {
+                flags |= OPENABLE;
+            }
+            FLAGS[m.ordinal()] = (byte)flags;
+        }
+    }
+
+    private final BentoBox plugin;
+
+    public SafeLocationFinder(@NonNull BentoBox plugin) {
+        this.plugin = plugin;
+    }
+
+    private static boolean is(@Nullable Material material, int flag) {
+        return material != null && (FLAGS[material.ordinal()] & flag) != 0;
+    }
+
+    /**
+     * Checks if a player can stand in space1 and space2, on the ground.
+     * @param ground - type of the block below
+     * @param groundData - block data of the block below, only needed if it can be open or closed
+     * @param space1 - type of the block the player's feet would be in
+     * @param space1Liquid - true if space1 is a liquid
+     * @param space2 - type of the block the player's head would be in
+     * @param space2Liquid - true if space2 is a liquid
+     * @param waterNotSafe - true if water is dangerous in this world
+     * @return true if this is safe
+     */
+    public static boolean isSafe(@Nullable Material ground, @Nullable BlockData groundData, @Nullable Material space1, boolean space1Liquid,
+            @Nullable Material space2, boolean space2Liquid, boolean waterNotSafe) {
+        // Ground must be solid
+        if (!is(ground, SOLID)) {
+            return false;
+        }
+        // Cannot be submerged or water cannot be dangerous
+        if (space1Liquid && (space2Liquid || waterNotSafe)) {
+            return false;
+        }
+        // Portals and lava are not "safe"
+        if (is(ground, DANGEROUS) || is(space1, DANGEROUS) || is(space2, DANGEROUS)) {
+            return false;
+        }
+        // Check for trapdoors
+        if (groundData instanceof Openable) {
+            return !((Openable)groundData).isOpen();
+        }
+        if (is(ground, BAD_GROUND)) {
+            return false;
+        }
+        // Check that the space is not solid
+        return is(space1, SPACE) && is(space2, SPACE);
+    }
+
+    /**
+     * Finds the nearest safe location, working outwards from l in ever bigger boxes, like
+     * {@link world.bentobox.bentobox.managers.IslandsManager#bigScan(Location, int) IslandsManager#bigScan}.
+     * <p>
+     * The search is done ring by ring. The chunks that the next boxes reach into are snapshotted on the main
+     * thread, a few per tick, and then those boxes are searched in the background. The search stops as soon as a
+     * safe location is found, so chunks further out are not loaded.
+     * @param l - location around which to scan
+     * @param range - how far to scan along x and z
+     * @param depth - how far to scan down
+     * @param height - how far to scan up
+     * @return future safe location, or null if none can be found. It is completed on the main thread.
+     */
+    @NonNull
+    public CompletableFuture<Location> find(@NonNull Location l, int range, int depth, int height) {
+        Search search = new Search(l, range, depth, height);
+        search.snapshot();
+        return search.result;
+    }
+
+    /**
+     * One search for a safe location
+     */
+    private class Search {
+        private final CompletableFuture<Location> result = new CompletableFuture<>();
+        private final World world;
+        private final int x;
+        private final int y;
+        private final int z;
+        private final int range;
+        private final int depth;
+        private final int height;
+        private final int maxHeight;
+        private final boolean waterNotSafe;
+        private final int minChunkX;
+        private final int minChunkZ;
+        private final int width;
+        // Snapshots of the chunks within range, taken as the search reaches them
+        private final ChunkSnapshot[] snapshots;
+        // Chunks that the current box reaches into and that have not been snapshotted yet
+        private final Deque<Integer> missing = new ArrayDeque<>();
+        private BukkitTask task;
+        // Current box
+        private int radius;
+        private int minYradius;
+        private int maxYradius;
+        // The previous box, which has already been checked
+        private boolean first = true;
+        private int pMinX;
+        private int pMinZ;
+        private int pMinY;
+        private int pMaxX;
+        private int pMaxZ;
+        private int pMaxY;
+        // True once every box has been searched
+        private boolean exhausted;
+
+        private Search(Location l, int range, int depth, int height) {
+            this.world = l.getWorld();
+            this.x = l.getBlockX();
+            this.y = l.getBlockY();
+            this.z = l.getBlockZ();
+            this.range = range;
+            this.depth = depth;
+            this.height = height;
+            this.maxHeight = world.getMaxHeight();
+            this.waterNotSafe = plugin.getIWM().isWaterNotSafe(world);
+            minChunkX = (x - range) >> 4;
+            minChunkZ = (z - range) >> 4;
+            width = ((x + range) >> 4) - minChunkX + 1;
+            snapshots = new ChunkSnapshot[width * (((z + range) >> 4) - minChunkZ + 1)];
+        }
+
+        private int index(int chunkX, int chunkZ) {
+            return (chunkZ - minChunkZ) * width + chunkX - minChunkX;
+        }
+
+        /**
+         * Takes snapshots of the chunks the current box reaches into. Once they have all been taken, the search
+         * is continued in the background.
+         */
+        private void snapshot() {
+            if (missing.isEmpty()) {
+                for (int cx = (x - radius) >> 4; cx <= (x + radius) >> 4; cx++) {
+                    for (int cz = (z - radius) >> 4; cz <= (z + radius) >> 4; cz++) {
+                        if (snapshots[index(cx, cz)] == null) {
+                            missing.add(index(cx, cz));
+                        }
+                    }
+                }
+            }
+            for (int n = 0; n < SNAPSHOTS_PER_TICK && !missing.isEmpty(); n++) {
+                int i = missing.poll();
+                snapshots[i] = world.getChunkAt(minChunkX + i % width, minChunkZ + i / width).getChunkSnapshot(false, false, false);
+            }
+            if (!missing.isEmpty()) {
+                if (task == null) {
+                    task = Bukkit.getScheduler().runTaskTimer(plugin, this::snapshot, 1L, 1L);
+                }
+                return;
+            }
+            if (task != null) {
+                task.cancel();
+                task = null;
+            }
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+                Location found = search();
+                Bukkit.getScheduler().runTask(plugin, () -> {
+                    if (found != null || exhausted) {
+                        result.complete(found);
+                    } else {
+                        // The next box reaches into chunks that have not been snapshotted yet
+                        snapshot();
+                    }
+                });
+            });
+        }
+
+        /**
+         * @return true if the chunks the current box reaches into have been snapshotted
+         */
+        private boolean snapshotted() {
+            return snapshots[index((x - radius) >> 4, (z - radius) >> 4)] != null
+                    && snapshots[index((x + radius) >> 4, (z + radius) >> 4)] != null;
+        }
+
+        /**
+         * Works outwards from the location until the closest safe location is found, or until the next box
+         * reaches into chunks that have not been snapshotted yet
+         * @return safe location or null if none has been found yet. {@link #exhausted} is set if none can be found.
+         */
+        @Nullable
+        private Location search() {
+            while (snapshotted()) {
+                int minX = x - radius;
+                int minZ = z - radius;
+                int minY = y - minYradius;
+                int maxX = x + radius;
+                int maxZ = z + radius;
+                int maxY = y + maxYradius;
+                for (int bx = minX; bx <= maxX; bx++) {
+                    for (int bz = minZ; bz <= maxZ; bz++) {
+                        for (int by = minY; by <= maxY; by++) {
+                            if ((first || bx < pMinX || bx > pMaxX || bz < pMinZ || bz > pMaxZ || by < pMinY || by > pMaxY)
+                                    && isSafe(bx, by, bz)) {
+                                return new Location(world, bx + 0.5D, by, bz + 0.5D);
+                            }
+                        }
+                    }
+                }
+                first = false;
+                pMinX = minX;
+                pMinZ = minZ;
+                pMinY = minY;
+                pMaxX = maxX;
+                pMaxZ = maxZ;
+                pMaxY = maxY;
+                if (radius >= range && minYradius >= depth && maxYradius >= height) {
+                    // The biggest box has been searched and nothing worked
+                    exhausted = true;
+                    return null;
+                }
+                if (radius < range) {
+                    radius++;
+                }
+                if (minYradius < depth) {
+                    minYradius++;
+                }
+                if (maxYradius < height) {
+                    maxYradius++;
+                }
+            }
+            return null;
+        }
+
+        private boolean isSafe(int bx, int by, int bz) {
+            if (by < 1 || by >= maxHeight) {
+                return false;
+            }
+            ChunkSnapshot chunk = snapshots[index(bx >> 4, bz >> 4)];
+            int cx = bx & 15;
+            int cz = bz & 15;
+            Material ground = chunk.getBlockType(cx, by - 1, cz);
+            if (!is(ground, SOLID)) {
+                // Quick check for the most common case
+                return false;
+            }
+            Material space1 = chunk.getBlockType(cx, by, cz);
+            Material space2 = by + 1 < maxHeight ? chunk.getBlockType(cx, by + 1, cz) : Material.AIR;
+            BlockData groundData = is(ground, OPENABLE) ? chunk.getBlockData(cx, by - 1, cz) : null;
+            return SafeLocationFinder.isSafe(ground, groundData, space1, is(space1, LIQUID), space2, is(space2, LIQUID), waterNotSafe);
+        }
+    }
+}
@@ -5,7 +5,6 @@ import org.bukkit.ChunkSnapshot;
 import org.bukkit.GameMode;
 import org.bukkit.Location;
 import org.bukkit.Material;
-import org.bukkit.World;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitTask;
@@ -14,15 +13,20 @@ import org.eclipse.jdt.annotation.Nullable;
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.database.objects.Island;
-import world.bentobox.bentobox.util.Pair;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * A class that calculates finds a safe spot asynchronously and then teleports the player there.
+ * <p>
+ * The chunks around the location are scanned nearest first, in rings around the location's chunk.
+ * Chunk snapshots are taken on the main thread, a batch at a time, and each batch is scanned in parallel.
  * @author tastybento
  *
  */
@@ -32,7 +36,33 @@ public class SafeSpotTeleport {
     private static final long SPEED = 1;
     private static final int MAX_RADIUS = 200;
     private static final int MAX_HEIGHT = 235;
-    private boolean checking;
+
+    // Results of checking a block
+    private static final int NOTHING = 0;
+    private static final int SAFE = 1;
+    private static final int PORTAL = 2;
+
+    /**
+     * Blocks that count as empty space
+     */
+    private static final Set<Material> AIR = EnumSet.of(Material.AIR, Material.CAVE_AIR, Material.VOID_AIR);
+    /**
+     * Blocks that cannot be stood on
+     */
+    private static final Set<Material> UNSAFE = EnumSet.of(Material.ANVIL, Material.BARRIER, Material.CACTUS, Material.END_PORTAL,
+            Material.FIRE, Material.FLOWER_POT, Material.LADDER, Material.LAVA, Material.LEVER, Material.TALL_GRASS,
+            Material.PISTON_HEAD, Material.MOVING_PISTON, Material.STONE_BUTTON, Material.TORCH, Material.TRIPWIRE,
+            Material.WATER, Material.COBWEB);
+    static {
+        for (Material m : Material.values()) {
+            String name = m.name();
+            if (name.contains("FENCE") || name.contains("DOOR") || name.contains("GATE") || name.contains("PLATE") || name.contains("SIGN")) {
+                UNSAFE.add(m);
+            }
+        }
+    }
+
+    private volatile boolean checking;
     private BukkitTask task;
 
     // Parameters
@@ -46,7 +76,10 @@ public class SafeSpotTeleport {
     private Location bestSpot;
 
     private BentoBox plugin;
-    private List<Pair<Integer, Integer>> chunksToScan;
+    // Chunks to scan, nearest first, with the coordinates packed as x << 32 | z
+    private long[] chunksToScan;
+    // Index of the next chunk to snapshot
+    private int next;
 
     /**
      * Teleports and entity to a safe spot on island
@@ -97,19 +130,17 @@ public class SafeSpotTeleport {
 
         // Start a recurring task until done or cancelled
         task = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-            List<ChunkSnapshot> chunkSnapshot = new ArrayList<>();
             if (checking) {
-                Iterator<Pair<Integer, Integer>> it = chunksToScan.iterator();
-                if (!it.hasNext()) {
+                if (next >= chunksToScan.length) {
                     // Nothing left
                     tidyUp(entity, failureMessage);
                     return;
                 }
-                // Add chunk snapshots to the list
-                while (it.hasNext() && chunkSnapshot.size() < MAX_CHUNKS) {
-                    Pair<Integer, Integer> pair = it.next();
-                    chunkSnapshot.add(location.getWorld().getChunkAt(pair.x, pair.z).getChunkSnapshot());
-                    it.remove();
+                // Take the next batch of chunk snapshots
+                List<ChunkSnapshot> chunkSnapshot = new ArrayList<>();
+                while (next < chunksToScan.length && chunkSnapshot.size() < MAX_CHUNKS) {
+                    long chunk = chunksToScan[next++];
+                    chunkSnapshot.add(location.getWorld().getChunkAt((int)(chunk >> 32), (int)chunk).getChunkSnapshot());
                 }
                 // Move to next step
                 checking = false;
@@ -151,61 +182,104 @@ public class SafeSpotTeleport {
     }
 
     /**
-     * Gets a set of chunk coords that will be scanned.
-     * @return - list of chunk coords to be scanned
+     * Gets the chunks that will be scanned, in rings around the location's chunk so that the nearest are scanned first.
+     * Each chunk is only visited once, so there is no need to check for duplicates.
+     * @return - chunk coords to be scanned, packed as x << 32 | z
      */
-    private List<Pair<Integer, Integer>> getChunksToScan() {
-        List<Pair<Integer, Integer>> result = new ArrayList<>();
+    private long[] getChunksToScan() {
         // Get island if available
         Optional<Island> island = plugin.getIslands().getIslandAt(location);
         if (!island.isPresent()) {
-            return new ArrayList<>();
+            return new long[0];
         }
-        int maxRadius = island.map(Island::getProtectionRange).orElse(plugin.getIWM().getIslandProtectionRange(location.getWorld()));
-        maxRadius = maxRadius > MAX_RADIUS ? MAX_RADIUS : maxRadius;
+        Island is = island.get();
+        int maxRadius = Math.min(is.getProtectionRange(), MAX_RADIUS);
 
         int x = location.getBlockX();
         int z = location.getBlockZ();
-        // Create ever increasing squares around the target location
-        int radius = 0;
-        do {
-            for (int i = x - radius; i <= x + radius; i+=16) {
-                for (int j = z - radius; j <= z + radius; j+=16) {
-                    addChunk(result, island, new Pair<>(i,j), new Pair<>(i >> 4, j >> 4));
-                }
+        // Only scan chunks that are in the island space
+        int minChunkX = Math.max(x - maxRadius, is.getMinX()) >> 4;
+        int maxChunkX = Math.min(x + maxRadius, is.getMaxX() - 1) >> 4;
+        int minChunkZ = Math.max(z - maxRadius, is.getMinZ()) >> 4;
+        int maxChunkZ = Math.min(z + maxRadius, is.getMaxZ() - 1) >> 4;
+        if (minChunkX > maxChunkX || minChunkZ > maxChunkZ) {
+            return new long[0];
+        }
+        int centerX = x >> 4;
+        int centerZ = z >> 4;
+        int rings = Math.max(Math.max(Math.abs(centerX - minChunkX), Math.abs(maxChunkX - centerX)),
+                Math.max(Math.abs(centerZ - minChunkZ), Math.abs(maxChunkZ - centerZ)));
+        ChunkList result = new ChunkList((maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1), minChunkX, minChunkZ, maxChunkX, maxChunkZ);
+        result.add(centerX, centerZ);
+        for (int d = 1; d <= rings; d++) {
+            for (int i = centerX - d; i <= centerX + d; i++) {
+                result.add(i, centerZ - d);
+                result.add(i, centerZ + d);
             }
-            radius++;
-        } while (radius < maxRadius);
-        return result;
+            for (int j = centerZ - d + 1; j < centerZ + d; j++) {
+                result.add(centerX - d, j);
+                result.add(centerX + d, j);
+            }
+        }
+        return result.toArray();
     }
 
-    private void addChunk(List<Pair<Integer, Integer>> result, Optional<Island> island, Pair<Integer, Integer> blockCoord, Pair<Integer, Integer> chunkCoord) {
-        if (!result.contains(chunkCoord)) {
-            // Add the chunk coord
-            if (!island.isPresent()) {
-                // If there is no island, just add it
-                result.add(chunkCoord);
-            } else {
-                // If there is an island, only add it if the coord is in island space
-                island.ifPresent(is -> {
-                    if (is.inIslandSpace(blockCoord)) {
-                        result.add(chunkCoord);
-                    }
-                });
+    /**
+     * List of packed chunk coordinates within bounds
+     */
+    private static class ChunkList {
+        private final long[] chunks;
+        private final int minX;
+        private final int minZ;
+        private final int maxX;
+        private final int maxZ;
+        private int size;
+
+        private ChunkList(int capacity, int minX, int minZ, int maxX, int maxZ) {
+            this.chunks = new long[capacity];
+            this.minX = minX;
+            this.minZ = minZ;
+            this.maxX = maxX;
+            this.maxZ = maxZ;
+        }
+
+        private void add(int x, int z) {
+            if (x >= minX && x <= maxX && z >= minZ && z <= maxZ) {
+                chunks[size++] = ((long)x << 32) | (z & 0xFFFFFFFFL);
             }
         }
+
+        private long[] toArray() {
+            return size == chunks.length ? chunks : Arrays.copyOf(chunks, size);
+        }
     }
 
     /**
-     * Loops through the chunks and if a safe spot is found, fires off the teleportation
+     * Scans the chunks in parallel and, if a safe spot is found, fires off the teleportation.
+     * The results are then gone through in the order of the chunks, so the nearest spot wins.
      * @param chunkSnapshot - list of chunk snapshots to check
      */
     private void checkChunks(final List<ChunkSnapshot> chunkSnapshot) {
+        final boolean portalScan = portal;
         // Run async task to scan chunks
         Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            for (ChunkSnapshot chunk: chunkSnapshot) {
-                if (scanChunk(chunk)) {
-                    task.cancel();
+            List<ScanResult> results = chunkSnapshot.parallelStream().map(chunk -> scanChunk(chunk, portalScan)).collect(Collectors.toList());
+            for (ScanResult result : results) {
+                if (portal) {
+                    if (bestSpot == null && result.safeBeforePortal != null) {
+                        // Stash the best spot
+                        bestSpot = result.safeBeforePortal;
+                    }
+                    if (result.portalFound) {
+                        // A portal has been found, switch to non-portal mode now
+                        portal = false;
+                        if (result.safeAfterPortal != null) {
+                            teleportEntity(result.safeAfterPortal);
+                            return;
+                        }
+                    }
+                } else if (result.firstSafe != null) {
+                    teleportEntity(result.firstSafe);
                     return;
                 }
             }
@@ -214,24 +288,52 @@ public class SafeSpotTeleport {
         });
     }
 
+    /**
+     * What was found in a chunk, in the order it was scanned
+     */
+    private static class ScanResult {
+        private Location firstSafe;
+        private Location safeBeforePortal;
+        private boolean portalFound;
+        private Location safeAfterPortal;
+    }
 
     /**
      * @param chunk - chunk snapshot
-     * @return true if a safe spot was found
+     * @param portalScan - true if a portal is being looked for
+     * @return what was found in the chunk
      */
-    private boolean scanChunk(ChunkSnapshot chunk) {
+    private ScanResult scanChunk(ChunkSnapshot chunk, boolean portalScan) {
+        ScanResult result = new ScanResult();
         // Run through the chunk
         for (int x = 0; x< 16; x++) {
             for (int z = 0; z < 16; z++) {
                 // Work down from the entry point up
                 for (int y = Math.min(chunk.getHighestBlockYAt(x, z), MAX_HEIGHT); y >= 0; y--) {
-                    if (checkBlock(chunk, x,y,z)) {
-                        return true;
+                    int found = checkBlock(chunk, x, y, z);
+                    if (found == PORTAL) {
+                        result.portalFound = true;
+                    } else if (found == SAFE) {
+                        Location spot = new Vector((chunk.getX() << 4) + x + 0.5D, y + 1.0D, (chunk.getZ() << 4) + z + 0.5D).toLocation(location.getWorld());
+                        if (result.firstSafe == null) {
+                            result.firstSafe = spot;
+                        }
+                        if (!result.portalFound) {
+                            if (result.safeBeforePortal == null) {
+                                result.safeBeforePortal = spot;
+                            }
+                        } else {
+                            result.safeAfterPortal = spot;
+                        }
+                        if (!portalScan || result.safeAfterPortal != null) {
+                            // Nothing else is needed from this chunk
+                            return result;
+                        }
                     }
                 } // end y
             } //end z
         } // end x
-        return false;
+        return result;
     }
 
     /**
@@ -261,69 +363,27 @@ public class SafeSpotTeleport {
     }
 
     /**
-     * Returns true if the location is a safe one.
+     * Checks if the block can be stood on with two empty blocks above it.
      * @param chunk - chunk snapshot
      * @param x - x coordinate
      * @param y - y coordinate
      * @param z - z coordinate
-     * @return true if this is a safe spot, false if this is a portal scan
+     * @return SAFE if this is a safe spot, PORTAL if this is a nether portal, otherwise NOTHING
      */
-    private boolean checkBlock(ChunkSnapshot chunk, int x, int y, int z) {
-        World world = location.getWorld();
+    private int checkBlock(ChunkSnapshot chunk, int x, int y, int z) {
         Material type = chunk.getBlockType(x, y, z);
-        if (!type.equals(Material.AIR)) { // AIR
-            Material space1 = chunk.getBlockType(x, Math.min(y + 1, SafeSpotTeleport.MAX_HEIGHT), z);
-            Material space2 = chunk.getBlockType(x, Math.min(y + 2, SafeSpotTeleport.MAX_HEIGHT), z);
-            if ((space1.equals(Material.AIR) && space2.equals(Material.AIR)) || (space1.equals(Material.NETHER_PORTAL) && space2.equals(Material.NETHER_PORTAL))
-                    && (!type.toString().contains("FENCE") && !type.toString().contains("DOOR") && !type.toString().contains("GATE") && !type.toString().contains("PLATE")
-                    && !type.toString().contains("SIGN"))) {
-                switch (type) {
-                // Unsafe
-                case ANVIL:
-                case BARRIER:
-                case CACTUS:
-                case END_PORTAL:
-                case FIRE:
-                case FLOWER_POT:
-                case LADDER:
-                case LAVA:
-                case LEVER:
-                case TALL_GRASS:
-                case PISTON_HEAD:
-                case MOVING_PISTON:
-                case STONE_BUTTON:
-                case TORCH:
-                case TRIPWIRE:
-                case WATER:
-                case COBWEB:
-                    //Block is dangerous
-                    break;
-                case NETHER_PORTAL:
-                    if (portal) {
-                        // A portal has been found, switch to non-portal mode now
-                        portal = false;
-                    }
-                    break;
-                default:
-                    return safe(chunk, x, y, z, world);
-                }
-            }
+        if (AIR.contains(type)) {
+            return NOTHING;
         }
-        return false;
-    }
-
-    private boolean safe(ChunkSnapshot chunk, int x, int y, int z, World world) {
-        Vector newSpot = new Vector((chunk.getX() << 4) + x + 0.5D, y + 1.0D, (chunk.getZ() << 4) + z + 0.5D);
-        if (portal) {
-            if (bestSpot == null) {
-                // Stash the best spot
-                bestSpot = newSpot.toLocation(world);
-            }
-            return false;
-        } else {
-            teleportEntity(newSpot.toLocation(world));
-            return true;
+        Material space1 = chunk.getBlockType(x, Math.min(y + 1, SafeSpotTeleport.MAX_HEIGHT), z);
+        Material space2 = chunk.getBlockType(x, Math.min(y + 2, SafeSpotTeleport.MAX_HEIGHT), z);
+        if ((!AIR.contains(space1) || !AIR.contains(space2)) && (space1 != Material.NETHER_PORTAL || space2 != Material.NETHER_PORTAL)) {
+            return NOTHING;
+        }
+        if (type == Material.NETHER_PORTAL) {
+            return PORTAL;
         }
+        return UNSAFE.contains(type) ? NOTHING : SAFE;
     }
 
     public static class Builder {
@@ -245,6 +245,38 @@ public class TestBentoBox {
         //assertTrue(testCommand.execute(player,  "test", new String[] {"help"}));
     }
 
+    @Test
+    public void testTabCompleteAliasesAndRegistration() {
+        CompositeCommand testCommand = new TestCommand();
+        testCommand.setOnlyPlayer(true);
+        testCommand.setPermission("default.permission");
+        assertEquals(Arrays.asList("sub1","sub2"), testCommand.tabComplete(player, "test", new String[] {"su"}));
+        // Aliases are not offered
+        assertEquals(Collections.emptyList(), testCommand.tabComplete(player, "test", new String[] {"level"}));
+        // A sub-command registered after a tab completion is offered, even if the number of sub-commands is the same
+        testCommand.getSubCommands().remove("sub2");
+        new TestSubCommand3(testCommand);
+        assertEquals(Arrays.asList("sub1","sub3"), testCommand.tabComplete(player, "test", new String[] {"su"}));
+    }
+
+    private class TestSubCommand3 extends CompositeCommand {
+
+        public TestSubCommand3(CompositeCommand parent) {
+            super(parent, "sub3", "subthree");
+        }
+
+        @Override
+        public void setup() {
+            // No sub commands
+        }
+
+        @Override
+        public boolean execute(User user, String label, List<String> args) {
+            return true;
+        }
+
+    }
+
     private class TestCommand extends CompositeCommand {
 
         public TestCommand() {
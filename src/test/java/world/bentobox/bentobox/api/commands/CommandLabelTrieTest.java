@@ -0,0 +1,70 @@
+package world.bentobox.bentobox.api.commands;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author tastybento
+ *
+ */
+public class CommandLabelTrieTest {
+
+    private CommandLabelTrie trie;
+
+    @Before
+    public void setUp() {
+        trie = new CommandLabelTrie();
+        trie.add("help");
+        trie.add("setname");
+        trie.add("setHome");
+        trie.add("sethome2");
+        trie.add("go");
+    }
+
+    @Test
+    public void testStartingWith() {
+        assertEquals(Arrays.asList("setname", "setHome", "sethome2"), trie.startingWith("set"));
+        assertEquals(Arrays.asList("setHome", "sethome2"), trie.startingWith("seth"));
+        assertEquals(Collections.singletonList("go"), trie.startingWith("g"));
+        // Whole label
+        assertEquals(Collections.singletonList("help"), trie.startingWith("help"));
+    }
+
+    @Test
+    public void testStartingWithIgnoresCase() {
+        assertEquals(Arrays.asList("setHome", "sethome2"), trie.startingWith("SETH"));
+        // Labels keep their case
+        assertEquals(Arrays.asList("setHome", "sethome2"), trie.startingWith("SetHome"));
+    }
+
+    @Test
+    public void testStartingWithEmptyPrefix() {
+        assertEquals(Arrays.asList("help", "setname", "setHome", "sethome2", "go"), trie.startingWith(""));
+    }
+
+    @Test
+    public void testStartingWithNoMatch() {
+        assertTrue(trie.startingWith("x").isEmpty());
+        // Longer than any label
+        assertTrue(trie.startingWith("sethome23").isEmpty());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testStartingWithUnmodifiable() {
+        trie.startingWith("set").add("setwarp");
+    }
+
+    @Test
+    public void testSize() {
+        assertEquals(5, trie.size());
+        trie.add("setwarp");
+        assertEquals(6, trie.size());
+        assertEquals(Arrays.asList("setname", "setHome", "sethome2", "setwarp"), trie.startingWith("set"));
+    }
+}
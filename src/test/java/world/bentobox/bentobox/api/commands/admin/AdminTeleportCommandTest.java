@@ -14,6 +14,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
@@ -132,6 +133,7 @@ public class AdminTeleportCommandTest {
         // We do no actually want to teleport in this test, so return no island
         Optional<Island> nothing = Optional.empty();
         when(im.getIslandAt(any())).thenReturn(nothing );
+        when(im.findSafeLocation(any(), Mockito.anyInt())).thenReturn(CompletableFuture.completedFuture(location));
     }
 
 
@@ -19,6 +19,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
@@ -48,6 +49,7 @@ import world.bentobox.bentobox.managers.CommandsManager;
 import world.bentobox.bentobox.managers.IslandWorldManager;
 import world.bentobox.bentobox.managers.IslandsManager;
 import world.bentobox.bentobox.managers.PlayersManager;
+import world.bentobox.bentobox.managers.island.IslandCreationQueue;
 import world.bentobox.bentobox.managers.island.NewIsland;
 import world.bentobox.bentobox.managers.island.NewIsland.Builder;
 import world.bentobox.bentobox.panels.IslandCreationPanel;
@@ -66,6 +68,8 @@ public class IslandCreateCommandTest {
     @Mock
     private IslandsManager im;
     @Mock
+    private IslandCreationQueue queue;
+    @Mock
     private IslandWorldManager iwm;
     @Mock
     private Builder builder;
@@ -127,6 +131,8 @@ public class IslandCreateCommandTest {
         // Has team
         when(im.inTeam(any(), eq(uuid))).thenReturn(true);
         when(plugin.getIslands()).thenReturn(im);
+        // No island is being created
+        when(im.getIslandCreationQueue()).thenReturn(queue);
 
 
         PlayersManager pm = mock(PlayersManager.class);
@@ -149,7 +155,7 @@ public class IslandCreateCommandTest {
         when(builder.world(any())).thenReturn(builder);
         when(builder.addon(addon)).thenReturn(builder);
         when(builder.reason(any())).thenReturn(builder);
-        when(builder.build()).thenReturn(mock(Island.class));
+        when(builder.buildAsync()).thenReturn(CompletableFuture.completedFuture(mock(Island.class)));
 
         // Bundles manager
         when(plugin.getBlueprintsManager()).thenReturn(bpm);
@@ -199,6 +205,16 @@ public class IslandCreateCommandTest {
         verify(user).sendMessage(eq("general.errors.already-have-island"));
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.commands.island.IslandCreateCommand#canExecute(world.bentobox.bentobox.api.user.User, java.lang.String, java.util.List)}.
+     */
+    @Test
+    public void testCanExecuteUserStringListOfStringBeingCreated() {
+        when(queue.get(Mockito.any(UUID.class))).thenReturn(mock(NewIsland.class));
+        assertFalse(cc.canExecute(user, "", Collections.emptyList()));
+        verify(user).sendMessage(eq("commands.island.create.in-progress"));
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.api.commands.island.IslandCreateCommand#canExecute(world.bentobox.bentobox.api.user.User, java.lang.String, java.util.List)}.
      */
@@ -241,7 +257,7 @@ public class IslandCreateCommandTest {
         verify(builder).addon(any());
         verify(builder).reason(eq(Reason.CREATE));
         verify(builder).name(eq("custom"));
-        verify(builder).build();
+        verify(builder).buildAsync();
         verify(user).sendMessage("commands.island.create.creating-island");
     }
 
@@ -256,13 +272,30 @@ public class IslandCreateCommandTest {
         // Has permission
         when(bpm.checkPerm(any(), any(), any())).thenReturn(true);
 
-        when(builder.build()).thenThrow(new IOException("message"));
+        when(builder.buildAsync()).thenThrow(new IOException("message"));
         assertFalse(cc.execute(user, "", Collections.singletonList("custom")));
         verify(user).sendMessage("commands.island.create.creating-island");
         verify(user).sendMessage("commands.island.create.unable-create-island");
         verify(plugin).logError("Could not create island for player. message");
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.commands.island.IslandCreateCommand#execute(world.bentobox.bentobox.api.user.User, java.lang.String, java.util.List)}.
+     * @throws IOException
+     */
+    @Test
+    public void testExecuteUserStringListOfStringCreationFailed() throws IOException {
+        // Bundle exists
+        when(bpm.validate(any(), any())).thenReturn("custom");
+        // Has permission
+        when(bpm.checkPerm(any(), any(), any())).thenReturn(true);
+        CompletableFuture<Island> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("paste failed"));
+        when(builder.buildAsync()).thenReturn(failed);
+        assertTrue(cc.execute(user, "", Collections.singletonList("custom")));
+        verify(user).sendMessage("commands.island.create.unable-create-island");
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.api.commands.island.IslandCreateCommand#execute(world.bentobox.bentobox.api.user.User, java.lang.String, java.util.List)}.
      */
@@ -311,7 +344,7 @@ public class IslandCreateCommandTest {
         verify(builder).addon(any());
         verify(builder).reason(eq(Reason.CREATE));
         verify(builder).name(eq("custom"));
-        verify(builder).build();
+        verify(builder).buildAsync();
         verify(user).sendMessage("commands.island.create.creating-island");
     }
 
@@ -12,6 +12,7 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import org.bukkit.Bukkit;
 import org.bukkit.World;
@@ -38,6 +39,7 @@ import world.bentobox.bentobox.managers.CommandsManager;
 import world.bentobox.bentobox.managers.IslandWorldManager;
 import world.bentobox.bentobox.managers.IslandsManager;
 import world.bentobox.bentobox.managers.PlayersManager;
+import world.bentobox.bentobox.managers.island.IslandCreationQueue;
 import world.bentobox.bentobox.managers.island.NewIsland;
 
 /**
@@ -53,6 +55,8 @@ public class IslandResetCommandTest {
     private User user;
     private Settings s;
     private IslandsManager im;
+    @Mock
+    private IslandCreationQueue queue;
     private PlayersManager pm;
     private World world;
     private IslandWorldManager iwm;
@@ -99,6 +103,8 @@ public class IslandResetCommandTest {
         when(im.hasIsland(any(), eq(uuid))).thenReturn(false);
         when(im.isOwner(any(), eq(uuid))).thenReturn(false);
         when(plugin.getIslands()).thenReturn(im);
+        // No island is being created
+        when(im.getIslandCreationQueue()).thenReturn(queue);
 
 
         // Has team
@@ -137,6 +143,15 @@ public class IslandResetCommandTest {
         verify(user).sendMessage("general.errors.no-island");
     }
 
+    @Test
+    public void testBeingCreated() {
+        IslandResetCommand irc = new IslandResetCommand(ic);
+        // The player's new island is still being made
+        when(queue.get(uuid)).thenReturn(mock(NewIsland.class));
+        assertFalse(irc.canExecute(user, irc.getLabel(), Collections.emptyList()));
+        verify(user).sendMessage("commands.island.create.in-progress");
+    }
+
     @Test
     public void testNotOwner() {
         IslandResetCommand irc = new IslandResetCommand(ic);
@@ -200,7 +215,7 @@ public class IslandResetCommandTest {
         when(builder.reason(any())).thenReturn(builder);
         when(builder.name(any())).thenReturn(builder);
         when(builder.addon(any())).thenReturn(builder);
-        when(builder.build()).thenReturn(mock(Island.class));
+        when(builder.buildAsync()).thenReturn(CompletableFuture.completedFuture(mock(Island.class)));
         PowerMockito.mockStatic(NewIsland.class);
         when(NewIsland.builder()).thenReturn(builder);
 
@@ -233,7 +248,7 @@ public class IslandResetCommandTest {
         when(builder.reason(any())).thenReturn(builder);
         when(builder.name(any())).thenReturn(builder);
         when(builder.addon(any())).thenReturn(builder);
-        when(builder.build()).thenReturn(mock(Island.class));
+        when(builder.buildAsync()).thenReturn(CompletableFuture.completedFuture(mock(Island.class)));
         PowerMockito.mockStatic(NewIsland.class);
         when(NewIsland.builder()).thenReturn(builder);
         // Test with unlimited resets
@@ -266,7 +281,7 @@ public class IslandResetCommandTest {
         when(builder.reason(any())).thenReturn(builder);
         when(builder.name(any())).thenReturn(builder);
         when(builder.addon(any())).thenReturn(builder);
-        when(builder.build()).thenReturn(mock(Island.class));
+        when(builder.buildAsync()).thenReturn(CompletableFuture.completedFuture(mock(Island.class)));
         PowerMockito.mockStatic(NewIsland.class);
         when(NewIsland.builder()).thenReturn(builder);
 
@@ -331,7 +346,7 @@ public class IslandResetCommandTest {
         when(builder.reason(any())).thenReturn(builder);
         when(builder.name(any())).thenReturn(builder);
         when(builder.addon(any())).thenReturn(builder);
-        when(builder.build()).thenReturn(mock(Island.class));
+        when(builder.buildAsync()).thenReturn(CompletableFuture.completedFuture(mock(Island.class)));
         PowerMockito.mockStatic(NewIsland.class);
         when(NewIsland.builder()).thenReturn(builder);
 
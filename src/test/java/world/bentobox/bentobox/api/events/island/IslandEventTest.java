@@ -0,0 +1,113 @@
+package world.bentobox.bentobox.api.events.island;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.RegisteredListener;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import world.bentobox.bentobox.api.events.BentoBoxEvent;
+import world.bentobox.bentobox.api.events.IslandBaseEvent;
+import world.bentobox.bentobox.api.events.island.IslandEvent.IslandEnterEvent;
+import world.bentobox.bentobox.api.events.island.IslandEvent.IslandExitEvent;
+import world.bentobox.bentobox.api.events.island.IslandEvent.Reason;
+import world.bentobox.bentobox.database.objects.Island;
+
+/**
+ * @author tastybento
+ *
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({Bukkit.class})
+public class IslandEventTest {
+
+    private PluginManager pim;
+    private Island island;
+    private EnterListener enterListener = new EnterListener();
+
+    public static class EnterListener implements Listener {
+        @EventHandler
+        public void onEnter(IslandEnterEvent e) {
+            // Nothing to do
+        }
+    }
+
+    @Before
+    public void setUp() {
+        Server server = mock(Server.class);
+        PowerMockito.mockStatic(Bukkit.class);
+        when(Bukkit.getServer()).thenReturn(server);
+        pim = mock(PluginManager.class);
+        when(server.getPluginManager()).thenReturn(pim);
+        island = mock(Island.class);
+    }
+
+    @After
+    public void tearDown() {
+        HandlerList.unregisterAll(enterListener);
+    }
+
+    private IslandBaseEvent build(Reason reason) {
+        return IslandEvent.builder().island(island).involvedPlayer(UUID.randomUUID()).reason(reason).build();
+    }
+
+    @Test
+    public void testBuildNoListeners() {
+        IslandBaseEvent event = build(Reason.ENTER);
+        assertTrue(event instanceof IslandEnterEvent);
+        assertSame(island, event.getIsland());
+        Mockito.verify(pim, Mockito.never()).callEvent(Mockito.any());
+    }
+
+    @Test
+    public void testBuildOnlyListenedEvents() {
+        BentoBoxEvent.getHandlerList().register(new RegisteredListener(enterListener, (l, e) -> {}, EventPriority.NORMAL, mock(Plugin.class), false));
+        assertTrue(BentoBoxEvent.isListened(IslandEnterEvent.class));
+        assertFalse(BentoBoxEvent.isListened(IslandExitEvent.class));
+        assertFalse(BentoBoxEvent.isListened(IslandEvent.class));
+        IslandBaseEvent enter = build(Reason.ENTER);
+        build(Reason.EXIT);
+        Mockito.verify(pim).callEvent(enter);
+        Mockito.verify(pim, Mockito.times(1)).callEvent(Mockito.any());
+        // Once unregistered, nothing is called
+        HandlerList.unregisterAll(enterListener);
+        assertFalse(BentoBoxEvent.isListened(IslandEnterEvent.class));
+    }
+
+    @Test
+    public void testSubscribe() {
+        List<IslandBaseEvent> events = new ArrayList<>();
+        Consumer<IslandBaseEvent> subscriber = events::add;
+        IslandEvent.subscribe(Reason.EXIT, subscriber);
+        build(Reason.ENTER);
+        IslandBaseEvent exit = build(Reason.EXIT);
+        IslandEvent.unsubscribe(Reason.EXIT, subscriber);
+        build(Reason.EXIT);
+        assertTrue(events.size() == 1);
+        assertSame(exit, events.get(0));
+        Mockito.verify(pim, Mockito.never()).callEvent(Mockito.any());
+    }
+}
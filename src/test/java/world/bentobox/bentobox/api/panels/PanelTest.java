@@ -4,6 +4,8 @@
 package world.bentobox.bentobox.api.panels;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -12,12 +14,16 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.Server;
 import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
 import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemFactory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.junit.After;
@@ -63,6 +69,9 @@ public class PanelTest {
         PowerMockito.mockStatic(Bukkit.class);
         when(Bukkit.getServer()).thenReturn(server);
         when(Bukkit.createInventory(Mockito.any(), Mockito.anyInt(), Mockito.anyString())).thenReturn(inv);
+        ItemFactory itemFactory = mock(ItemFactory.class);
+        when(itemFactory.getItemMeta(Mockito.any())).thenReturn(mock(ItemMeta.class));
+        when(Bukkit.getItemFactory()).thenReturn(itemFactory);
 
         name = "panel";
         items = Collections.emptyMap();
@@ -154,7 +163,8 @@ public class PanelTest {
         PowerMockito.verifyStatic(Bukkit.class, VerificationModeFactory.times(1));
         Bukkit.createInventory(Mockito.eq(null), Mockito.eq(54), Mockito.eq(name));
 
-        Mockito.verify(inv, Mockito.times(54)).setItem(Mockito.anyInt(), Mockito.eq(itemStack));
+        // Only the first page is filled
+        Mockito.verify(inv, Mockito.times(45)).setItem(Mockito.anyInt(), Mockito.eq(itemStack));
         Mockito.verify(player).openInventory(Mockito.any(Inventory.class));
 
     }
@@ -178,7 +188,7 @@ public class PanelTest {
         Panel p = new Panel(name, items, 0, user, listener);
 
         // The next two lines have to be paired together to verify the static call
-        PowerMockito.verifyStatic(HeadGetter.class, VerificationModeFactory.times(54));
+        PowerMockito.verifyStatic(HeadGetter.class, VerificationModeFactory.times(45));
         HeadGetter.getHead(Mockito.eq(item), Mockito.eq(p));
     }
 
@@ -328,7 +338,57 @@ public class PanelTest {
         p.setHead(newItem);
 
         assertEquals(newItem, p.getItems().get(0));
-        Mockito.verify(inv).setItem(Mockito.anyInt(), Mockito.eq(itemStack2));
+        // Every slot showing this head is updated
+        Mockito.verify(inv, Mockito.times(10)).setItem(Mockito.anyInt(), Mockito.eq(itemStack2));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.panels.Panel#getItem(int)}.
+     */
+    @Test
+    public void testPaging() {
+        PanelItem item = mock(PanelItem.class);
+        PanelItem lastItem = mock(PanelItem.class);
+        items = new HashMap<>();
+        for (int i = 0; i < 99; i++) {
+            items.put(i, item);
+        }
+        items.put(99, lastItem);
+        Panel p = new Panel(name, items, 0, user, listener);
+        assertEquals(3, p.getPages());
+        assertEquals(0, p.getPage());
+        assertEquals(item, p.getItem(0));
+        assertNull(p.getItem(45));
+        // Go to the next page
+        PanelItem next = p.getItem(53);
+        next.getClickHandler().get().onClick(p, user, ClickType.LEFT, 53);
+        assertEquals(1, p.getPage());
+        assertEquals(item, p.getItem(44));
+        assertNotNull(p.getItem(45));
+        // Last page
+        p.getItem(53).getClickHandler().get().onClick(p, user, ClickType.LEFT, 53);
+        assertEquals(lastItem, p.getItem(9));
+        assertNull(p.getItem(53));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.panels.Panel#Panel(java.lang.String, java.util.Map, java.util.Map, int, world.bentobox.bentobox.api.user.User, world.bentobox.bentobox.api.panels.PanelListener)}.
+     */
+    @Test
+    public void testLazyItems() {
+        PanelItem item = mock(PanelItem.class);
+        Map<Integer, Supplier<PanelItem>> providers = new HashMap<>();
+        AtomicInteger made = new AtomicInteger();
+        for (int i = 0; i < 100; i++) {
+            providers.put(i, () -> {
+                made.incrementAndGet();
+                return item;
+            });
+        }
+        Panel p = new Panel(name, Collections.emptyMap(), providers, 0, user, listener);
+        // Only the items on the first page are made
+        assertEquals(45, made.get());
+        assertEquals(45, p.getItems().size());
     }
 
     /**
@@ -0,0 +1,161 @@
+package world.bentobox.bentobox.blueprints;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bukkit.DyeColor;
+import org.bukkit.Material;
+import org.bukkit.entity.EntityType;
+import org.bukkit.util.Vector;
+import org.junit.Before;
+import org.junit.Test;
+
+import world.bentobox.bentobox.blueprints.dataobjects.BlueprintBlock;
+import world.bentobox.bentobox.blueprints.dataobjects.BlueprintCreatureSpawner;
+import world.bentobox.bentobox.blueprints.dataobjects.BlueprintEntity;
+
+/**
+ * @author tastybento
+ *
+ */
+public class BlueprintCodecTest {
+
+    private Blueprint bp;
+
+    @Before
+    public void setUp() {
+        bp = new Blueprint();
+        bp.setName("island");
+        bp.setDisplayName("Island");
+        bp.setIcon(Material.GRASS_BLOCK);
+        bp.setDescription(Arrays.asList("line 1", "line 2"));
+        bp.setxSize(10);
+        bp.setySize(5);
+        bp.setzSize(10);
+        bp.setBedrock(new Vector(1, 2, 3));
+        Map<Vector, BlueprintBlock> blocks = new HashMap<>();
+        for (int x = -5; x < 5; x++) {
+            for (int z = -5; z < 5; z++) {
+                blocks.put(new Vector(x, 0, z), new BlueprintBlock("minecraft:stone"));
+                blocks.put(new Vector(x, 1, z), new BlueprintBlock("minecraft:dirt"));
+            }
+        }
+        blocks.put(new Vector(1, 2, 3), new BlueprintBlock("minecraft:bedrock"));
+        BlueprintBlock sign = new BlueprintBlock("minecraft:sign[rotation=0,waterlogged=false]");
+        sign.setSignLines(Arrays.asList("a", "b", "", "d"));
+        blocks.put(new Vector(0, 2, 0), sign);
+        BlueprintBlock spawner = new BlueprintBlock("minecraft:spawner");
+        BlueprintCreatureSpawner cs = new BlueprintCreatureSpawner();
+        cs.setSpawnedType(EntityType.PIG);
+        cs.setDelay(20);
+        cs.setSpawnRange(4);
+        spawner.setCreatureSpawner(cs);
+        blocks.put(new Vector(2, 2, 2), spawner);
+        bp.setBlocks(blocks);
+
+        Map<Vector, BlueprintBlock> attached = new HashMap<>();
+        attached.put(new Vector(3, 2, 3), new BlueprintBlock("minecraft:torch"));
+        bp.setAttached(attached);
+
+        BlueprintEntity sheep = new BlueprintEntity();
+        sheep.setType(EntityType.SHEEP);
+        sheep.setColor(DyeColor.BLUE);
+        sheep.setAdult(false);
+        bp.setEntities(Collections.singletonMap(new Vector(0, 3, 0), Collections.singletonList(sheep)));
+    }
+
+    private Blueprint roundTrip(Blueprint blueprint) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BlueprintCodec.write(blueprint, out);
+        InputStream in = new BufferedInputStream(new ByteArrayInputStream(out.toByteArray()));
+        assertTrue(BlueprintCodec.isBinary(in));
+        return BlueprintCodec.read(in);
+    }
+
+    @Test
+    public void testRoundTripHeader() throws IOException {
+        Blueprint result = roundTrip(bp);
+        assertEquals("island", result.getName());
+        assertEquals("Island", result.getDisplayName());
+        assertEquals(Material.GRASS_BLOCK, result.getIcon());
+        assertEquals(Arrays.asList("line 1", "line 2"), result.getDescription());
+        assertEquals(10, result.getxSize());
+        assertEquals(5, result.getySize());
+        assertEquals(10, result.getzSize());
+        assertEquals(new Vector(1, 2, 3), result.getBedrock());
+    }
+
+    @Test
+    public void testRoundTripBlocks() throws IOException {
+        Blueprint result = roundTrip(bp);
+        assertEquals(bp.getBlocks().size(), result.getBlocks().size());
+        bp.getBlocks().forEach((v, b) -> assertEquals(b.getBlockData(), result.getBlocks().get(v).getBlockData()));
+        assertEquals(1, result.getAttached().size());
+        assertEquals("minecraft:torch", result.getAttached().get(new Vector(3, 2, 3)).getBlockData());
+    }
+
+    @Test
+    public void testRoundTripSideTables() throws IOException {
+        Blueprint result = roundTrip(bp);
+        assertEquals(Arrays.asList("a", "b", "", "d"), result.getBlocks().get(new Vector(0, 2, 0)).getSignLines());
+        assertNull(result.getBlocks().get(new Vector(0, 0, 0)).getSignLines());
+        BlueprintCreatureSpawner cs = result.getBlocks().get(new Vector(2, 2, 2)).getCreatureSpawner();
+        assertEquals(EntityType.PIG, cs.getSpawnedType());
+        assertEquals(20, cs.getDelay());
+        assertEquals(4, cs.getSpawnRange());
+        List<BlueprintEntity> ents = result.getEntities().get(new Vector(0, 3, 0));
+        assertEquals(1, ents.size());
+        assertEquals(EntityType.SHEEP, ents.get(0).getType());
+        assertEquals(DyeColor.BLUE, ents.get(0).getColor());
+        assertFalse(ents.get(0).getAdult());
+        assertNull(ents.get(0).getTamed());
+    }
+
+    @Test
+    public void testRoundTripSparse() throws IOException {
+        Map<Vector, BlueprintBlock> blocks = new HashMap<>();
+        blocks.put(new Vector(0, 0, 0), new BlueprintBlock("minecraft:bedrock"));
+        blocks.put(new Vector(1000, 200, -1000), new BlueprintBlock("minecraft:stone"));
+        bp.setBlocks(blocks);
+        bp.setAttached(null);
+        Blueprint result = roundTrip(bp);
+        assertEquals(2, result.getBlocks().size());
+        assertEquals("minecraft:stone", result.getBlocks().get(new Vector(1000, 200, -1000)).getBlockData());
+        assertTrue(result.getAttached().isEmpty());
+    }
+
+    @Test
+    public void testRoundTripEmpty() throws IOException {
+        Blueprint result = roundTrip(new Blueprint().setName("empty"));
+        assertEquals("empty", result.getName());
+        assertTrue(result.getBlocks().isEmpty());
+        assertNull(result.getBedrock());
+    }
+
+    @Test
+    public void testIsBinaryLegacy() throws IOException {
+        InputStream in = new BufferedInputStream(new ByteArrayInputStream(new byte[] {'P', 'K', 3, 4, 0, 0}));
+        assertFalse(BlueprintCodec.isBinary(in));
+        // Position is unchanged
+        assertEquals('P', in.read());
+    }
+
+    @Test
+    public void testIsBinaryShort() throws IOException {
+        assertFalse(BlueprintCodec.isBinary(new BufferedInputStream(new ByteArrayInputStream(new byte[] {1}))));
+    }
+
+}
@@ -0,0 +1,117 @@
+package world.bentobox.bentobox.blueprints;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.Settings;
+
+/**
+ * @author tastybento
+ *
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest( {Bukkit.class} )
+public class BlueprintPasteSchedulerTest {
+
+    @Mock
+    private BentoBox plugin;
+    @Mock
+    private BukkitScheduler sch;
+    @Mock
+    private BukkitTask task;
+
+    private BlueprintPasteScheduler ps;
+
+    @Before
+    public void setUp() {
+        PowerMockito.mockStatic(Bukkit.class);
+        when(Bukkit.getScheduler()).thenReturn(sch);
+        when(sch.runTaskTimer(eq(plugin), any(Runnable.class), anyLong(), anyLong())).thenReturn(task);
+        Settings s = mock(Settings.class);
+        when(s.getPasteTimeBudget()).thenReturn(1);
+        when(plugin.getSettings()).thenReturn(s);
+        ps = new BlueprintPasteScheduler(plugin);
+    }
+
+    private BlueprintPaster paster(boolean finishes) {
+        BlueprintPaster p = mock(BlueprintPaster.class);
+        when(p.paste(anyInt())).thenReturn(finishes);
+        return p;
+    }
+
+    @Test
+    public void testSubmitStartsOneTask() {
+        ps.submit(paster(true));
+        ps.submit(paster(true));
+        verify(sch, Mockito.times(1)).runTaskTimer(eq(plugin), any(Runnable.class), eq(1L), eq(1L));
+        assertEquals(2, ps.getQueueSize());
+    }
+
+    @Test
+    public void testTickCompletes() {
+        BlueprintPaster p = paster(true);
+        ps.submit(p);
+        ps.tick();
+        verify(p).complete();
+        assertEquals(0, ps.getActiveCount());
+        assertEquals(0, ps.getQueueSize());
+        // Next tick has nothing to do, so the task stops
+        ps.tick();
+        verify(task).cancel();
+    }
+
+    @Test
+    public void testQueueing() {
+        List<BlueprintPaster> list = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            BlueprintPaster p = paster(false);
+            list.add(p);
+            ps.submit(p);
+        }
+        assertEquals(6, ps.getQueuePosition(list.get(5)));
+        ps.tick();
+        assertEquals(4, ps.getActiveCount());
+        assertEquals(2, ps.getQueueSize());
+        assertEquals(0, ps.getQueuePosition(list.get(0)));
+        assertEquals(2, ps.getQueuePosition(list.get(5)));
+        // Active pastes took turns and the queued ones did not start
+        verify(list.get(3), Mockito.atLeastOnce()).paste(anyInt());
+        verify(list.get(4), never()).paste(anyInt());
+        verify(list.get(0), Mockito.atLeastOnce()).reportProgress();
+    }
+
+    @Test
+    public void testBrokenPaste() {
+        BlueprintPaster p = mock(BlueprintPaster.class);
+        when(p.paste(anyInt())).thenThrow(new IllegalStateException("broken"));
+        ps.submit(p);
+        ps.tick();
+        verify(plugin).logError("Error while pasting blueprint: broken");
+        verify(p).fail(Mockito.any(IllegalStateException.class));
+        verify(p, never()).complete();
+        assertEquals(0, ps.getActiveCount());
+    }
+}
@@ -0,0 +1,125 @@
+package world.bentobox.bentobox.blueprints;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.util.Vector;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.blueprints.dataobjects.BlueprintBlock;
+
+/**
+ * @author tastybento
+ *
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest( {Bukkit.class} )
+public class PreparedBlueprintTest {
+
+    @Mock
+    private BentoBox plugin;
+    @Mock
+    private BlockData stone;
+    @Mock
+    private BlockData oakSign;
+    @Mock
+    private BlockData air;
+
+    private Blueprint bp;
+
+    @Before
+    public void setUp() {
+        PowerMockito.mockStatic(Bukkit.class);
+        when(Bukkit.createBlockData(anyString())).thenAnswer(invocation -> {
+            switch (invocation.getArgumentAt(0, String.class)) {
+            case "minecraft:stone":
+                return stone;
+            case "minecraft:oak_sign[rotation=0]":
+                return oakSign;
+            default:
+                throw new IllegalArgumentException("unknown");
+            }
+        });
+        when(Bukkit.createBlockData(Material.AIR)).thenReturn(air);
+
+        bp = new Blueprint().setName("test");
+        Map<Vector, BlueprintBlock> blocks = new HashMap<>();
+        blocks.put(new Vector(0, 2, 0), new BlueprintBlock("minecraft:stone"));
+        blocks.put(new Vector(5, 0, 1), new BlueprintBlock("minecraft:stone"));
+        blocks.put(new Vector(-3, 1, 4), new BlueprintBlock("minecraft:unknown_block"));
+        BlueprintBlock sign = new BlueprintBlock("minecraft:sign[rotation=0]");
+        sign.setSignLines(Arrays.asList("", "", "", ""));
+        blocks.put(new Vector(1, 3, 1), sign);
+        bp.setBlocks(blocks);
+    }
+
+    @Test
+    public void testPalette() {
+        PreparedBlueprint pb = new PreparedBlueprint(plugin, bp);
+        // Stone is only resolved once
+        assertEquals(3, pb.getPaletteSize());
+        PowerMockito.verifyStatic(Bukkit.class);
+        Bukkit.createBlockData("minecraft:stone");
+    }
+
+    @Test
+    public void testLegacyConversion() {
+        PreparedBlueprint pb = new PreparedBlueprint(plugin, bp);
+        PreparedBlueprint.Layer blocks = pb.getBlocks();
+        // Sign is highest
+        assertSame(oakSign, pb.getBlockData(blocks.getData(3)));
+        // Unknown block becomes air
+        assertSame(air, pb.getBlockData(blocks.getData(1)));
+        verify(plugin).logWarning("Failed block data: minecraft:unknown_block");
+    }
+
+    @Test
+    public void testOrderAndStates() {
+        PreparedBlueprint pb = new PreparedBlueprint(plugin, bp);
+        PreparedBlueprint.Layer blocks = pb.getBlocks();
+        assertEquals(4, blocks.size());
+        for (int i = 0; i < blocks.size(); i++) {
+            assertEquals(i, blocks.getY(i));
+        }
+        assertEquals(5, blocks.getX(0));
+        assertEquals(1, blocks.getZ(0));
+        assertNull(blocks.getState(0));
+        assertNotNull(blocks.getState(3));
+        assertEquals(0, pb.getAttached().size());
+    }
+
+    @Test
+    public void testBounds() {
+        PreparedBlueprint pb = new PreparedBlueprint(plugin, bp);
+        assertEquals(new Vector(-3, 0, 0), pb.getMin());
+        assertEquals(new Vector(5, 3, 4), pb.getMax());
+        assertEquals(4, pb.size());
+    }
+
+    @Test
+    public void testEmpty() {
+        PreparedBlueprint pb = new PreparedBlueprint(plugin, new Blueprint().setName("empty"));
+        assertNull(pb.getMin());
+        assertEquals(0, pb.size());
+        assertEquals(0, pb.getPaletteSize());
+    }
+}
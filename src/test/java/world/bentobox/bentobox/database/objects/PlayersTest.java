@@ -3,11 +3,14 @@ package world.bentobox.bentobox.database.objects;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
 import org.bukkit.Bukkit;
@@ -106,6 +109,74 @@ public class PlayersTest {
         assertTrue(p.getHomeLocations(world).isEmpty());
     }
 
+    @Test
+    public void testSetHomeLocationReplacesNumber() {
+        Location l = mock(Location.class);
+        when(l.getWorld()).thenReturn(world);
+        Location l2 = mock(Location.class);
+        when(l2.getWorld()).thenReturn(world);
+        p.setHomeLocation(l, 1);
+        p.setHomeLocation(l2, 2);
+        assertEquals(2, p.getHomeLocations().size());
+        // Same number
+        Location l3 = mock(Location.class);
+        when(l3.getWorld()).thenReturn(world);
+        p.setHomeLocation(l3, 1);
+        assertEquals(l3, p.getHomeLocation(world, 1));
+        assertEquals(l2, p.getHomeLocation(world, 2));
+        assertEquals(2, p.getHomeLocations().size());
+        // Same location, new number
+        p.setHomeLocation(l3, 2);
+        assertNull(p.getHomeLocation(world, 1));
+        assertEquals(l3, p.getHomeLocation(world, 2));
+        assertEquals(1, p.getHomeLocations(world).size());
+    }
+
+    @Test
+    public void testHomeLocationsNether() {
+        World nether = mock(World.class);
+        when(nether.getName()).thenReturn("world_nether");
+        when(nether.getEnvironment()).thenReturn(World.Environment.NETHER);
+        World other = mock(World.class);
+        when(other.getName()).thenReturn("other");
+        when(other.getEnvironment()).thenReturn(World.Environment.NORMAL);
+        Location l = mock(Location.class);
+        when(l.getWorld()).thenReturn(nether);
+        Location l2 = mock(Location.class);
+        when(l2.getWorld()).thenReturn(other);
+        p.setHomeLocation(l, 1);
+        p.setHomeLocation(l2, 1);
+        assertEquals(l, p.getHomeLocation(world, 1));
+        assertEquals(l, p.getHomeLocation(nether, 1));
+        assertEquals(l2, p.getHomeLocation(other, 1));
+        assertEquals(1, p.getHomeLocations(world).size());
+        p.clearHomeLocations(nether);
+        assertNull(p.getHomeLocation(world, 1));
+        assertEquals(1, p.getHomeLocations().size());
+        // Removing through the map
+        p.getHomeLocations().keySet().removeIf(loc -> loc.getWorld() == other);
+        assertNull(p.getHomeLocation(other, 1));
+        assertTrue(p.getHomeLocations().isEmpty());
+    }
+
+    @Test
+    public void testSetHomeLocations() {
+        Location l = mock(Location.class);
+        when(l.getWorld()).thenReturn(world);
+        Location lost = mock(Location.class);
+        Map<Location, Integer> map = new HashMap<>();
+        map.put(l, 3);
+        map.put(lost, 1);
+        map.put(null, 2);
+        p.setHomeLocations(map);
+        assertEquals(1, p.getHomeLocations().size());
+        assertEquals(l, p.getHomeLocation(world, 3));
+        // Loaded straight into the field
+        Whitebox.setInternalState(p, "homeLocations", map);
+        assertEquals(l, p.getHomeLocation(world, 3));
+        assertEquals(Integer.valueOf(3), p.getHomeLocations().get(l));
+    }
+
     @Test
     public void testDeaths() {
         assertTrue(p.getDeaths(world) == 0);
@@ -162,6 +162,13 @@ public class TNTListenerTest {
         Island island = mock(Island.class);
         Optional<Island> optional = Optional.of(island);
         when(im.getProtectedIslandAt(Mockito.any())).thenReturn(optional);
+        // Every block is protected
+        when(im.removeProtectedBlocks(Mockito.any(), Mockito.any())).thenAnswer(invocation -> {
+            List<?> blocks = invocation.getArgumentAt(0, List.class);
+            boolean removed = !blocks.isEmpty();
+            blocks.clear();
+            return removed;
+        });
 
         // Notifier
         notifier = mock(Notifier.class);
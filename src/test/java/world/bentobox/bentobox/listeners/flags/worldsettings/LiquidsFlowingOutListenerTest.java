@@ -8,7 +8,6 @@ import static org.mockito.Mockito.when;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
 
 import org.bukkit.Location;
 import org.bukkit.World;
@@ -24,7 +23,6 @@ import org.powermock.reflect.Whitebox;
 
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.configuration.WorldSettings;
-import world.bentobox.bentobox.database.objects.Island;
 import world.bentobox.bentobox.lists.Flags;
 import world.bentobox.bentobox.managers.IslandWorldManager;
 import world.bentobox.bentobox.managers.IslandsManager;
@@ -69,12 +67,10 @@ public class LiquidsFlowingOutListenerTest {
         world = mock(World.class);
         when(from.getWorld()).thenReturn(world);
 
-        // Give them locations
-        Location fromLocation = new Location(world, 0, 0, 0);
-        when(from.getLocation()).thenReturn(fromLocation);
+        when(to.getWorld()).thenReturn(world);
 
-        Location toLocation = new Location(world, 1, 0, 0);
-        when(to.getLocation()).thenReturn(toLocation);
+        // Give them locations: "from" is at (0,0,0) and "to" is at (1,0,0)
+        when(to.getX()).thenReturn(1);
 
         /* Event */
         event = new BlockFromToEvent(from, to);
@@ -100,8 +96,8 @@ public class LiquidsFlowingOutListenerTest {
         /* Islands */
         islandsManager = mock(IslandsManager.class);
         when(plugin.getIslands()).thenReturn(islandsManager);
-        // By default, there should be no island's protection range at toLocation.
-        when(islandsManager.getProtectedIslandAt(toLocation)).thenReturn(Optional.empty());
+        // By default, there should be no island's protection range at "to".
+        when(islandsManager.isProtectedAt(world, 1, 0)).thenReturn(false);
     }
 
     /**
@@ -151,7 +147,8 @@ public class LiquidsFlowingOutListenerTest {
     public void testLiquidFlowsVertically() {
         // "To" is at (1,0,0)
         // Set "from" at (1,1,0) so that the vector's y coordinate != 0, which means the liquid flows vertically.
-        when(from.getLocation()).thenReturn(new Location(world, 1, 1, 0));
+        when(from.getX()).thenReturn(1);
+        when(from.getY()).thenReturn(1);
 
         // Run
         new LiquidsFlowingOutListener().onLiquidFlow(event);
@@ -164,8 +161,7 @@ public class LiquidsFlowingOutListenerTest {
     @Test
     public void testLiquidFlowsToLocationInIslandProtectionRange() {
         // There's a protected island at the "to"
-        Island island = mock(Island.class);
-        when(islandsManager.getProtectedIslandAt(to.getLocation())).thenReturn(Optional.of(island));
+        when(islandsManager.isProtectedAt(world, 1, 0)).thenReturn(true);
 
         // Run
         new LiquidsFlowingOutListener().onLiquidFlow(event);
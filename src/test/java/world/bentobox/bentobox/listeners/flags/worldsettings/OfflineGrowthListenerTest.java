@@ -127,6 +127,7 @@ public class OfflineGrowthListenerTest {
         Flags.OFFLINE_GROWTH.setSetting(world, false);
         // Members are online
         when(Bukkit.getPlayer(any(UUID.class))).thenReturn(mock(Player.class));
+        when(im.hasOnlineMembers(any())).thenReturn(true);
 
         orl.onCropGrow(e);
         // Allow growth
@@ -145,6 +146,7 @@ public class OfflineGrowthListenerTest {
         Flags.OFFLINE_GROWTH.setSetting(world, false);
         // Members are online
         when(Bukkit.getPlayer(any(UUID.class))).thenReturn(null);
+        when(im.hasOnlineMembers(any())).thenReturn(false);
 
         orl.onCropGrow(e);
         // Block growth
@@ -124,6 +124,7 @@ public class OfflineRedstoneListenerTest {
         Flags.OFFLINE_REDSTONE.setSetting(world, false);
         // Members are online
         when(Bukkit.getPlayer(any(UUID.class))).thenReturn(mock(Player.class));
+        when(im.hasOnlineMembers(any())).thenReturn(true);
 
         orl.onBlockRedstone(e);
         // Current remains 10
@@ -142,6 +143,7 @@ public class OfflineRedstoneListenerTest {
         Flags.OFFLINE_REDSTONE.setSetting(world, false);
         // Members are online
         when(Bukkit.getPlayer(any(UUID.class))).thenReturn(null);
+        when(im.hasOnlineMembers(any())).thenReturn(false);
 
         orl.onBlockRedstone(e);
         // Current will be 0
@@ -0,0 +1,259 @@
+package world.bentobox.bentobox.managers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.Settings;
+import world.bentobox.bentobox.api.events.BentoBoxReadyEvent;
+import world.bentobox.bentobox.database.Database;
+import world.bentobox.bentobox.database.objects.IslandDeletion;
+import world.bentobox.bentobox.util.DeleteIslandChunks;
+
+/**
+ * @author tastybento
+ *
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({ Bukkit.class, IslandDeletionManager.class, DeleteIslandChunks.class })
+public class IslandDeletionManagerTest {
+
+    /**
+     * Ticks between two bits of deleting while the server is lagging badly
+     */
+    private static final long LAGGING_INTERVAL = 20L;
+
+    @Mock
+    private BentoBox plugin;
+    @Mock
+    private Settings settings;
+    @Mock
+    private Database<IslandDeletion> handler;
+    @Mock
+    private World world;
+    @Mock
+    private BukkitTask task;
+    private IslandDeletionManager idm;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        when(plugin.getSettings()).thenReturn(settings);
+        when(settings.getDeletionTimeBudget()).thenReturn(10);
+        when(world.getName()).thenReturn("world");
+
+        // Scheduler
+        PowerMockito.mockStatic(Bukkit.class);
+        BukkitScheduler sch = mock(BukkitScheduler.class);
+        when(Bukkit.getScheduler()).thenReturn(sch);
+        when(sch.runTaskTimer(Mockito.any(), Mockito.any(Runnable.class), Mockito.anyLong(), Mockito.anyLong())).thenReturn(task);
+
+        // Database
+        PowerMockito.whenNew(Database.class).withAnyArguments().thenReturn(handler);
+
+        PowerMockito.mockStatic(DeleteIslandChunks.class);
+
+        idm = new IslandDeletionManager(plugin);
+        when(plugin.getIslandDeletionManager()).thenReturn(idm);
+    }
+
+    private IslandDeletion deletion(int x, long queuedDate) {
+        IslandDeletion di = new IslandDeletion();
+        di.setUniqueId(UUID.randomUUID().toString());
+        di.setLocation(new Location(world, x, 120, 0));
+        di.setQueuedDate(queuedDate);
+        return di;
+    }
+
+    private DeleteIslandChunks chunks(IslandDeletion di, boolean done) {
+        DeleteIslandChunks dic = mock(DeleteIslandChunks.class);
+        when(dic.getDeletion()).thenReturn(di);
+        when(dic.tick(anyLong())).thenReturn(done);
+        when(DeleteIslandChunks.of(plugin, di)).thenReturn(dic);
+        return dic;
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandDeletionManager#delete(IslandDeletion)}.
+     */
+    @Test
+    public void testDeleteInOrder() {
+        IslandDeletion first = deletion(0, 1L);
+        IslandDeletion second = deletion(400, 2L);
+        chunks(first, true);
+        chunks(second, false);
+        idm.delete(first);
+        idm.delete(second);
+        verify(handler).saveObject(first);
+        verify(handler).saveObject(second);
+        assertTrue(idm.inDeletion(first.getLocation()));
+        assertTrue(idm.inDeletion(second.getLocation()));
+        assertEquals(2, idm.getQueueSize());
+
+        idm.tick();
+        // First one is done
+        assertNull(idm.getCurrentDeletion());
+        assertEquals(1, idm.getQueueSize());
+        idm.tick();
+        assertSame(second, idm.getCurrentDeletion().getDeletion());
+        assertEquals(0, idm.getQueueSize());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandDeletionManager#onBentoBoxReady(BentoBoxReadyEvent)}.
+     */
+    @Test
+    public void testOnBentoBoxReadyResumesOldestFirst() {
+        IslandDeletion late = deletion(400, 20L);
+        IslandDeletion early = deletion(0, 10L);
+        chunks(late, false);
+        chunks(early, false);
+        when(handler.loadObjects()).thenReturn(Arrays.asList(late, early));
+        idm.onBentoBoxReady(mock(BentoBoxReadyEvent.class));
+        assertEquals(2, idm.getQueueSize());
+        assertTrue(idm.inDeletion(late.getLocation()));
+        assertTrue(idm.inDeletion(early.getLocation()));
+        // Resumed deletions are not saved again
+        verify(handler, never()).saveObject(Mockito.any());
+
+        idm.tick();
+        assertSame(early, idm.getCurrentDeletion().getDeletion());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandDeletionManager#tick()}.
+     */
+    @Test
+    public void testFinish() {
+        IslandDeletion first = deletion(0, 1L);
+        IslandDeletion second = deletion(400, 2L);
+        chunks(first, true);
+        chunks(second, false);
+        idm.delete(first);
+        idm.delete(second);
+        idm.tick();
+        verify(handler).deleteID(first.getUniqueId());
+        verify(handler, never()).deleteID(second.getUniqueId());
+        assertFalse(idm.inDeletion(first.getLocation()));
+        assertTrue(idm.inDeletion(second.getLocation()));
+        assertEquals(1, idm.getDeletedCount());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandDeletionManager#tick()}.
+     */
+    @Test
+    public void testTickStopsWhenEmpty() {
+        IslandDeletion first = deletion(0, 1L);
+        chunks(first, true);
+        idm.delete(first);
+        idm.tick();
+        idm.tick();
+        verify(task).cancel();
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandDeletionManager#tick()}.
+     */
+    @Test
+    public void testBudgetFullSpeed() {
+        assertBudget(20D, 0, 10_000_000L);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandDeletionManager#tick()}.
+     */
+    @Test
+    public void testBudgetSlow() {
+        assertBudget(16.5D, 0, 5_000_000L);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandDeletionManager#tick()}.
+     */
+    @Test
+    public void testBudgetLagging() {
+        assertBudget(10D, LAGGING_INTERVAL - 1, 1_000_000L);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandDeletionManager#tick()}.
+     */
+    @Test
+    public void testBudgetLaggingSkipsTicks() {
+        IslandDeletion di = deletion(0, 1L);
+        DeleteIslandChunks dic = chunks(di, false);
+        idm.delete(di);
+        Whitebox.setInternalState(idm, "tps", 10D);
+        Whitebox.setInternalState(idm, "ticks", 0L);
+        idm.tick();
+        verify(dic, never()).tick(anyLong());
+        assertTrue(idm.getTps() < 15D);
+    }
+
+    /**
+     * Runs a tick at the given ticks per second and checks the time given to the deletion
+     * @param tps - ticks per second before the tick
+     * @param ticks - ticks counted before the tick
+     * @param expected - expected budget in nanoseconds
+     */
+    private void assertBudget(double tps, long ticks, long expected) {
+        IslandDeletion di = deletion(0, 1L);
+        DeleteIslandChunks dic = chunks(di, false);
+        idm.delete(di);
+        Whitebox.setInternalState(idm, "tps", tps);
+        Whitebox.setInternalState(idm, "ticks", ticks);
+        // The last tick was one normal tick ago
+        Whitebox.setInternalState(idm, "lastTick", System.nanoTime() - 50_000_000L);
+        long before = System.nanoTime();
+        idm.tick();
+        long after = System.nanoTime();
+        ArgumentCaptor<Long> deadline = ArgumentCaptor.forClass(Long.class);
+        verify(dic).tick(deadline.capture());
+        // deadline = now + budget, where before <= now <= after
+        assertTrue(deadline.getValue() - after <= expected);
+        assertTrue(deadline.getValue() - before >= expected);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.util.DeleteIslandChunks#DeleteIslandChunks(BentoBox, IslandDeletion)}.
+     */
+    @SuppressWarnings("deprecation")
+    @Test
+    public void testDeprecatedDeleteIslandChunks() {
+        IslandDeletion di = deletion(0, 1L);
+        new DeleteIslandChunks(plugin, di);
+        verify(handler).saveObject(di);
+        assertTrue(idm.inDeletion(di.getLocation()));
+        assertEquals(1, idm.getQueueSize());
+    }
+}
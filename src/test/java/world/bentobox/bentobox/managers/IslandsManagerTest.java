@@ -12,8 +12,10 @@ import static org.mockito.Mockito.when;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -40,8 +42,14 @@ import org.bukkit.entity.PufferFish;
 import org.bukkit.entity.Slime;
 import org.bukkit.entity.Wither;
 import org.bukkit.entity.Zombie;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
 import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.RegisteredListener;
 import org.bukkit.scheduler.BukkitScheduler;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -59,12 +67,18 @@ import com.google.common.collect.ImmutableSet.Builder;
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.Settings;
 import world.bentobox.bentobox.api.configuration.WorldSettings;
+import world.bentobox.bentobox.api.events.BentoBoxEvent;
+import world.bentobox.bentobox.api.events.IslandBaseEvent;
+import world.bentobox.bentobox.api.events.island.IslandEvent;
 import world.bentobox.bentobox.api.events.island.IslandEvent.IslandDeleteEvent;
+import world.bentobox.bentobox.api.events.island.IslandEvent.Reason;
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.database.DatabaseSetup.DatabaseType;
 import world.bentobox.bentobox.database.objects.Island;
+import world.bentobox.bentobox.database.objects.IslandDeletion;
 import world.bentobox.bentobox.lists.Flags;
 import world.bentobox.bentobox.managers.island.IslandCache;
+import world.bentobox.bentobox.managers.island.IslandSlots;
 import world.bentobox.bentobox.util.Util;
 
 @RunWith(PowerMockRunner.class)
@@ -100,6 +114,9 @@ public class IslandsManagerTest {
     private Island is;
     @Mock
     private PluginManager pim;
+    @Mock
+    private IslandDeletionManager idm;
+    private IslandListener islandListener = new IslandListener();
 
     /**
      * @throws java.lang.Exception
@@ -120,6 +137,9 @@ public class IslandsManagerTest {
         when(plugin.getSettings()).thenReturn(s);
         when(s.getDatabaseType()).thenReturn(DatabaseType.JSON);
 
+        // Island deletion
+        when(plugin.getIslandDeletionManager()).thenReturn(idm);
+
         // Player
         when(user.isOp()).thenReturn(false);
         uuid = UUID.randomUUID();
@@ -182,6 +202,7 @@ public class IslandsManagerTest {
 
         // Mock island cache
         when(islandCache.getIslandAt(Mockito.any(Location.class))).thenReturn(is);
+        when(islandCache.getProtectedIslandAt(Mockito.any(), Mockito.anyInt(), Mockito.anyInt())).thenReturn(is);
         optionalIsland = Optional.ofNullable(is);
 
         // User location
@@ -423,11 +444,31 @@ public class IslandsManagerTest {
         assertEquals(owner, island.getOwner());
     }
 
+    @After
+    public void tearDown() {
+        HandlerList.unregisterAll(islandListener);
+    }
+
+    /**
+     * Island events are only called when something listens to them
+     */
+    private void listen() {
+        BentoBoxEvent.getHandlerList().register(new RegisteredListener(islandListener, (l, e) -> {}, EventPriority.NORMAL, plugin, false));
+    }
+
+    public static class IslandListener implements Listener {
+        @EventHandler
+        public void onIslandEvent(IslandBaseEvent e) {
+            // Nothing to do
+        }
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.managers.IslandsManager#deleteIsland(world.bentobox.bentobox.database.objects.Island, boolean)}.
      */
     @Test
     public void testDeleteIslandIslandBooleanNoBlockRemoval() {
+        listen();
         IslandsManager im = new IslandsManager(plugin);
         UUID owner = UUID.randomUUID();
         Island island = im.createIsland(location, owner);
@@ -441,13 +482,16 @@ public class IslandsManagerTest {
      */
     @Test
     public void testDeleteIslandIslandBooleanRemoveBlocks() {
+        listen();
         Mockito.verify(pim, Mockito.never()).callEvent(Mockito.any());
         IslandsManager im = new IslandsManager(plugin);
         UUID owner = UUID.randomUUID();
         Island island = im.createIsland(location, owner);
         im.deleteIsland(island, true);
         assertNull(island.getOwner());
-        Mockito.verify(pim, Mockito.times(4)).callEvent(Mockito.any(IslandDeleteEvent.class));
+        Mockito.verify(pim, Mockito.times(2)).callEvent(Mockito.any(IslandDeleteEvent.class));
+        // Chunks are deleted by the deletion manager, which fires the chunk deletion events when it gets to this island
+        Mockito.verify(idm).delete(Mockito.any(IslandDeletion.class));
     }
 
     /**
@@ -550,23 +594,73 @@ public class IslandsManagerTest {
 
         Optional<Island> optionalIsland = Optional.ofNullable(is);
         // In world, correct island
-        when(is.onIsland(Mockito.any())).thenReturn(true);
+        when(islandCache.getProtectedIslandAt(Mockito.any(), Mockito.anyInt(), Mockito.anyInt())).thenReturn(is);
         assertEquals(optionalIsland, im.getProtectedIslandAt(location));
 
         // Not in protected space
-        when(is.onIsland(Mockito.any())).thenReturn(false);
+        when(islandCache.getProtectedIslandAt(Mockito.any(), Mockito.anyInt(), Mockito.anyInt())).thenReturn(null);
         assertEquals(Optional.empty(), im.getProtectedIslandAt(location));
 
         im.setSpawn(is);
         // In world, correct island
-        when(is.onIsland(Mockito.any())).thenReturn(true);
+        when(islandCache.getProtectedIslandAt(Mockito.any(), Mockito.anyInt(), Mockito.anyInt())).thenReturn(is);
         assertEquals(optionalIsland, im.getProtectedIslandAt(location));
 
         // Not in protected space
-        when(is.onIsland(Mockito.any())).thenReturn(false);
+        when(islandCache.getProtectedIslandAt(Mockito.any(), Mockito.anyInt(), Mockito.anyInt())).thenReturn(null);
+        assertEquals(Optional.empty(), im.getProtectedIslandAt(location));
+
+        // Not in world
+        when(islandCache.getProtectedIslandAt(Mockito.any(), Mockito.anyInt(), Mockito.anyInt())).thenReturn(is);
+        when(iwm.inWorld(any(Location.class))).thenReturn(false);
         assertEquals(Optional.empty(), im.getProtectedIslandAt(location));
     }
 
+    private Block block(int x, int z) {
+        Block b = mock(Block.class);
+        when(b.getWorld()).thenReturn(world);
+        when(b.getX()).thenReturn(x);
+        when(b.getZ()).thenReturn(z);
+        return b;
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandsManager#removeProtectedBlocks(List, java.util.function.Predicate)}.
+     */
+    @Test
+    public void testRemoveProtectedBlocks() {
+        Island is = mock(Island.class);
+        when(is.getMinProtectedX()).thenReturn(0);
+        when(is.getMinProtectedZ()).thenReturn(0);
+        when(is.getMaxProtectedX()).thenReturn(100);
+        when(is.getMaxProtectedZ()).thenReturn(100);
+        when(is.onIsland(Mockito.anyInt(), Mockito.anyInt())).thenAnswer(invocation -> {
+            int x = invocation.getArgumentAt(0, Integer.class);
+            int z = invocation.getArgumentAt(1, Integer.class);
+            return x >= 0 && x < 100 && z >= 0 && z < 100;
+        });
+        when(islandCache.getIslandsIn(Mockito.any(), Mockito.anyInt(), Mockito.anyInt(), Mockito.anyInt(), Mockito.anyInt()))
+        .thenAnswer(invocation -> new ArrayList<>(Collections.singletonList(is)));
+        IslandsManager im = new IslandsManager(plugin);
+        im.setIslandCache(islandCache);
+
+        // No blocks
+        assertFalse(im.removeProtectedBlocks(new ArrayList<>(), i -> true));
+        // Filter does not match
+        List<Block> blocks = new ArrayList<>(Arrays.asList(block(10, 10), block(20, 20)));
+        assertFalse(im.removeProtectedBlocks(blocks, i -> false));
+        assertEquals(2, blocks.size());
+        // All blocks in the protected area
+        assertTrue(im.removeProtectedBlocks(blocks, i -> true));
+        assertTrue(blocks.isEmpty());
+        // Some blocks outside the protected area
+        Block outside = block(150, 10);
+        blocks = new ArrayList<>(Arrays.asList(block(10, 10), outside, block(99, 99)));
+        assertTrue(im.removeProtectedBlocks(blocks, i -> true));
+        assertEquals(1, blocks.size());
+        assertEquals(outside, blocks.get(0));
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.managers.IslandsManager#getSafeHomeLocation(World, User, int)}.
      */
@@ -673,10 +767,8 @@ public class IslandsManagerTest {
         // Mock island cache
         Island is = mock(Island.class);
 
-        when(islandCache.getIslandAt(Mockito.any(Location.class))).thenReturn(is);
-
         // In world
-        when(is.onIsland(Mockito.any())).thenReturn(true);
+        when(islandCache.getProtectedIslandAt(Mockito.any(), Mockito.anyInt(), Mockito.anyInt())).thenReturn(is);
 
         Builder<UUID> members = new ImmutableSet.Builder<>();
         members.add(uuid);
@@ -698,7 +790,7 @@ public class IslandsManagerTest {
 
         // Not on island
         when(is.getMemberSet()).thenReturn(members.build());
-        when(is.onIsland(Mockito.any())).thenReturn(false);
+        when(islandCache.getProtectedIslandAt(Mockito.any(), Mockito.anyInt(), Mockito.anyInt())).thenReturn(null);
         assertFalse(im.locationIsOnIsland(player, location));
     }
 
@@ -996,6 +1088,122 @@ public class IslandsManagerTest {
         Mockito.verify(pufferfish, Mockito.never()).remove();
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandsManager#hasOnlineMembers(Island)}.
+     */
+    @Test
+    public void testHasOnlineMembers() {
+        Island island = mock(Island.class);
+        Map<UUID, Integer> members = new HashMap<>();
+        when(island.getMembers()).thenReturn(members);
+        UUID coopUUID = UUID.randomUUID();
+        UUID visitorUUID = UUID.randomUUID();
+        members.put(uuid, RanksManager.OWNER_RANK);
+        members.put(coopUUID, RanksManager.COOP_RANK);
+        members.put(visitorUUID, RanksManager.VISITOR_RANK);
+        IslandsManager im = new IslandsManager(plugin);
+        assertFalse(im.hasOnlineMembers(island));
+        // Visitors do not count
+        when(Bukkit.getPlayer(visitorUUID)).thenReturn(mock(Player.class));
+        im.clearOnlineMembers(island);
+        assertFalse(im.hasOnlineMembers(island));
+        // Coops do
+        when(Bukkit.getPlayer(coopUUID)).thenReturn(mock(Player.class));
+        im.clearOnlineMembers(island);
+        assertTrue(im.hasOnlineMembers(island));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandsManager#clearOnlineMembers(UUID)}.
+     */
+    @Test
+    public void testClearOnlineMembersJoinAndQuit() {
+        Island island = mock(Island.class);
+        Map<UUID, Integer> members = new HashMap<>();
+        when(island.getMembers()).thenReturn(members);
+        members.put(uuid, RanksManager.OWNER_RANK);
+        IslandsManager im = new IslandsManager(plugin);
+        assertFalse(im.hasOnlineMembers(island));
+        // Owner joins. The count is kept until the join is reported.
+        when(Bukkit.getPlayer(uuid)).thenReturn(player);
+        assertFalse(im.hasOnlineMembers(island));
+        // A player who is not on the island joining does not change it
+        im.clearOnlineMembers(UUID.randomUUID());
+        assertFalse(im.hasOnlineMembers(island));
+        im.clearOnlineMembers(uuid);
+        assertTrue(im.hasOnlineMembers(island));
+        // Owner quits
+        when(Bukkit.getPlayer(uuid)).thenReturn(null);
+        im.clearOnlineMembers(uuid);
+        assertFalse(im.hasOnlineMembers(island));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandsManager#clearOnlineMembers(Island)}.
+     */
+    @Test
+    public void testClearOnlineMembersRankChange() {
+        Island island = mock(Island.class);
+        Map<UUID, Integer> members = new HashMap<>();
+        when(island.getMembers()).thenReturn(members);
+        when(islandCache.getIslands()).thenReturn(Collections.singletonList(island));
+        UUID coopUUID = UUID.randomUUID();
+        members.put(uuid, RanksManager.OWNER_RANK);
+        members.put(coopUUID, RanksManager.COOP_RANK);
+        when(Bukkit.getPlayer(coopUUID)).thenReturn(mock(Player.class));
+        IslandsManager im = new IslandsManager(plugin);
+        im.setIslandCache(islandCache);
+        assertTrue(im.hasOnlineMembers(island));
+        // Coop is made a visitor
+        members.put(coopUUID, RanksManager.VISITOR_RANK);
+        im.clearOnlineMembers(island);
+        assertFalse(im.hasOnlineMembers(island));
+        // Coop again, then removed by the manager
+        members.put(coopUUID, RanksManager.COOP_RANK);
+        im.clearOnlineMembers(island);
+        assertTrue(im.hasOnlineMembers(island));
+        im.clearRank(RanksManager.COOP_RANK, coopUUID);
+        assertFalse(im.hasOnlineMembers(island));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandsManager#hasOnlineMembers(Island)}.
+     */
+    @Test
+    public void testHasOnlineMembersDeletedIsland() {
+        listen();
+        IslandsManager im = new IslandsManager(plugin);
+        UUID owner = UUID.randomUUID();
+        Island island = im.createIsland(location, owner);
+        when(Bukkit.getPlayer(owner)).thenReturn(player);
+        assertTrue(im.hasOnlineMembers(island));
+        when(Bukkit.getPlayer(owner)).thenReturn(null);
+        im.deleteIsland(island, true);
+        // Counted again
+        assertFalse(im.hasOnlineMembers(island));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandsManager#freeIslandSlot(Location)}.
+     */
+    @Test
+    public void testFreeIslandSlotWhenDeleted() {
+        IslandsManager im = new IslandsManager(plugin);
+        im.setIslandCache(islandCache);
+        IslandSlots slots = mock(IslandSlots.class);
+        Map<World, IslandSlots> map = Whitebox.getInternalState(im, "slots");
+        map.put(world, slots);
+        IslandDeletion di = new IslandDeletion();
+        Location center = new Location(world, 400, 120, 0);
+        di.setLocation(center);
+        IslandEvent.builder().deletedIslandInfo(di).reason(Reason.DELETED).build();
+        Mockito.verify(slots).free(center);
+        // No longer told after shutdown
+        im.shutdown();
+        IslandEvent.builder().deletedIslandInfo(di).reason(Reason.DELETED).build();
+        Mockito.verify(slots).free(center);
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.managers.IslandsManager#getIslandById(String)}.
      */
@@ -353,4 +353,45 @@ public class PlayersManagerTest {
         //pm.save(uuid);
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.PlayersManager#preload(java.util.UUID, java.lang.String)}.
+     */
+    @Test
+    public void testPreload() {
+        PlayersManager pm = new PlayersManager(plugin);
+        pm.setHandler(db);
+        pm.preload(uuid, "tastybento2");
+        assertEquals("tastybento2", pm.getName(uuid));
+        Mockito.verify(db).saveObject(Mockito.any(Players.class));
+        assertTrue(pm.removePreloaded(uuid));
+        assertFalse(pm.removePreloaded(uuid));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.PlayersManager#cancelPreload(java.util.UUID)}.
+     */
+    @Test
+    public void testCancelPreload() {
+        PlayersManager pm = new PlayersManager(plugin);
+        pm.setHandler(db);
+        pm.preload(uuid, "tastybento2");
+        pm.cancelPreload(uuid);
+        assertFalse(pm.removePreloaded(uuid));
+        assertTrue(pm.getPlayers().isEmpty());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.PlayersManager#cancelPreload(java.util.UUID)}.
+     */
+    @Test
+    public void testCancelPreloadAlreadyCached() {
+        PlayersManager pm = new PlayersManager(plugin);
+        pm.setHandler(db);
+        pm.addPlayer(uuid);
+        pm.preload(uuid, "tastybento2");
+        pm.cancelPreload(uuid);
+        assertFalse(pm.removePreloaded(uuid));
+        assertEquals(1, pm.getPlayers().size());
+    }
+
 }
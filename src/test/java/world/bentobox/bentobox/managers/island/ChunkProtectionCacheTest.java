@@ -0,0 +1,45 @@
+package world.bentobox.bentobox.managers.island;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+/**
+ * @author tastybento
+ *
+ */
+public class ChunkProtectionCacheTest {
+
+    @Test
+    public void testPutGet() {
+        ChunkProtectionCache cache = new ChunkProtectionCache();
+        assertNull(cache.get(0, 0));
+        Object a = new Object();
+        Object b = new Object();
+        cache.put(0, 0, a);
+        cache.put(-1, 0, b);
+        cache.put(0, -1, b);
+        assertEquals(a, cache.get(0, 0));
+        assertEquals(b, cache.get(-1, 0));
+        assertEquals(b, cache.get(0, -1));
+        assertNull(cache.get(1, 0));
+        // Replace
+        cache.put(0, 0, b);
+        assertEquals(b, cache.get(0, 0));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void testClearWhenFull() {
+        ChunkProtectionCache cache = new ChunkProtectionCache();
+        Object a = new Object();
+        for (int i = 0; i < 100_000; i++) {
+            cache.put(i, -i, a);
+        }
+        assertEquals(a, cache.get(99_999, -99_999));
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertNull(cache.get(99_999, -99_999));
+    }
+}
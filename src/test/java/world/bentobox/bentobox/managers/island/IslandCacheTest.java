@@ -199,6 +199,56 @@ public class IslandCacheTest {
         assertNull(ic.getIslandAt(location2));
     }
 
+    @Test
+    public void testGetIslandsIn() {
+        when(island.getMaxX()).thenReturn(200);
+        when(island.getMaxZ()).thenReturn(200);
+        IslandCache ic = new IslandCache();
+        ic.addIsland(island);
+        assertEquals(1, ic.getIslandsIn(world, -10, -10, 10, 10).size());
+        assertEquals(1, ic.getIslandsIn(world, -300, -300, -200, -200).size());
+        assertEquals(1, ic.getIslandsIn(world, 199, 199, 300, 300).size());
+        assertTrue(ic.getIslandsIn(world, 200, 0, 300, 10).isEmpty());
+        assertTrue(ic.getIslandsIn(world, -300, -300, -201, 0).isEmpty());
+    }
+
+    @Test
+    public void testGetProtectedIslandAt() {
+        // Protected area is -50 to 49
+        when(island.getMinProtectedX()).thenReturn(-50);
+        when(island.getMinProtectedZ()).thenReturn(-50);
+        when(island.getMaxProtectedX()).thenReturn(50);
+        when(island.getMaxProtectedZ()).thenReturn(50);
+        when(island.getMaxX()).thenReturn(200);
+        when(island.getMaxZ()).thenReturn(200);
+        when(island.inIslandSpace(Mockito.anyInt(), Mockito.anyInt())).thenReturn(true);
+        when(island.onIsland(Mockito.anyInt(), Mockito.anyInt())).thenAnswer(invocation -> {
+            int x = invocation.getArgumentAt(0, Integer.class);
+            int z = invocation.getArgumentAt(1, Integer.class);
+            return x >= -50 && x < 50 && z >= -50 && z < 50;
+        });
+        IslandCache ic = new IslandCache();
+        assertNull(ic.getProtectedIslandAt(world, 0, 0));
+        ic.addIsland(island);
+        // Chunk fully inside
+        assertEquals(island, ic.getProtectedIslandAt(world, 0, 0));
+        // Chunk fully outside
+        assertNull(ic.getProtectedIslandAt(world, 100, 100));
+        // Boundary chunk
+        assertEquals(island, ic.getProtectedIslandAt(world, 49, 0));
+        assertNull(ic.getProtectedIslandAt(world, 50, 0));
+        // Protection range grows
+        when(island.getMaxProtectedX()).thenReturn(200);
+        when(island.getMaxProtectedZ()).thenReturn(200);
+        when(island.onIsland(Mockito.anyInt(), Mockito.anyInt())).thenReturn(true);
+        assertNull(ic.getProtectedIslandAt(world, 100, 100));
+        ic.protectionChanged(island);
+        assertEquals(island, ic.getProtectedIslandAt(world, 100, 100));
+        // Island is removed
+        ic.deleteIslandFromCache(island);
+        assertNull(ic.getProtectedIslandAt(world, 0, 0));
+    }
+
     /*
     @Test
     public void testGetIslands() {
@@ -0,0 +1,114 @@
+package world.bentobox.bentobox.managers.island;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.Settings;
+import world.bentobox.bentobox.api.localization.TextVariables;
+import world.bentobox.bentobox.api.user.User;
+import world.bentobox.bentobox.database.objects.Island;
+
+/**
+ * @author tastybento
+ *
+ */
+@RunWith(PowerMockRunner.class)
+public class IslandCreationQueueTest {
+
+    @Mock
+    private BentoBox plugin;
+    @Mock
+    private Settings settings;
+    private IslandCreationQueue queue;
+
+    @Before
+    public void setUp() {
+        when(plugin.getSettings()).thenReturn(settings);
+        when(settings.getMaxConcurrentIslandCreations()).thenReturn(1);
+        queue = new IslandCreationQueue(plugin);
+    }
+
+    private NewIsland newIsland(CompletableFuture<Island> completion) {
+        NewIsland newIsland = mock(NewIsland.class);
+        User user = mock(User.class);
+        when(user.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(newIsland.getUser()).thenReturn(user);
+        when(newIsland.getCompletion()).thenReturn(completion);
+        return newIsland;
+    }
+
+    @Test
+    public void testSubmitStarts() {
+        NewIsland n = newIsland(new CompletableFuture<>());
+        queue.submit(n);
+        verify(n).start();
+        assertEquals(1, queue.getActiveCount());
+        assertEquals(0, queue.getQueueSize());
+        assertEquals(0, queue.getQueuePosition(n));
+        assertSame(n, queue.get(n.getUser().getUniqueId()));
+    }
+
+    @Test
+    public void testSubmitQueues() {
+        CompletableFuture<Island> first = new CompletableFuture<>();
+        NewIsland n1 = newIsland(first);
+        NewIsland n2 = newIsland(new CompletableFuture<>());
+        NewIsland n3 = newIsland(new CompletableFuture<>());
+        queue.submit(n1);
+        queue.submit(n2);
+        queue.submit(n3);
+        verify(n2, never()).start();
+        verify(n2.getUser()).sendMessage("commands.island.create.queued", TextVariables.NUMBER, "1");
+        verify(n3.getUser()).sendMessage("commands.island.create.queued", TextVariables.NUMBER, "2");
+        assertEquals(2, queue.getQueueSize());
+        assertEquals(2, queue.getQueuePosition(n3));
+        // First one is done, so the next one starts
+        first.complete(mock(Island.class));
+        verify(n2).start();
+        verify(n3, never()).start();
+        assertEquals(1, queue.getActiveCount());
+        assertEquals(1, queue.getQueuePosition(n3));
+        assertNull(queue.get(n1.getUser().getUniqueId()));
+    }
+
+    @Test
+    public void testFailedCreationFreesSlot() {
+        CompletableFuture<Island> first = new CompletableFuture<>();
+        NewIsland n1 = newIsland(first);
+        NewIsland n2 = newIsland(new CompletableFuture<>());
+        queue.submit(n1);
+        queue.submit(n2);
+        first.completeExceptionally(new IllegalStateException("paste failed"));
+        verify(n2).start();
+        assertEquals(1, queue.getActiveCount());
+        assertEquals(0, queue.getQueueSize());
+    }
+
+    @Test
+    public void testCancelWhileQueued() {
+        NewIsland n1 = newIsland(new CompletableFuture<>());
+        CompletableFuture<Island> second = new CompletableFuture<>();
+        NewIsland n2 = newIsland(second);
+        queue.submit(n1);
+        queue.submit(n2);
+        second.cancel(false);
+        assertEquals(0, queue.getQueueSize());
+        assertEquals(1, queue.getActiveCount());
+        verify(n2, never()).start();
+    }
+}
@@ -0,0 +1,76 @@
+package world.bentobox.bentobox.managers.island;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.api.logs.LogEntry;
+
+/**
+ * @author tastybento
+ *
+ */
+public class IslandLogStoreTest {
+
+    private File dataFolder;
+    private IslandLogStore store;
+
+    @Before
+    public void setUp() {
+        BentoBox plugin = mock(BentoBox.class);
+        dataFolder = new File("dataFolder");
+        when(plugin.getDataFolder()).thenReturn(dataFolder);
+        store = new IslandLogStore(plugin);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        store.shutdown();
+        if (dataFolder.exists()) {
+            Files.walk(dataFolder.toPath())
+            .sorted(Comparator.reverseOrder())
+            .map(Path::toFile)
+            .forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void testEmptyHistory() throws Exception {
+        assertFalse(store.exists("island"));
+        assertTrue(store.getHistory("island", 0, 10).get().isEmpty());
+        assertEquals(0, (int)store.getSize("island").get());
+    }
+
+    @Test
+    public void testPagedHistory() throws Exception {
+        for (int i = 0; i < 25; i++) {
+            store.append("island", new LogEntry.Builder("ban").timestamp(i).data("player", String.valueOf(i)).build());
+        }
+        assertEquals(25, (int)store.getSize("island").get());
+        assertTrue(store.exists("island"));
+        // Most recent first
+        List<LogEntry> page = store.getHistory("island", 0, 10).get();
+        assertEquals(10, page.size());
+        assertEquals(24, page.get(0).getTimestamp());
+        assertEquals("BAN", page.get(0).getType());
+        assertEquals("24", page.get(0).getData().get("player"));
+        // Last page is partly filled
+        page = store.getHistory("island", 2, 10).get();
+        assertEquals(5, page.size());
+        assertEquals(0, page.get(4).getTimestamp());
+        assertTrue(store.getHistory("island", 3, 10).get().isEmpty());
+    }
+}
@@ -0,0 +1,166 @@
+package world.bentobox.bentobox.managers.island;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.database.objects.Island;
+import world.bentobox.bentobox.managers.IslandDeletionManager;
+import world.bentobox.bentobox.managers.IslandWorldManager;
+import world.bentobox.bentobox.managers.IslandsManager;
+import world.bentobox.bentobox.util.Util;
+
+/**
+ * @author tastybento
+ *
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({Bukkit.class})
+public class IslandSlotsTest {
+
+    @Mock
+    private BentoBox plugin;
+    @Mock
+    private IslandWorldManager iwm;
+    @Mock
+    private IslandsManager im;
+    @Mock
+    private IslandDeletionManager idm;
+    @Mock
+    private World world;
+    private IslandSlots slots;
+
+    @Before
+    public void setUp() {
+        when(plugin.getIWM()).thenReturn(iwm);
+        when(plugin.getIslands()).thenReturn(im);
+        when(plugin.getIslandDeletionManager()).thenReturn(idm);
+        Util.setPlugin(plugin);
+        when(iwm.getIslandDistance(world)).thenReturn(100);
+        when(iwm.getIslandHeight(world)).thenReturn(120);
+        when(iwm.isUseOwnGenerator(world)).thenReturn(true);
+        when(world.getMaxHeight()).thenReturn(256);
+        when(im.getIslandAt(Mockito.any())).thenReturn(Optional.empty());
+        PowerMockito.mockStatic(Bukkit.class);
+        when(Bukkit.getScheduler()).thenReturn(mock(BukkitScheduler.class));
+        slots = new IslandSlots(plugin, world);
+    }
+
+    private void assertSpot(int x, int z, Location l) {
+        assertEquals(x, l.getBlockX());
+        assertEquals(120, l.getBlockY());
+        assertEquals(z, l.getBlockZ());
+    }
+
+    @Test
+    public void testAllocateSpiral() {
+        assertSpot(0, 0, slots.allocate());
+        assertSpot(0, 200, slots.allocate());
+        assertSpot(200, 200, slots.allocate());
+        assertSpot(200, 0, slots.allocate());
+        assertSpot(200, -200, slots.allocate());
+        assertSpot(0, -200, slots.allocate());
+    }
+
+    @Test
+    public void testAllocateSkipsUsed() {
+        slots.setUsed(new Location(world, 0, 120, 0));
+        slots.setUsed(new Location(world, 200, 120, 200));
+        assertSpot(0, 200, slots.allocate());
+        assertSpot(200, 0, slots.allocate());
+        // Islands that were not marked are found too
+        when(im.getIslandAt(Mockito.any())).thenAnswer(invocation -> {
+            Location l = invocation.getArgumentAt(0, Location.class);
+            return l.getBlockX() == 200 && l.getBlockZ() == -200 ? Optional.of(mock(Island.class)) : Optional.empty();
+        });
+        assertSpot(0, -200, slots.allocate());
+    }
+
+    @Test
+    public void testFree() {
+        slots.allocate();
+        Location second = slots.allocate();
+        slots.allocate();
+        slots.free(second);
+        assertEquals(1, slots.getFreedCount());
+        assertSpot(0, 200, slots.allocate());
+        assertEquals(0, slots.getFreedCount());
+        assertSpot(200, 0, slots.allocate());
+    }
+
+    @Test
+    public void testAllocateBlockAtCenter() {
+        when(iwm.isUseOwnGenerator(world)).thenReturn(false);
+        when(world.getChunkAt(Mockito.anyInt(), Mockito.anyInt())).thenAnswer(invocation -> {
+            int cx = invocation.getArgumentAt(0, Integer.class);
+            int cz = invocation.getArgumentAt(1, Integer.class);
+            ChunkSnapshot snapshot = snapshot(cx, cz);
+            // Block at the center of the first spot
+            when(snapshot.getBlockType(0, 120, 0)).thenReturn(cx == 0 && cz == 0 ? Material.STONE : Material.AIR);
+            Chunk chunk = mock(Chunk.class);
+            when(chunk.getChunkSnapshot(true, false, false)).thenReturn(snapshot);
+            return chunk;
+        });
+        assertSpot(0, 200, slots.allocate());
+        Mockito.verify(im).createIsland(Mockito.any());
+    }
+
+    private ChunkSnapshot snapshot(int cx, int cz) {
+        ChunkSnapshot snapshot = mock(ChunkSnapshot.class);
+        when(snapshot.getX()).thenReturn(cx);
+        when(snapshot.getZ()).thenReturn(cz);
+        when(snapshot.getBlockType(Mockito.anyInt(), Mockito.anyInt(), Mockito.anyInt())).thenReturn(Material.AIR);
+        when(snapshot.getHighestBlockYAt(Mockito.anyInt(), Mockito.anyInt())).thenReturn(64);
+        return snapshot;
+    }
+
+    @Test
+    public void testScan() {
+        ChunkSnapshot[] chunks = {snapshot(-1, -1), snapshot(-1, 0), snapshot(0, -1), snapshot(0, 0)};
+        assertEquals(IslandSlots.Result.FREE, IslandSlots.scan(chunks, 0, 120, 0, 256));
+        // Water does not count
+        when(chunks[0].getBlockType(15, 30, 15)).thenReturn(Material.WATER);
+        assertEquals(IslandSlots.Result.FREE, IslandSlots.scan(chunks, 0, 120, 0, 256));
+        // Below the scanned height
+        when(chunks[1].getBlockType(12, 5, 3)).thenReturn(Material.STONE);
+        assertEquals(IslandSlots.Result.FREE, IslandSlots.scan(chunks, 0, 120, 0, 256));
+        when(chunks[1].getBlockType(12, 50, 3)).thenReturn(Material.STONE);
+        assertEquals(IslandSlots.Result.BLOCKS_IN_AREA, IslandSlots.scan(chunks, 0, 120, 0, 256));
+        when(chunks[3].getBlockType(0, 120, 0)).thenReturn(Material.DIRT);
+        assertEquals(IslandSlots.Result.BLOCK_AT_CENTER, IslandSlots.scan(chunks, 0, 120, 0, 256));
+    }
+
+    @Test
+    public void testAllocateNoSpot() {
+        when(iwm.isUseOwnGenerator(world)).thenReturn(false);
+        when(world.getChunkAt(Mockito.anyInt(), Mockito.anyInt())).thenAnswer(invocation -> {
+            ChunkSnapshot snapshot = snapshot(invocation.getArgumentAt(0, Integer.class), invocation.getArgumentAt(1, Integer.class));
+            when(snapshot.getBlockType(Mockito.anyInt(), Mockito.eq(120), Mockito.anyInt())).thenReturn(Material.STONE);
+            Chunk chunk = mock(Chunk.class);
+            when(chunk.getChunkSnapshot(true, false, false)).thenReturn(snapshot);
+            return chunk;
+        });
+        assertNull(slots.allocate());
+        Mockito.verify(plugin).logError("Could not find a free spot for islands! Is this world empty?");
+    }
+}
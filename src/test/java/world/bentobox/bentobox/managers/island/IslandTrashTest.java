@@ -0,0 +1,79 @@
+package world.bentobox.bentobox.managers.island;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+
+import org.bukkit.World;
+import org.junit.Before;
+import org.junit.Test;
+
+import world.bentobox.bentobox.database.objects.Island;
+
+/**
+ * @author tastybento
+ *
+ */
+public class IslandTrashTest {
+
+    private IslandTrash trash;
+    private World world;
+    private World otherWorld;
+    private UUID owner = UUID.randomUUID();
+
+    @Before
+    public void setUp() {
+        trash = new IslandTrash();
+        world = mock(World.class);
+        otherWorld = mock(World.class);
+    }
+
+    private Island island(World w, UUID o, String id) {
+        Island island = mock(Island.class);
+        when(island.getWorld()).thenReturn(w);
+        when(island.getOwner()).thenReturn(o);
+        when(island.getUniqueId()).thenReturn(id);
+        return island;
+    }
+
+    @Test
+    public void testAddGet() {
+        trash.add(island(world, owner, "a"));
+        trash.add(island(world, owner, "b"));
+        trash.add(island(otherWorld, owner, "c"));
+        trash.add(island(world, null, "d"));
+        assertEquals(4, trash.size());
+        assertEquals(2, trash.get(world, owner).size());
+        assertEquals("a", trash.get(world, owner).get(0).getUniqueId());
+        assertEquals(1, trash.get(otherWorld, owner).size());
+        assertEquals("d", trash.get(world, null).get(0).getUniqueId());
+        assertTrue(trash.get(otherWorld, null).isEmpty());
+        assertTrue(trash.get(world, UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    public void testRemove() {
+        trash.add(island(world, owner, "a"));
+        trash.add(island(world, owner, "b"));
+        assertFalse(trash.remove(world, owner, "c"));
+        assertFalse(trash.remove(otherWorld, owner, "a"));
+        assertTrue(trash.remove(world, owner, "a"));
+        assertEquals(1, trash.size());
+        assertEquals("b", trash.get(world, owner).get(0).getUniqueId());
+    }
+
+    @Test
+    public void testRemoveAll() {
+        trash.add(island(world, owner, "a"));
+        trash.add(island(world, owner, "b"));
+        trash.add(island(otherWorld, owner, "c"));
+        assertEquals(2, trash.removeAll(world, owner).size());
+        assertTrue(trash.get(world, owner).isEmpty());
+        assertEquals(1, trash.size());
+        assertEquals(1, trash.getAll().size());
+    }
+}
@@ -10,6 +10,9 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
+import java.util.List;
+
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Server;
@@ -147,7 +150,10 @@ public class UtilTest {
      */
     @Test
     public void testTabLimit() {
-        //fail("Not yet implemented"); // TODO
+        List<String> list = Arrays.asList("Ben", "bill", null, "Ted");
+        assertEquals(Arrays.asList("Ben", "bill"), Util.tabLimit(list, "B"));
+        assertEquals(Arrays.asList("Ben", "bill", "Ted"), Util.tabLimit(list, ""));
+        assertTrue(Util.tabLimit(list, "x").isEmpty());
     }
 
     /**
@@ -0,0 +1,153 @@
+package world.bentobox.bentobox.util.teleport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.ExecutionException;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.data.type.TrapDoor;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.managers.IslandWorldManager;
+
+/**
+ * @author tastybento
+ *
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({Bukkit.class})
+public class SafeLocationFinderTest {
+
+    @Mock
+    private BentoBox plugin;
+    @Mock
+    private World world;
+
+    @Before
+    public void setUp() {
+        IslandWorldManager iwm = mock(IslandWorldManager.class);
+        when(plugin.getIWM()).thenReturn(iwm);
+        when(world.getMaxHeight()).thenReturn(256);
+        PowerMockito.mockStatic(Bukkit.class);
+        BukkitScheduler scheduler = mock(BukkitScheduler.class);
+        when(Bukkit.getScheduler()).thenReturn(scheduler);
+        // Run everything straight away
+        when(scheduler.runTask(Mockito.any(Plugin.class), Mockito.any(Runnable.class))).thenAnswer(invocation -> {
+            invocation.getArgumentAt(1, Runnable.class).run();
+            return null;
+        });
+        when(scheduler.runTaskAsynchronously(Mockito.any(Plugin.class), Mockito.any(Runnable.class))).thenAnswer(invocation -> {
+            invocation.getArgumentAt(1, Runnable.class).run();
+            return null;
+        });
+        // Stone at y = 63 in chunk 1,0 only
+        when(world.getChunkAt(Mockito.anyInt(), Mockito.anyInt())).thenAnswer(invocation -> {
+            int cx = invocation.getArgumentAt(0, Integer.class);
+            int cz = invocation.getArgumentAt(1, Integer.class);
+            ChunkSnapshot snapshot = mock(ChunkSnapshot.class);
+            when(snapshot.getBlockType(Mockito.anyInt(), Mockito.anyInt(), Mockito.anyInt())).thenReturn(Material.AIR);
+            if (cx == 1 && cz == 0) {
+                when(snapshot.getBlockType(Mockito.anyInt(), Mockito.eq(63), Mockito.anyInt())).thenReturn(Material.STONE);
+            }
+            Chunk chunk = mock(Chunk.class);
+            when(chunk.getChunkSnapshot(false, false, false)).thenReturn(snapshot);
+            return chunk;
+        });
+    }
+
+    @Test
+    public void testFindStopsAtFirstRing() throws InterruptedException, ExecutionException {
+        Location found = new SafeLocationFinder(plugin).find(new Location(world, 24, 64, 8), 100, 10, 10).get();
+        assertEquals(24.5D, found.getX(), 0D);
+        assertEquals(64D, found.getY(), 0D);
+        assertEquals(8.5D, found.getZ(), 0D);
+        // Only the chunk at the center is needed
+        verify(world, times(1)).getChunkAt(Mockito.anyInt(), Mockito.anyInt());
+    }
+
+    @Test
+    public void testFindNextRing() throws InterruptedException, ExecutionException {
+        Location found = new SafeLocationFinder(plugin).find(new Location(world, 8, 64, 8), 100, 10, 10).get();
+        assertEquals(16.5D, found.getX(), 0D);
+        assertEquals(64D, found.getY(), 0D);
+        assertEquals(0.5D, found.getZ(), 0D);
+        // The center chunk and the chunks the first box past it reaches into
+        verify(world, times(4)).getChunkAt(Mockito.anyInt(), Mockito.anyInt());
+    }
+
+    @Test
+    public void testFindNone() throws InterruptedException, ExecutionException {
+        assertNull(new SafeLocationFinder(plugin).find(new Location(world, -200, 64, 8), 20, 2, 2).get());
+        // Every chunk within range
+        verify(world, times(9)).getChunkAt(Mockito.anyInt(), Mockito.anyInt());
+    }
+
+    @Test
+    public void testFindLastLayer() throws InterruptedException, ExecutionException {
+        // Only the top layer of the search is safe, like a home search up to y = 254
+        when(world.getChunkAt(Mockito.anyInt(), Mockito.anyInt())).thenAnswer(invocation -> {
+            ChunkSnapshot snapshot = mock(ChunkSnapshot.class);
+            when(snapshot.getBlockType(Mockito.anyInt(), Mockito.anyInt(), Mockito.anyInt())).thenReturn(Material.AIR);
+            when(snapshot.getBlockType(Mockito.anyInt(), Mockito.eq(253), Mockito.anyInt())).thenReturn(Material.STONE);
+            Chunk chunk = mock(Chunk.class);
+            when(chunk.getChunkSnapshot(false, false, false)).thenReturn(snapshot);
+            return chunk;
+        });
+        Location found = new SafeLocationFinder(plugin).find(new Location(world, 24, 200, 8), 0, 0, 254 - 200).get();
+        assertEquals(24.5D, found.getX(), 0D);
+        assertEquals(254D, found.getY(), 0D);
+        assertEquals(8.5D, found.getZ(), 0D);
+    }
+
+    @Test
+    public void testIsSafe() {
+        assertTrue(SafeLocationFinder.isSafe(Material.STONE, null, Material.AIR, false, Material.AIR, false, false));
+        assertTrue(SafeLocationFinder.isSafe(Material.GRASS_BLOCK, null, Material.SIGN, false, Material.AIR, false, false));
+        // Water is only unsafe when submerged or if the world says so
+        assertTrue(SafeLocationFinder.isSafe(Material.STONE, null, Material.WATER, true, Material.AIR, false, false));
+        assertFalse(SafeLocationFinder.isSafe(Material.STONE, null, Material.WATER, true, Material.WATER, true, false));
+        assertFalse(SafeLocationFinder.isSafe(Material.STONE, null, Material.WATER, true, Material.AIR, false, true));
+    }
+
+    @Test
+    public void testIsSafeBadGround() {
+        assertFalse(SafeLocationFinder.isSafe(null, null, Material.AIR, false, Material.AIR, false, false));
+        assertFalse(SafeLocationFinder.isSafe(Material.AIR, null, Material.AIR, false, Material.AIR, false, false));
+        assertFalse(SafeLocationFinder.isSafe(Material.CACTUS, null, Material.AIR, false, Material.AIR, false, false));
+        assertFalse(SafeLocationFinder.isSafe(Material.OAK_FENCE, null, Material.AIR, false, Material.AIR, false, false));
+        assertFalse(SafeLocationFinder.isSafe(Material.STONE, null, Material.LAVA, true, Material.AIR, false, false));
+        assertFalse(SafeLocationFinder.isSafe(Material.STONE, null, Material.AIR, false, Material.NETHER_PORTAL, false, false));
+        assertFalse(SafeLocationFinder.isSafe(Material.STONE, null, Material.STONE, false, Material.AIR, false, false));
+    }
+
+    @Test
+    public void testIsSafeTrapDoor() {
+        TrapDoor trapDoor = mock(TrapDoor.class);
+        when(trapDoor.isOpen()).thenReturn(true);
+        assertFalse(SafeLocationFinder.isSafe(Material.OAK_TRAPDOOR, trapDoor, Material.AIR, false, Material.AIR, false, false));
+        when(trapDoor.isOpen()).thenReturn(false);
+        assertTrue(SafeLocationFinder.isSafe(Material.OAK_TRAPDOOR, trapDoor, Material.AIR, false, Material.AIR, false, false));
+    }
+}
@@ -11,6 +11,7 @@ import java.util.Optional;
 import java.util.logging.Logger;
 
 import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
 import org.bukkit.GameMode;
 import org.bukkit.Location;
 import org.bukkit.Server;
@@ -23,6 +24,8 @@ import org.bukkit.scheduler.BukkitTask;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.powermock.api.mockito.PowerMockito;
@@ -160,4 +163,32 @@ public class SafeSpotTeleportTest {
 
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.util.teleport.SafeSpotTeleport#SafeSpotTeleport(world.bentobox.bentobox.BentoBox, org.bukkit.entity.Entity, org.bukkit.Location, java.lang.String, boolean, int)}.
+     */
+    @Test
+    public void testSafeSpotTeleportScansNearestChunkFirst() throws Exception {
+        when(im.isSafeLocation(Mockito.any())).thenReturn(false);
+        Island island = mock(Island.class);
+        when(island.getProtectionRange()).thenReturn(50);
+        when(island.getMinX()).thenReturn(-100);
+        when(island.getMinZ()).thenReturn(-100);
+        when(island.getMaxX()).thenReturn(100);
+        when(island.getMaxZ()).thenReturn(100);
+        when(im.getIslandAt(Mockito.any())).thenReturn(Optional.of(island));
+        Chunk chunk = mock(Chunk.class);
+        when(world.getChunkAt(Mockito.anyInt(), Mockito.anyInt())).thenReturn(chunk);
+        new SafeSpotTeleport(plugin, player, loc, "failure message", false, 1, true);
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        Mockito.verify(sch).runTaskTimer(Mockito.any(), captor.capture(), Mockito.eq(0L), Mockito.eq(1L));
+        captor.getValue().run();
+        // Blocks -50 to 50 are chunks -4 to 3, each snapshotted once, the nearest first
+        InOrder inOrder = Mockito.inOrder(world);
+        inOrder.verify(world).getChunkAt(0, 0);
+        inOrder.verify(world).getChunkAt(-1, -1);
+        Mockito.verify(world, Mockito.times(64)).getChunkAt(Mockito.anyInt(), Mockito.anyInt());
+        Mockito.verify(world).getChunkAt(-4, 3);
+        Mockito.verify(sch).runTaskAsynchronously(Mockito.any(), Mockito.any(Runnable.class));
+    }
+
 }